@@ -0,0 +1,98 @@
+package com.alvaropaiva.SistemaDePedidos.benchmarks;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.entities.pk.OrderItemPK;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de operações unitárias das entidades (getters calculados, conversão de status e chave composta).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityBenchmark {
+
+    private Order order;
+    private OrderItem item;
+    private OrderItemPK pk;
+    private OrderItemPK equalPk;
+    private OrderItemPK otherPk;
+    private int[] codes;
+
+    @Setup
+    public void setup() {
+        order = Fixtures.order(10);
+        item = order.getItems().iterator().next();
+        pk = pk(order, 1);
+        equalPk = pk(order, 1);
+        otherPk = pk(order, 2);
+        codes = new int[OrderStatus.values().length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = OrderStatus.values()[i].getCode();
+        }
+    }
+
+    @Benchmark
+    public long orderGetTotalCents() {
+        return order.getTotalCents();
+    }
+
+    @Benchmark
+    public long orderItemGetSubTotalCents() {
+        return item.getSubTotalCents();
+    }
+
+    /**
+     * Conversão para decimal feita na serialização JSON.
+     */
+    @Benchmark
+    public BigDecimal orderItemGetSubTotal() {
+        return item.getSubTotal();
+    }
+
+    /**
+     * Converte todos os códigos de status (1 chamada por status).
+     */
+    @Benchmark
+    public void orderStatusValueOf(Blackhole bh) {
+        for (int code : codes) {
+            bh.consume(OrderStatus.valueOf(code));
+        }
+    }
+
+    @Benchmark
+    public int orderItemPKHashCode() {
+        return pk.hashCode();
+    }
+
+    @Benchmark
+    public void orderItemPKEquals(Blackhole bh) {
+        bh.consume(pk.equals(equalPk));
+        bh.consume(pk.equals(otherPk));
+    }
+
+    private static OrderItemPK pk(Order order, long productId) {
+        OrderItemPK pk = new OrderItemPK();
+        pk.setOrder(order);
+        pk.setProduct(Fixtures.product(productId));
+        return pk;
+    }
+}
@@ -0,0 +1,107 @@
+package com.alvaropaiva.SistemaDePedidos.benchmarks;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import com.alvaropaiva.SistemaDePedidos.entities.Payment;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.entities.User;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Monta agregados de entidades em memória (sem banco) para os benchmarks.
+ */
+final class Fixtures {
+
+    private static final Instant MOMENT = Instant.parse("2019-06-20T19:53:07Z");
+
+    private Fixtures() {}
+
+    /**
+     * Pedido pago, com cliente, pagamento e itens de produtos distintos (cada produto com duas categorias).
+     * O total persistido é preenchido com a soma dos subtotais.
+     * @param items Quantidade de itens do pedido
+     */
+    static Order order(int items) {
+        User client = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", "123456");
+        Order order = new Order(1L, MOMENT, OrderStatus.PAID.getCode(), client);
+        Category books = new Category(1L, "Books");
+        Category computers = new Category(2L, "Computers");
+        long total = 0;
+        for (int i = 1; i <= items; i++) {
+            Product product = product(i);
+            product.getCategories().add(books);
+            product.getCategories().add(computers);
+            OrderItem item = new OrderItem(order, product, 1 + i % 3, product.getPriceCents());
+            order.getItems().add(item);
+            total += item.getSubTotalCents();
+        }
+        order.setTotalCents(total);
+        order.setPayment(new Payment(1L, MOMENT, order));
+        return order;
+    }
+
+    /**
+     * Pedido de uma página de pedidos: cliente, status, momento, produtos e quantidades variam com o ID,
+     * para que a compressão de uma página não se beneficie de pedidos idênticos.
+     * @param id Identificador do pedido
+     * @param items Quantidade de itens do pedido
+     */
+    static Order order(long id, int items) {
+        long clientId = 1 + id % 200;
+        User client = new User(clientId, "Client " + clientId, "client" + clientId + "@gmail.com", "9" + (88880000 + clientId), "123456");
+        OrderStatus status = OrderStatus.values()[(int) (id % OrderStatus.values().length)];
+        Order order = new Order(id, MOMENT.plusSeconds(id * 3_607), status.getCode(), client);
+        Category[] categories = {new Category(1L, "Books"), new Category(2L, "Computers"), new Category(3L, "Electronics")};
+        long total = 0;
+        for (int i = 0; i < items; i++) {
+            Product product = product(1 + (id * 7 + i * 13) % 500);
+            product.getCategories().add(categories[(int) (product.getId() % categories.length)]);
+            OrderItem item = new OrderItem(order, product, 1 + (int) ((id + i) % 5), product.getPriceCents());
+            order.getItems().add(item);
+            total += item.getSubTotalCents();
+        }
+        order.setTotalCents(total);
+        order.setPayment(new Payment(id, MOMENT.plusSeconds(id * 3_607 + 300), order));
+        return order;
+    }
+
+    /**
+     * Produto vendido em vários pedidos (um item por pedido).
+     * @param orders Quantidade de pedidos/itens associados ao produto
+     */
+    static Product productWithOrders(int orders) {
+        Product product = product(1);
+        User client = new User(1L, "Maria Brown", "maria@gmail.com", "988888888", "123456");
+        Set<OrderItem> items = productItems(product);
+        for (long i = 1; i <= orders; i++) {
+            Order order = new Order(i, MOMENT, OrderStatus.PAID.getCode(), client);
+            items.add(new OrderItem(order, product, 1, product.getPriceCents()));
+        }
+        return product;
+    }
+
+    static Product product(long id) {
+        Product product = new Product("", 9050 + id, "Lorem ipsum dolor sit amet, consectetur.", "Product " + id);
+        product.setId(id);
+        return product;
+    }
+
+    /**
+     * Product não expõe a coleção de itens (apenas getOrders), então ela é preenchida por reflexão.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<OrderItem> productItems(Product product) {
+        try {
+            Field field = Product.class.getDeclaredField("items");
+            field.setAccessible(true);
+            return (Set<OrderItem>) field.get(product);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.alvaropaiva.SistemaDePedidos.benchmarks;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sobre agregados de tamanho variável: serialização JSON de um pedido completo
+ * (cliente, pagamento, itens, produtos e categorias), soma dos subtotais e Product.getOrders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderAggregateBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private Order order;
+    private Product product;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setup() {
+        order = Fixtures.order(items);
+        product = Fixtures.productWithOrders(items);
+        // Mesmos módulos e features do ObjectMapper configurado pelo Spring Boot
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] orderToJson() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(order);
+    }
+
+    /**
+     * Soma dos subtotais (em centavos) percorrendo os itens (cálculo feito antes do total persistido).
+     */
+    @Benchmark
+    public long orderItemsSubTotalSum() {
+        long sum = 0;
+        for (OrderItem x : order.getItems()) {
+            sum += x.getSubTotalCents();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Set<Order> productGetOrders() {
+        return product.getOrders();
+    }
+}
@@ -0,0 +1,111 @@
+package com.alvaropaiva.SistemaDePedidos.benchmarks;
+
+import com.alvaropaiva.SistemaDePedidos.config.BinaryFormatConfig;
+import com.alvaropaiva.SistemaDePedidos.config.ResponseCompressionFilter;
+import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formatos da API para uma página de pedidos completos (cliente, pagamento, itens, produtos e categorias):
+ * tempo de serialização, com e sem compressão, e bytes enviados por resposta.
+ *
+ * Os bytes por resposta são impressos na saída do benchmark, antes das iterações de cada combinação
+ * (linha "# bytes on wire"); o tempo medido é o de writePage.
+ * Exemplo: mvn -Pjmh test-compile exec:exec -Djmh.args="OrderFormatBenchmark -p encoding=identity,br"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderFormatBenchmark {
+
+    @Param({"1000"})
+    private int orders;
+
+    @Param({"5"})
+    private int items;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    /**
+     * identity, gzip ou br (mesmos parâmetros de {@link ResponseCompressionFilter}: gzip padrão, Brotli qualidade 4)
+     */
+    @Param({"identity", ResponseCompressionFilter.GZIP, ResponseCompressionFilter.BROTLI})
+    private String encoding;
+
+    private List<Order> page;
+    private ObjectMapper mapper;
+    private Encoder.Parameters brotli;
+
+    @Setup
+    public void setup() {
+        page = new ArrayList<>(orders);
+        for (long id = 1; id <= orders; id++) {
+            page.add(Fixtures.order(id, items));
+        }
+        // Mesmos ObjectMappers dos conversores HTTP da aplicação
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        mapper = switch (format) {
+            case "json" -> builder.build();
+            case "smile" -> BinaryFormatConfig.smileMapper(builder);
+            case "cbor" -> BinaryFormatConfig.cborMapper(builder);
+            default -> throw new IllegalArgumentException(format);
+        };
+        if (ResponseCompressionFilter.BROTLI.equals(encoding)) {
+            Brotli4jLoader.ensureAvailability();
+            brotli = new Encoder.Parameters().setQuality(4);
+        }
+        try {
+            System.out.printf("%n# bytes on wire (%s, %s): %d%n", format, encoding, writePage());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Serializa (e comprime) a página, como na escrita da resposta HTTP.
+     */
+    @Benchmark
+    public int writePage() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        try (OutputStream out = encode(bytes)) {
+            mapper.writeValue(out, page);
+        }
+        return bytes.size();
+    }
+
+    private OutputStream encode(OutputStream out) throws IOException {
+        return switch (encoding) {
+            case "identity" -> out;
+            case ResponseCompressionFilter.GZIP -> new GZIPOutputStream(out, 8192);
+            case ResponseCompressionFilter.BROTLI -> new BrotliOutputStream(out, brotli);
+            default -> throw new IllegalArgumentException(encoding);
+        };
+    }
+}
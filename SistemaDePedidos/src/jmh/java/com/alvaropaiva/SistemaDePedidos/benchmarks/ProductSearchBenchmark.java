@@ -0,0 +1,65 @@
+package com.alvaropaiva.SistemaDePedidos.benchmarks;
+
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.services.ProductSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da busca textual no índice invertido em memória, por tamanho do catálogo e tipo de consulta
+ * (termo exato, prefixo curto, vários termos).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "café", "pão", "açúcar", "notebook", "gamer", "smart", "tv", "livro", "caneca", "térmica",
+            "cadeira", "escritório", "mouse", "teclado", "mecânico", "monitor", "fone", "bluetooth",
+            "camiseta", "algodão", "tênis", "corrida", "mochila", "garrafa", "inox", "luminária",
+            "mesa", "madeira", "relógio", "digital", "câmera", "lente", "panela", "pressão"};
+
+    @Param({"1000", "10000", "100000"})
+    public int products;
+
+    @Param({"notebook", "ca", "cafe pao"})
+    public String query;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        index = new ProductSearchIndex();
+        for (long id = 1; id <= products; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 8; w++) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            index.put(new ProductSummaryDTO(id, name, description.toString(), 1000L, ""));
+        }
+    }
+
+    @Benchmark
+    public List<ProductSummaryDTO> search() {
+        return index.search(query, 20);
+    }
+}
@@ -2,8 +2,12 @@ package com.alvaropaiva.SistemaDePedidos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// O R2DBC é configurado manualmente (config.R2dbcConfig) para não substituir o DataSource JDBC
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class PedidosApplication {
 
 	public static void main(String[] args) {
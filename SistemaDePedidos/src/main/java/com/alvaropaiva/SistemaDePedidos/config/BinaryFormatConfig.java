@@ -0,0 +1,100 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Formatos binários da API, negociados pelo cabeçalho Accept em todos os controllers:
+ * - application/json (padrão, inclusive para Accept ausente ou *&#47;*)
+ * - application/x-jackson-smile (Smile: JSON binário com referências a nomes de campos e
+ *   valores repetidos, ex.: "quantity", "price" e "product" de cada OrderItem são escritos uma vez)
+ * - application/cbor (CBOR, RFC 8949)
+ *
+ * Os três formatos usam o mesmo modelo Jackson (mesmas anotações, módulos e propriedades spring.jackson.*),
+ * então a estrutura do documento é a mesma do JSON. Diferença: nos formatos binários as datas sem
+ * {@code @JsonFormat} são escritas como número (epoch em milissegundos) em vez de texto ISO-8601.
+ * Corpos de requisição (@RequestBody) também são aceitos nos três formatos (Content-Type).
+ *
+ * Cada formato tem seu próprio ETag (ver {@link com.alvaropaiva.SistemaDePedidos.resources.RepresentationAdvice})
+ * e a compressão da resposta é feita por {@link ResponseCompressionFilter}.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+
+    /**
+     * Formatos produzidos pelos controllers, em ordem de preferência (JSON para Accept genérico).
+     */
+    public static final List<MediaType> MEDIA_TYPES = List.of(MediaType.APPLICATION_JSON, APPLICATION_SMILE, APPLICATION_CBOR);
+
+    /**
+     * Substitui o conversor Smile padrão do Spring MVC (criado sem as configurações do Spring Boot).
+     * @param builder Builder do ObjectMapper configurado pelo Spring Boot
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    /**
+     * Substitui o conversor CBOR padrão do Spring MVC (criado sem as configurações do Spring Boot).
+     * @param builder Builder do ObjectMapper configurado pelo Spring Boot
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    /**
+     * Sufixo do ETag de cada formato (ver {@link com.alvaropaiva.SistemaDePedidos.dto.VersionStamp#variant(String, String)}).
+     * @return "smile", "cbor" ou null para JSON
+     */
+    public static String eTagSuffix(MediaType contentType) {
+        if (APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return "smile";
+        }
+        if (APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            return "cbor";
+        }
+        return null;
+    }
+
+    /**
+     * ObjectMapper Smile. Além dos nomes de campos, referencia valores de texto curtos repetidos
+     * (status, nomes de clientes e produtos), recurso que todo leitor Smile suporta.
+     */
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return binary(builder, factory);
+    }
+
+    /**
+     * ObjectMapper CBOR (sem extensões como stringref, que nem todo leitor CBOR suporta).
+     */
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return binary(builder, new CBORFactory());
+    }
+
+    private static ObjectMapper binary(Jackson2ObjectMapperBuilder builder, JsonFactory factory) {
+        return builder.factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do cache em memória do catálogo (produtos e categorias).
+ *
+ * Utiliza Caffeine (política de admissão/evicção W-TinyLFU) com limite de tamanho e TTL
+ * por região, e estatísticas de acerto/erro/evicção habilitadas.
+ *
+ * Regiões:
+ * - products: produto por ID
+ * - productsByCategory: listagem de produtos por categoria
+ * - categories: categorias (por ID e listagem completa)
+ *
+ * Propriedades (application.properties):
+ * - app.cache.enabled: false desativa o cache (todas as leituras vão ao banco)
+ * - app.cache.products.spec: especificação Caffeine das regiões de produtos
+ * - app.cache.categories.spec: especificação Caffeine da região de categorias
+ *
+ * A invalidação em escritas é feita por {@link com.alvaropaiva.SistemaDePedidos.services.CatalogCacheInvalidator}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String CATEGORIES = "categories";
+
+    @Value("${app.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.products.spec:maximumSize=10000,expireAfterWrite=10m}")
+    private String productsSpec;
+
+    @Value("${app.cache.categories.spec:maximumSize=1000,expireAfterWrite=30m}")
+    private String categoriesSpec;
+
+    /**
+     * Cria o gerenciador de cache com uma instância Caffeine por região.
+     * Quando desativado, retorna um gerenciador que não armazena nada.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.registerCustomCache(PRODUCTS, Caffeine.from(productsSpec).recordStats().build());
+        manager.registerCustomCache(PRODUCTS_BY_CATEGORY, Caffeine.from(productsSpec).recordStats().build());
+        manager.registerCustomCache(CATEGORIES, Caffeine.from(categoriesSpec).recordStats().build());
+        manager.setAllowNullValues(false);
+        return manager;
+    }
+}
@@ -0,0 +1,133 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roteamento de conexões entre o banco primário e réplicas de leitura.
+ *
+ * Ativado apenas quando app.datasource.replicas.urls está definida; sem ela o DataSource
+ * padrão do Spring Boot (somente o primário) continua em uso.
+ *
+ * Beans:
+ * - primaryDataSource: pool Hikari do primário (spring.datasource.*)
+ * - replicaRoutingDataSource: {@link ReplicaRoutingDataSource} (primário + um pool por réplica)
+ * - dataSource (@Primary, usado pelo JPA e pelo JdbcTemplate): {@link LazyConnectionDataSourceProxy}
+ *   sobre o roteamento, para que o destino seja escolhido com a transação já marcada como readOnly
+ * - replicaLagMonitor: {@link ReplicaLagMonitor}
+ *
+ * O Hibernate passa a liberar a conexão ao fim de cada transação (em vez de mantê-la até o fim
+ * da sessão, que com open-in-view dura a requisição inteira): cada transação é roteada de novo,
+ * e uma escrita após uma leitura na mesma requisição não reaproveita a conexão da réplica.
+ *
+ * Propriedades:
+ * - app.datasource.replicas.urls: URLs JDBC das réplicas, separadas por vírgula
+ * - app.datasource.replicas.username / password: padrão são as credenciais do primário
+ * - app.datasource.replicas.pool-size: máximo de conexões por réplica
+ * - app.datasource.replicas.max-lag: atraso máximo para uma réplica receber leituras
+ * - app.datasource.replicas.check-interval: intervalo da medição do atraso ({@link ReplicaLagMonitor})
+ * - app.datasource.replicas.primary-after-catalog-write: janela de leituras no primário após uma escrita
+ *   no catálogo (deve cobrir max-lag mais a resolução da medição, duas vezes check-interval)
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class DataSourceRoutingConfig implements DisposableBean {
+
+    @Value("${app.datasource.replicas.urls}")
+    private String[] replicaUrls;
+
+    @Value("${app.datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${app.datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${app.datasource.replicas.pool-size:10}")
+    private int poolSize;
+
+    @Value("${app.datasource.replicas.max-lag:5s}")
+    private Duration maxLag;
+
+    @Value("${app.datasource.replicas.primary-after-catalog-write:7s}")
+    private Duration primaryAfterCatalogWrite;
+
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+
+    /**
+     * Pool do primário, configurado como o DataSource padrão do Spring Boot.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    /**
+     * Cria um pool somente leitura por réplica e o DataSource de roteamento.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, MeterRegistry registry) {
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls[i].trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName(ReplicaRoutingDataSource.replicaName(i));
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, List.copyOf(replicas), maxLag.toMillis(),
+                primaryAfterCatalogWrite.toMillis(), registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaLagMonitor(primaryDataSource, List.copyOf(replicas), replicaRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Fecha os pools das réplicas no encerramento da aplicação.
+     */
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,67 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import com.alvaropaiva.SistemaDePedidos.services.OrderTotalVerificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migração dos valores monetários de ponto flutuante para centavos.
+ *
+ * Bancos criados antes da troca têm os preços nas colunas antigas (tb_products.price e
+ * tb_order_item.price, DOUBLE), e o ddl-auto=update cria as colunas price_cents com 0.
+ * Na inicialização, depois do esquema atualizado pelo Hibernate, as linhas com preço antigo
+ * recebem o valor em centavos e a coluna antiga é zerada (NULL), de modo que a migração é
+ * idempotente: o código atual não grava mais as colunas antigas. Se algum item foi migrado, os
+ * totais dos pedidos (tb_order.total_cents) são recalculados pelo {@link OrderTotalVerificationService}.
+ * Em bancos sem as colunas antigas nada é executado.
+ */
+@Component
+public class MoneyColumnsMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MoneyColumnsMigration.class);
+
+    private static final String COLUMN_EXISTS = "SELECT COUNT(*) FROM information_schema.columns "
+            + "WHERE LOWER(table_name) = ? AND LOWER(column_name) = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderTotalVerificationService totalVerificationService;
+
+    /**
+     * Garante que o esquema já foi criado/atualizado pelo Hibernate antes da migração.
+     */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        int products = migrateTable("tb_products");
+        int items = migrateTable("tb_order_item");
+        if (products > 0 || items > 0) {
+            log.info("Money columns migrated to cents: {} products, {} order items", products, items);
+        }
+        if (items > 0) {
+            totalVerificationService.verifyTotals();
+        }
+    }
+
+    /**
+     * Copia price (DOUBLE) para price_cents nas linhas ainda não migradas da tabela.
+     * @return Quantidade de linhas migradas (0 se a tabela não tem a coluna antiga)
+     */
+    private int migrateTable(String table) {
+        Integer columns = jdbcTemplate.queryForObject(COLUMN_EXISTS, Integer.class, table, "price");
+        if (columns == null || columns == 0) {
+            return 0;
+        }
+        return jdbcTemplate.update("UPDATE " + table
+                + " SET price_cents = ROUND(price * 100), price = NULL WHERE price IS NOT NULL");
+    }
+}
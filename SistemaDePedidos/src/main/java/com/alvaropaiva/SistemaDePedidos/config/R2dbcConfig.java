@@ -0,0 +1,71 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Configuração do acesso R2DBC (não bloqueante) usado pela API reativa de leitura (/reactive/**).
+ *
+ * O pool R2DBC é independente do pool JDBC (Hikari) usado pelo JPA. Ele não é registrado como bean
+ * {@link io.r2dbc.spi.ConnectionFactory}: a presença de um bean desse tipo desativaria a
+ * configuração automática do DataSource JDBC (por isso o R2dbcAutoConfiguration também é excluído
+ * em {@link com.alvaropaiva.SistemaDePedidos.PedidosApplication}).
+ *
+ * Propriedades:
+ * - app.reactive.r2dbc.url: URL R2DBC do mesmo banco (por profile)
+ * - app.reactive.r2dbc.username / password: padrão são as credenciais do DataSource JDBC
+ * - app.reactive.r2dbc.pool-size: máximo de conexões R2DBC
+ */
+@Configuration
+public class R2dbcConfig implements DisposableBean {
+
+    @Value("${app.reactive.r2dbc.url}")
+    private String url;
+
+    @Value("${app.reactive.r2dbc.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${app.reactive.r2dbc.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${app.reactive.r2dbc.pool-size:10}")
+    private int poolSize;
+
+    private ConnectionPool pool;
+
+    /**
+     * Cria o cliente R2DBC sobre um pool de conexões próprio.
+     */
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .maxSize(poolSize)
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    /**
+     * Fecha as conexões do pool no encerramento da aplicação.
+     */
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
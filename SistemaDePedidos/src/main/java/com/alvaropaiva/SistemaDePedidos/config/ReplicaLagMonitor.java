@@ -0,0 +1,74 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Mede o atraso de replicação de cada réplica com uma linha de heartbeat.
+ *
+ * A cada execução o instante atual (epoch ms) é gravado no primário em tb_replication_heartbeat;
+ * o atraso de uma réplica é a diferença entre o instante atual e o último heartbeat que ela já
+ * recebeu. A resolução da medida é o intervalo de verificação, por isso o atraso máximo tolerado
+ * deve ser maior que esse intervalo. Réplica inacessível ou sem heartbeat fica fora do rodízio.
+ *
+ * Propriedade app.datasource.replicas.check-interval: intervalo entre verificações (padrão 1s).
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS tb_replication_heartbeat (id INT PRIMARY KEY, beat BIGINT NOT NULL)";
+    private static final String SELECT_BEAT = "SELECT beat FROM tb_replication_heartbeat WHERE id = 1";
+    private static final String UPDATE_BEAT = "UPDATE tb_replication_heartbeat SET beat = ? WHERE id = 1";
+    private static final String INSERT_BEAT = "INSERT INTO tb_replication_heartbeat (id, beat) VALUES (1, ?)";
+
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas;
+    private final ReplicaRoutingDataSource routing;
+
+    public ReplicaLagMonitor(DataSource primary, List<DataSource> replicas, ReplicaRoutingDataSource routing) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas.stream().map(JdbcTemplate::new).toList();
+        this.routing = routing;
+        this.primary.execute(CREATE_TABLE);
+    }
+
+    /**
+     * Lê o heartbeat de cada réplica, atualiza o estado do roteamento e grava um novo heartbeat no primário.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval:1s}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean wasHealthy = routing.isHealthy(i);
+            routing.updateLag(i, measure(replicas.get(i), now));
+            if (wasHealthy != routing.isHealthy(i)) {
+                log.warn("Replica {} {} read rotation", ReplicaRoutingDataSource.replicaName(i),
+                        routing.isHealthy(i) ? "back in" : "removed from");
+            }
+        }
+        if (primary.update(UPDATE_BEAT, now) == 0) {
+            primary.update(INSERT_BEAT, now);
+        }
+    }
+
+    /**
+     * @return Atraso em milissegundos, ou -1 se a réplica não respondeu ou ainda não tem heartbeat
+     */
+    private static long measure(JdbcTemplate replica, long now) {
+        try {
+            List<Long> beats = replica.queryForList(SELECT_BEAT, Long.class);
+            return beats.isEmpty() ? -1 : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException e) {
+            log.debug("Replica lag check failed", e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DataSource que envia transações somente leitura (@Transactional(readOnly = true)) às réplicas
+ * e todo o resto (escritas e acessos fora de transação) ao primário.
+ *
+ * As réplicas saudáveis são usadas em rodízio (round-robin). Uma réplica fica fora do rodízio
+ * enquanto seu atraso de replicação, medido por {@link ReplicaLagMonitor}, estiver acima do limite
+ * (ou enquanto ainda não tiver sido medido); sem réplica saudável a leitura vai ao primário.
+ *
+ * Após uma escrita no catálogo ({@link #pinReadsToPrimary()}, chamado por
+ * {@link com.alvaropaiva.SistemaDePedidos.services.CatalogCacheInvalidator}) todas as leituras vão ao
+ * primário por uma janela maior que o atraso tolerado: as recargas dos caches (segundo nível, Spring
+ * e respostas) que seguem a invalidação não leem a versão antiga em uma réplica atrasada.
+ *
+ * Deve ser envolvido por um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * o gerenciador de transações obtém a conexão antes de marcar a transação como somente leitura,
+ * e o proxy adia a escolha do destino até o primeiro comando SQL.
+ *
+ * Métricas:
+ * - app.datasource.route (tags target, type=write|read|fallback|pinned): conexões entregues por destino
+ *   (pinned: leitura enviada ao primário na janela após uma escrita no catálogo)
+ * - app.datasource.replica.lag (tag target): último atraso medido, em segundos (-1 = indisponível)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    private static final long UNAVAILABLE = -1;
+
+    private final String[] replicas;
+    private final AtomicLongArray lagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagMillis;
+    private final long pinMillis;
+    private final AtomicLong pinnedUntil = new AtomicLong();
+
+    private final Counter writes;
+    private final Counter fallbacks;
+    private final Counter pinned;
+    private final Counter[] reads;
+
+    /**
+     * @param primary DataSource do primário
+     * @param replicaDataSources DataSources das réplicas (nomeadas replica-0, replica-1, ...)
+     * @param maxLagMillis Atraso máximo tolerado para uma réplica receber leituras
+     * @param pinMillis Duração da janela de leituras no primário após uma escrita no catálogo
+     * @param registry Registro de métricas
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    long maxLagMillis, long pinMillis, MeterRegistry registry) {
+        this.maxLagMillis = maxLagMillis;
+        this.pinMillis = pinMillis;
+        this.replicas = new String[replicaDataSources.size()];
+        this.lagMillis = new AtomicLongArray(replicas.length);
+        this.reads = new Counter[replicas.length];
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.length; i++) {
+            int index = i;
+            replicas[i] = replicaName(i);
+            lagMillis.set(i, UNAVAILABLE);
+            targets.put(replicas[i], replicaDataSources.get(i));
+            reads[i] = route(registry, replicas[i], "read");
+            Gauge.builder("app.datasource.replica.lag", () -> {
+                        long lag = lagMillis.get(index);
+                        return lag == UNAVAILABLE ? -1.0 : lag / 1000.0;
+                    })
+                    .tag("target", replicas[i])
+                    .baseUnit("seconds")
+                    .description("Atraso de replicação medido")
+                    .register(registry);
+        }
+        this.writes = route(registry, PRIMARY, "write");
+        this.fallbacks = route(registry, PRIMARY, "fallback");
+        this.pinned = route(registry, PRIMARY, "pinned");
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Nome (chave de roteamento e tag de métrica) da réplica na posição informada.
+     */
+    public static String replicaName(int index) {
+        return "replica-" + index;
+    }
+
+    /**
+     * Registra o atraso medido de uma réplica.
+     * @param index Posição da réplica
+     * @param lag Atraso em milissegundos, ou negativo se a réplica estiver indisponível
+     */
+    public void updateLag(int index, long lag) {
+        lagMillis.set(index, lag < 0 ? UNAVAILABLE : lag);
+    }
+
+    /**
+     * @return true se a réplica pode receber leituras (atraso medido e dentro do limite)
+     */
+    public boolean isHealthy(int index) {
+        long lag = lagMillis.get(index);
+        return lag != UNAVAILABLE && lag <= maxLagMillis;
+    }
+
+    /**
+     * Envia todas as leituras ao primário a partir de agora e até o fim da janela configurada.
+     */
+    public void pinReadsToPrimary() {
+        long until = System.currentTimeMillis() + pinMillis;
+        pinnedUntil.accumulateAndGet(until, Math::max);
+    }
+
+    /**
+     * @return Quantidade de réplicas configuradas
+     */
+    public int getReplicaCount() {
+        return replicas.length;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        if (System.currentTimeMillis() < pinnedUntil.get()) {
+            pinned.increment();
+            return PRIMARY;
+        }
+        for (int attempt = 0; attempt < replicas.length; attempt++) {
+            int index = Math.floorMod(next.getAndIncrement(), replicas.length);
+            if (isHealthy(index)) {
+                reads[index].increment();
+                return replicas[index];
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    private static Counter route(MeterRegistry registry, String target, String type) {
+        return Counter.builder("app.datasource.route")
+                .tag("target", target)
+                .tag("type", type)
+                .description("Conexões entregues pelo roteamento primário/réplicas")
+                .register(registry);
+    }
+}
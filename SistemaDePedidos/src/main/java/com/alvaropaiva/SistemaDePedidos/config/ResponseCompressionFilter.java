@@ -0,0 +1,529 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressão das respostas (Content-Encoding), negociada pelo cabeçalho Accept-Encoding da requisição.
+ *
+ * Codificações: br (Brotli, via codificador nativo brotli4j) e gzip. Com qualidades iguais no
+ * Accept-Encoding, br é preferido; sem o nativo Brotli para a plataforma, apenas gzip é oferecido.
+ * O Tomcat não implementa Brotli, por isso a compressão é feita neste filtro (server.compression
+ * permanece desativado).
+ *
+ * Uma resposta é comprimida quando:
+ * - o Content-Type está em app.compression.mime-types (JSON, Smile, CBOR, NDJSON, texto)
+ * - o corpo tem ao menos app.compression.min-response-size bytes: sem Content-Length declarado,
+ *   os primeiros bytes ficam em buffer até atingir o limite (flush antes disso é adiado)
+ * - não há Content-Encoding nem Content-Range definidos pela aplicação
+ *
+ * Respostas comprimíveis recebem Vary: Accept-Encoding. Com uma codificação negociada, o ETag passa
+ * a identificar a variante codificada ({@link VersionStamp#variant}, ex.: "5f1c0b3a9e24d7c1-gzip"),
+ * comprimido ou não o corpo (abaixo do tamanho mínimo), para que a resposta 304 da mesma requisição,
+ * sem corpo, envie o mesmo ETag que a resposta 200 enviaria.
+ *
+ * Respostas assíncronas (Flux, StreamingResponseBody) são finalizadas no último despacho
+ * assíncrono, quando a aplicação termina de escrever; cada flush do streaming emite um bloco comprimido.
+ *
+ * Propriedades (application.properties):
+ * - app.compression.enabled: false desativa o filtro
+ * - app.compression.min-response-size: tamanho mínimo do corpo, em bytes
+ * - app.compression.mime-types: tipos de conteúdo comprimidos (lista separada por vírgulas)
+ * - app.compression.brotli.quality: qualidade Brotli (0 a 11; valores altos são lentos para conteúdo dinâmico)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCompressionFilter.class);
+
+    public static final String BROTLI = "br";
+    public static final String GZIP = "gzip";
+
+    private static final String RESPONSE_ATTRIBUTE = ResponseCompressionFilter.class.getName() + ".RESPONSE";
+
+    @Value("${app.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.compression.min-response-size:2048}")
+    private int minResponseSize;
+
+    @Value("${app.compression.mime-types:application/json,application/x-jackson-smile,application/cbor,application/x-ndjson,text/html,text/css,text/javascript,text/plain,text/csv}")
+    private List<String> mimeTypes;
+
+    @Value("${app.compression.brotli.quality:4}")
+    private int brotliQuality;
+
+    private List<MediaType> compressibleTypes;
+    private boolean brotli;
+
+    @Override
+    protected void initFilterBean() {
+        compressibleTypes = MediaType.parseMediaTypes(mimeTypes);
+        brotli = Brotli4jLoader.isAvailable();
+        if (enabled && !brotli) {
+            log.warn("Brotli encoder unavailable ({}); compressing responses with gzip only",
+                    Brotli4jLoader.getUnavailabilityCause().toString());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    /**
+     * O filtro também participa dos despachos assíncronos, para finalizar a compressão
+     * quando a resposta assíncrona termina.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponse compressing = (CompressingResponse) request.getAttribute(RESPONSE_ATTRIBUTE);
+        if (compressing == null) {
+            String encoding = "HEAD".equals(request.getMethod())
+                    ? null
+                    : negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING), brotli);
+            compressing = new CompressingResponse(response, encoding);
+        }
+        try {
+            chain.doFilter(request, compressing);
+        } catch (IOException | ServletException | RuntimeException e) {
+            compressing.abort();
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.setAttribute(RESPONSE_ATTRIBUTE, compressing);
+        } else {
+            compressing.finish();
+        }
+    }
+
+    /**
+     * Escolhe a codificação pelo Accept-Encoding (RFC 9110): maior qualidade, br em caso de empate.
+     * Codificações citadas explicitamente prevalecem sobre "*".
+     * @param acceptEncoding Valor do cabeçalho (null se ausente)
+     * @param brotli Se o codificador Brotli está disponível
+     * @return "br", "gzip" ou null (sem compressão)
+     */
+    static String negotiate(String acceptEncoding, boolean brotli) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        Map<String, Double> qualities = new HashMap<>();
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            qualities.put(coding, quality);
+        }
+        double any = qualities.getOrDefault("*", 0.0);
+        double br = brotli ? qualities.getOrDefault(BROTLI, any) : 0;
+        double gzip = qualities.getOrDefault(GZIP, any);
+        if (br > 0 && br >= gzip) {
+            return BROTLI;
+        }
+        return gzip > 0 ? GZIP : null;
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        for (MediaType compressible : compressibleTypes) {
+            if (compressible.includes(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resposta que decide, no primeiro byte além do limite (ou no Content-Length declarado),
+     * se o corpo será comprimido. Até a decisão, o corpo fica em buffer e o Content-Length não é repassado.
+     */
+    private class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final String encoding;
+        private final byte[] buffer;
+        private int count;
+        private long contentLength = -1;
+
+        private boolean decided;
+        private Sink sink;
+        private OutputStream target;
+        private OutputStream compressor;
+
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CompressingResponse(HttpServletResponse response, String encoding) {
+            super(response);
+            this.encoding = encoding;
+            this.buffer = new byte[Math.max(minResponseSize, 1)];
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called for this response");
+            }
+            if (outputStream == null) {
+                outputStream = new CompressingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called for this response");
+                }
+                outputStream = new CompressingOutputStream();
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (!decided) {
+                contentLength = len;
+            } else if (compressor == null) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (decided) {
+                target.flush();
+                super.flushBuffer();
+            } else if (count == 0) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            discard();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            discard();
+            contentLength = -1;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            discard();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            discard();
+            super.sendError(sc);
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (decided) {
+                target.write(bytes, offset, length);
+            } else if (contentLength >= 0) {
+                decide(contentLength >= minResponseSize);
+                target.write(bytes, offset, length);
+            } else if (count + length < buffer.length) {
+                System.arraycopy(bytes, offset, buffer, count, length);
+                count += length;
+            } else {
+                decide(true);
+                target.write(bytes, offset, length);
+            }
+        }
+
+        /**
+         * Define a codificação e envia o conteúdo já bufferizado.
+         * @param large Se o corpo atinge o tamanho mínimo de compressão
+         */
+        private void decide(boolean large) throws IOException {
+            decided = true;
+            boolean compressible = isCompressible(getContentType())
+                    && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                    && getHeader(HttpHeaders.CONTENT_RANGE) == null
+                    && getStatus() != HttpServletResponse.SC_PARTIAL_CONTENT;
+            if (compressible) {
+                varyOnEncoding();
+            }
+            sink = new Sink(super.getOutputStream());
+            if (compressible && large && encoding != null) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+                compressor = BROTLI.equals(encoding)
+                        ? new BrotliOutputStream(sink, new Encoder.Parameters().setQuality(brotliQuality))
+                        : new GZIPOutputStream(sink, 8192, true);
+                target = compressor;
+            } else {
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+                target = sink;
+            }
+            target.write(buffer, 0, count);
+            count = 0;
+        }
+
+        /**
+         * Cabeçalhos de uma resposta comprimível: Vary: Accept-Encoding e, com uma codificação
+         * negociada, o ETag da variante codificada.
+         */
+        private void varyOnEncoding() {
+            if (!getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING)) {
+                super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            String eTag = getHeader(HttpHeaders.ETAG);
+            // Após resetBuffer() o ETag já pode ter o sufixo
+            if (encoding != null && eTag != null && !eTag.endsWith("-" + encoding + "\"")) {
+                super.setHeader(HttpHeaders.ETAG, VersionStamp.variant(eTag, encoding));
+            }
+        }
+
+        /**
+         * Conclui a resposta: envia o buffer (abaixo do limite, sem compressão e com Content-Length)
+         * ou encerra o fluxo comprimido.
+         */
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (!decided) {
+                if (count == 0) {
+                    // Sem corpo (ex.: HEAD, 304): repassa o Content-Length declarado, se houver
+                    if (contentLength >= 0 && !isCommitted()) {
+                        super.setContentLengthLong(contentLength);
+                    }
+                    // A 304 não tem Content-Type: leva os cabeçalhos que a resposta 200 levaria
+                    if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED && !isCommitted()
+                            && (getContentType() == null || isCompressible(getContentType()))) {
+                        varyOnEncoding();
+                    }
+                    return;
+                }
+                if (contentLength < 0) {
+                    contentLength = count;
+                }
+                decide(false);
+            }
+            if (compressor != null) {
+                compressor.close();
+                compressor = null;
+            }
+        }
+
+        /**
+         * Libera o compressor após uma exceção na cadeia de filtros (o corpo pendente é descartado).
+         */
+        void abort() {
+            discard();
+        }
+
+        /**
+         * Descarta o corpo ainda não enviado e volta ao estado inicial (reset da resposta).
+         */
+        private void discard() {
+            count = 0;
+            if (compressor != null) {
+                sink.discard();
+                try {
+                    compressor.close();
+                } catch (IOException e) {
+                    log.debug("Failed to release response compressor", e);
+                }
+                compressor = null;
+            }
+            decided = false;
+            target = null;
+        }
+
+        private class CompressingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                CompressingResponse.this.write(b, off, len);
+            }
+
+            /**
+             * Antes da decisão, o flush é adiado (o conteúdo permanece em buffer).
+             */
+            @Override
+            public void flush() throws IOException {
+                if (decided) {
+                    target.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            /**
+             * As escritas são bloqueantes e {@link #isReady()} é sempre true: o listener é
+             * notificado imediatamente de que pode escrever.
+             */
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    writeListener.onWritePossible();
+                } catch (IOException e) {
+                    writeListener.onError(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Saída do compressor para a resposta; após um reset, descarta o que o compressor ainda emitir.
+     */
+    private static final class Sink extends OutputStream {
+
+        private final OutputStream out;
+        private boolean discarded;
+
+        Sink(OutputStream out) {
+            this.out = out;
+        }
+
+        void discard() {
+            discarded = true;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!discarded) {
+                out.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!discarded) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!discarded) {
+                out.flush();
+            }
+        }
+
+        /**
+         * O fluxo da resposta é encerrado pelo contêiner.
+         */
+        @Override
+        public void close() {
+        }
+    }
+}
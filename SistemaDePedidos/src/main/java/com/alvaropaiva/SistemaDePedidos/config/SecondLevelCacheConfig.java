@@ -0,0 +1,113 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ObjectUtils;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate (JCache, implementação Caffeine)
+ * para os dados de referência do catálogo.
+ *
+ * Diferente de {@link CacheConfig} (respostas dos serviços), este cache fica abaixo do JPA:
+ * qualquer carregamento de {@link com.alvaropaiva.SistemaDePedidos.entities.Product} ou
+ * {@link com.alvaropaiva.SistemaDePedidos.entities.Category} por ID — inclusive via
+ * OrderItemPK.product ao montar pedidos — é resolvido em memória, sem SQL. O Hibernate
+ * invalida as entradas nas escritas feitas pelo JPA.
+ *
+ * Regiões:
+ * - catalog.products / catalog.categories: entidades
+ * - catalog.productCategories: coleção Product.categories (tabela tb_product_category)
+ * - default-query-results-region: consultas marcadas como cacheáveis (listagens de categorias)
+ * - default-update-timestamps-region: última escrita por tabela, usada para invalidar o cache de
+ *   consultas; não tem limite nem expiração (uma entrada por tabela)
+ *
+ * Propriedades (application.properties), por região:
+ * - app.cache.l2.(products|categories|product-categories|queries).max-size: máximo de entradas
+ * - app.cache.l2.(products|categories|product-categories|queries).ttl: expiração após a escrita
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PRODUCTS = "catalog.products";
+    public static final String CATEGORIES = "catalog.categories";
+    public static final String PRODUCT_CATEGORIES = "catalog.productCategories";
+
+    @Value("${app.cache.l2.products.max-size:10000}")
+    private long productsMaxSize;
+
+    @Value("${app.cache.l2.products.ttl:30m}")
+    private Duration productsTtl;
+
+    @Value("${app.cache.l2.categories.max-size:1000}")
+    private long categoriesMaxSize;
+
+    @Value("${app.cache.l2.categories.ttl:1h}")
+    private Duration categoriesTtl;
+
+    @Value("${app.cache.l2.product-categories.max-size:10000}")
+    private long productCategoriesMaxSize;
+
+    @Value("${app.cache.l2.product-categories.ttl:30m}")
+    private Duration productCategoriesTtl;
+
+    @Value("${app.cache.l2.queries.max-size:1000}")
+    private long queriesMaxSize;
+
+    @Value("${app.cache.l2.queries.ttl:10m}")
+    private Duration queriesTtl;
+
+    /**
+     * Cria o gerenciador JCache com as regiões do Hibernate já configuradas
+     * (hibernate.javax.cache.missing_cache_strategy=fail rejeita regiões não declaradas aqui).
+     * O gerenciador padrão do provider é único por JVM; cada contexto Spring usa um URI próprio
+     * para não compartilhar regiões (ex.: contextos distintos nos testes).
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2-" + ObjectUtils.getIdentityHexString(this)), getClass().getClassLoader());
+        manager.createCache(PRODUCTS, region(OptionalLong.of(productsMaxSize), productsTtl));
+        manager.createCache(CATEGORIES, region(OptionalLong.of(categoriesMaxSize), categoriesTtl));
+        manager.createCache(PRODUCT_CATEGORIES, region(OptionalLong.of(productCategoriesMaxSize), productCategoriesTtl));
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.of(queriesMaxSize), queriesTtl));
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.empty(), null));
+        return manager;
+    }
+
+    /**
+     * Entrega o gerenciador ao Hibernate (hibernate.javax.cache.cache_manager).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Configuração de uma região. As entradas são armazenadas por referência: o Hibernate já guarda
+     * o estado desmontado (imutável) das entidades, então a cópia por serialização seria custo puro.
+     */
+    private static CaffeineConfiguration<Object, Object> region(OptionalLong maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(maxSize);
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
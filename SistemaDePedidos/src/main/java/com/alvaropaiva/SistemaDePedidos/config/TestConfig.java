@@ -3,6 +3,7 @@ package com.alvaropaiva.SistemaDePedidos.config;
 import com.alvaropaiva.SistemaDePedidos.entities.*;
 import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
 import com.alvaropaiva.SistemaDePedidos.repositories.*;
+import com.alvaropaiva.SistemaDePedidos.services.OrderItemService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
@@ -46,7 +47,7 @@ public class TestConfig implements CommandLineRunner {
     private ProductRepository productRepository;
 
     @Autowired
-    private OrderItemRepository orderItemRepository;
+    private OrderItemService orderItemService;
 
     /**
      * Método executado automaticamente ao iniciar a aplicação.
@@ -60,11 +61,18 @@ public class TestConfig implements CommandLineRunner {
         Category cat3 = new Category(null, "Computers");
 
         // Criação de produtos
-        Product p1 = new Product(null, 90.5, "Lorem ipsum dolor sit amet, consectetur.", "The Lord of the Rings");
-        Product p2 = new Product(null, 2190.0, "Nulla eu imperdiet purus. Maecenas ante.", "Smart TV");
-        Product p3 = new Product(null, 1250.0, "Nam eleifend maximus tortor, at mollis.", "Macbook Pro");
-        Product p4 = new Product(null, 1200.0, "Donec aliquet odio ac rhoncus cursus.", "PC Gamer");
-        Product p5 = new Product(null, 100.99, "Cras fringilla convallis sem vel faucibus.", "Rails for Dummies");
+        Product p1 = new Product(null, 9050L, "Lorem ipsum dolor sit amet, consectetur.", "The Lord of the Rings");
+        Product p2 = new Product(null, 219000L, "Nulla eu imperdiet purus. Maecenas ante.", "Smart TV");
+        Product p3 = new Product(null, 125000L, "Nam eleifend maximus tortor, at mollis.", "Macbook Pro");
+        Product p4 = new Product(null, 120000L, "Donec aliquet odio ac rhoncus cursus.", "PC Gamer");
+        Product p5 = new Product(null, 10099L, "Cras fringilla convallis sem vel faucibus.", "Rails for Dummies");
+
+        // Estoque inicial dos produtos
+        p1.setStock(100);
+        p2.setStock(20);
+        p3.setStock(50);
+        p4.setStock(30);
+        p5.setStock(100);
 
         categoryRepository.saveAll(Arrays.asList(cat1, cat2, cat3));
         productRepository.saveAll(Arrays.asList(p1, p2, p3, p4, p5));
@@ -87,20 +95,20 @@ public class TestConfig implements CommandLineRunner {
         Order o2 = new Order(null, Instant.parse("2019-07-21T03:42:10Z"), OrderStatus.WAITING_PAYMENT.getCode(), u2);
         Order o3 = new Order(null, Instant.parse("2019-07-22T15:21:22Z"), OrderStatus.WAITING_PAYMENT.getCode(), u1);
 
+        // Criação de pagamento (gravado em cascata com o pedido; os itens, a seguir, incrementam a
+        // versão dos pedidos, e uma nova gravação de o1 usaria uma versão desatualizada)
+        Payment pay1 = new Payment(null, Instant.parse("2019-06-20T19:53:07Z"), o1);
+        o1.setPayment(pay1);
+
         userRepository.saveAll(Arrays.asList(u1, u2));
         orderRepository.saveAll(Arrays.asList(o1, o2, o3));
 
-        // Criação de itens de pedido
-        OrderItem oi1 = new OrderItem(o1, p1, 2, p1.getPrice());
-        OrderItem oi2 = new OrderItem(o1, p3, 1, p3.getPrice());
-        OrderItem oi3 = new OrderItem(o2, p3, 2, p3.getPrice());
-        OrderItem oi4 = new OrderItem(o3, p5, 2, p5.getPrice());
+        // Criação de itens de pedido (o serviço mantém o total persistido de cada pedido)
+        OrderItem oi1 = new OrderItem(o1, p1, 2, p1.getPriceCents());
+        OrderItem oi2 = new OrderItem(o1, p3, 1, p3.getPriceCents());
+        OrderItem oi3 = new OrderItem(o2, p3, 2, p3.getPriceCents());
+        OrderItem oi4 = new OrderItem(o3, p5, 2, p5.getPriceCents());
 
-        orderItemRepository.saveAll(Arrays.asList(oi1, oi2, oi3, oi4));
-
-        // Criação de pagamento
-        Payment pay1 = new Payment(null, Instant.parse("2019-06-20T19:53:07Z"), o1);
-        o1.setPayment(pay1);
-        orderRepository.save(o1);
+        orderItemService.saveAll(Arrays.asList(oi1, oi2, oi3, oi4));
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Modo de execução das requisições: pool de threads de plataforma do Tomcat (padrão)
+ * ou threads virtuais (opcional, requer Java 21).
+ *
+ * Com spring.threads.virtual.enabled=true e JVM 21+, o Spring Boot passa a executar em threads virtuais:
+ * - requisições do Tomcat (server.tomcat.threads.max deixa de limitar a concorrência)
+ * - tarefas agendadas (@Scheduled) e o executor padrão de tarefas (applicationTaskExecutor)
+ *
+ * Nesse modo o limitador explícito de concorrência é o pool do Hikari
+ * (spring.datasource.hikari.maximum-pool-size): requisições além do pool aguardam uma conexão
+ * por até spring.datasource.hikari.connection-timeout.
+ *
+ * Em JVM anterior à 21 a propriedade é ignorada pelo Spring Boot; aqui apenas registramos o modo efetivo.
+ * Para compilar com Java 21: mvn -Pjava21 ...
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualRequested;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    /**
+     * Registra no log o modo de threads efetivo ao final da inicialização.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests running on virtual threads; concurrency limited by Hikari pool (maximum-pool-size={})",
+                    poolSize);
+        } else if (virtualRequested) {
+            log.warn("spring.threads.virtual.enabled=true ignored: Java {} does not support virtual threads (requires 21+)",
+                    Runtime.version().feature());
+        } else {
+            log.info("Requests running on Tomcat platform thread pool");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relatório de uma importação em massa.
+ *
+ * Contabiliza as linhas processadas, inseridas e rejeitadas. Os detalhes de falha são
+ * limitados a {@link #MAX_REPORTED_ERRORS} entradas para manter a memória limitada
+ * mesmo em cargas com muitas linhas inválidas.
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "processed": 3,
+ *   "inserted": 2,
+ *   "failed": 1,
+ *   "errors": [{"line": 3, "message": "email is required"}]
+ * }
+ */
+public class BulkImportResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long processed;
+    private long inserted;
+    private long failed;
+    private final List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Registra uma linha processada com sucesso.
+     */
+    public void addInserted(long count) {
+        processed += count;
+        inserted += count;
+    }
+
+    /**
+     * Registra uma linha rejeitada.
+     * @param line Número da linha na entrada (1 = primeira linha)
+     * @param message Motivo da rejeição
+     */
+    public void addError(long line, String message) {
+        processed++;
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+    public long getInserted() {
+        return inserted;
+    }
+    public long getFailed() {
+        return failed;
+    }
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Falha de uma linha específica da entrada.
+     */
+    public static class RowError implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+        public String getMessage() {
+            return message;
+        }
+    }
+}
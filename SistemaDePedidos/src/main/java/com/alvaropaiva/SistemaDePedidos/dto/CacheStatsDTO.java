@@ -0,0 +1,55 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import java.io.Serializable;
+
+/**
+ * Estatísticas de uma região de cache (acertos, erros, evicções e tamanho estimado).
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "name": "products",
+ *   "size": 120,
+ *   "hitCount": 5400,
+ *   "missCount": 130,
+ *   "hitRate": 0.976,
+ *   "evictionCount": 10
+ * }
+ */
+public class CacheStatsDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private final long size;
+    private final long hitCount;
+    private final long missCount;
+    private final double hitRate;
+    private final long evictionCount;
+
+    public CacheStatsDTO(String name, long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitRate;
+        this.evictionCount = evictionCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+    public long getSize() {
+        return size;
+    }
+    public long getHitCount() {
+        return hitCount;
+    }
+    public long getMissCount() {
+        return missCount;
+    }
+    public double getHitRate() {
+        return hitRate;
+    }
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,106 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por cursor (keyset pagination).
+ *
+ * Em vez de OFFSET, cada página é obtida com uma consulta "seek" sobre a chave primária
+ * ({@code WHERE id > :after ORDER BY id LIMIT :n}), de modo que o custo de cada página
+ * é constante independentemente da profundidade.
+ *
+ * Campos:
+ * - content: Elementos da página atual
+ * - nextCursor: Cursor opaco para a próxima página (null quando não há mais registros)
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "content": [ ... ],
+ *   "nextCursor": "aWQ6MjA"
+ * }
+ *
+ * @param <T> Tipo dos elementos da página
+ */
+public class CursorPage<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String PREFIX = "id:";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Monta a página a partir do resultado de uma consulta que buscou {@code limit + 1} linhas.
+     * A linha excedente apenas sinaliza a existência de uma próxima página e é descartada.
+     * @param rows Resultado da consulta seek (até limit + 1 elementos, ordenados por id)
+     * @param limit Tamanho da página solicitado
+     * @param idExtractor Função que extrai o id de cada elemento
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = List.copyOf(rows.subList(0, limit));
+        return new CursorPage<>(content, encode(idExtractor.apply(content.get(limit - 1))));
+    }
+
+    /**
+     * Normaliza o tamanho de página recebido do cliente para o intervalo [1, MAX_LIMIT].
+     */
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Codifica o último id de uma página em um cursor opaco (Base64 URL-safe).
+     */
+    public static String encode(Long id) {
+        byte[] raw = (PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodifica um cursor recebido do cliente.
+     * @param cursor Cursor opaco (null ou vazio representa a primeira página)
+     * @return Id a partir do qual a próxima página deve começar (0 para a primeira página)
+     * @throws InvalidRequestException Se o cursor estiver malformado (HTTP 400)
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidRequestException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
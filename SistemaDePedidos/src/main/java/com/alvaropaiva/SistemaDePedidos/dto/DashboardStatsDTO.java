@@ -0,0 +1,57 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Estatísticas agregadas de pedidos exibidas no dashboard.
+ *
+ * Calculadas no banco com consultas de agregação (GROUP BY), de modo que a resposta
+ * tem tamanho constante independentemente da quantidade de pedidos.
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "totalOrders": 3,
+ *   "ordersToday": 0,
+ *   "countsByStatus": {"WAITING_PAYMENT": 2, "PAID": 1, "SHIPPED": 0, "DELIVERED": 0, "CANCELED": 0},
+ *   "dailyCounts": {"2023-01-01": 4, "2023-01-02": 7}
+ * }
+ */
+public class DashboardStatsDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long totalOrders;
+    private final long ordersToday;
+    private final Map<OrderStatus, Long> countsByStatus;
+    private final Map<LocalDate, Long> dailyCounts;
+
+    public DashboardStatsDTO(long totalOrders, long ordersToday, Map<OrderStatus, Long> countsByStatus,
+                             Map<LocalDate, Long> dailyCounts) {
+        this.totalOrders = totalOrders;
+        this.ordersToday = ordersToday;
+        this.countsByStatus = countsByStatus;
+        this.dailyCounts = dailyCounts;
+    }
+
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+    public long getOrdersToday() {
+        return ordersToday;
+    }
+    /**
+     * Quantidade de pedidos por status (todos os status presentes, com zero quando não houver pedidos)
+     */
+    public Map<OrderStatus, Long> getCountsByStatus() {
+        return countsByStatus;
+    }
+    /**
+     * Quantidade de pedidos por dia (UTC) no período consultado, em ordem cronológica
+     */
+    public Map<LocalDate, Long> getDailyCounts() {
+        return dailyCounts;
+    }
+}
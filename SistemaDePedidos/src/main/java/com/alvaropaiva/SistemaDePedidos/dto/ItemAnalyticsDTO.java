@@ -0,0 +1,136 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de uma agregação ad hoc sobre os itens de pedido (receita, unidades e linhas),
+ * calculada sobre a cópia colunar em memória.
+ *
+ * Os totais contam cada item uma única vez; no agrupamento por categoria, um produto em várias
+ * categorias aparece em cada uma delas (as linhas podem somar mais que o total).
+ * Valores monetários em decimal com 2 casas (armazenados em centavos, ver {@link Money}).
+ *
+ * Exemplo de resposta JSON (groupBy=category,hour):
+ * {
+ *   "groupBy": ["category", "hour"],
+ *   "from": "2026-10-01",
+ *   "to": "2026-10-31",
+ *   "revenue": 15230.50,
+ *   "quantity": 42,
+ *   "lines": 30,
+ *   "rows": [
+ *     {"keys": {"category": 3, "categoryName": "Computers", "hour": "2026-10-02T14:00:00Z"},
+ *      "revenue": 1200.00, "quantity": 1, "lines": 1}
+ *   ],
+ *   "scannedRows": 120000,
+ *   "snapshotAt": "2026-10-31T12:00:01Z",
+ *   "elapsedMicros": 850
+ * }
+ */
+public class ItemAnalyticsDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> groupBy;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long revenueCents;
+    private final long quantity;
+    private final long lines;
+    private final List<Row> rows;
+    private final long scannedRows;
+    private final Instant snapshotAt;
+    private final long elapsedMicros;
+
+    public ItemAnalyticsDTO(List<String> groupBy, LocalDate from, LocalDate to, long revenueCents, long quantity,
+                            long lines, List<Row> rows, long scannedRows, Instant snapshotAt, long elapsedMicros) {
+        this.groupBy = groupBy;
+        this.from = from;
+        this.to = to;
+        this.revenueCents = revenueCents;
+        this.quantity = quantity;
+        this.lines = lines;
+        this.rows = rows;
+        this.scannedRows = scannedRows;
+        this.snapshotAt = snapshotAt;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+    public LocalDate getFrom() {
+        return from;
+    }
+    public LocalDate getTo() {
+        return to;
+    }
+    public BigDecimal getRevenue() {
+        return Money.toDecimal(revenueCents);
+    }
+    @JsonIgnore
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+    public long getQuantity() {
+        return quantity;
+    }
+    public long getLines() {
+        return lines;
+    }
+    public List<Row> getRows() {
+        return rows;
+    }
+    public long getScannedRows() {
+        return scannedRows;
+    }
+    public Instant getSnapshotAt() {
+        return snapshotAt;
+    }
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    /**
+     * Grupo do resultado: valor de cada dimensão (chaves na ordem do groupBy) e somas.
+     */
+    public static class Row implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Object> keys;
+        private final long revenueCents;
+        private final long quantity;
+        private final long lines;
+
+        public Row(Map<String, Object> keys, long revenueCents, long quantity, long lines) {
+            this.keys = keys;
+            this.revenueCents = revenueCents;
+            this.quantity = quantity;
+            this.lines = lines;
+        }
+
+        public Map<String, Object> getKeys() {
+            return keys;
+        }
+        public BigDecimal getRevenue() {
+            return Money.toDecimal(revenueCents);
+        }
+        @JsonIgnore
+        public long getRevenueCents() {
+            return revenueCents;
+        }
+        public long getQuantity() {
+            return quantity;
+        }
+        public long getLines() {
+            return lines;
+        }
+    }
+}
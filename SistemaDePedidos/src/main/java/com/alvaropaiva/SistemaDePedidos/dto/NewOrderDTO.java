@@ -0,0 +1,120 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados de entrada para a criação de um pedido (usado em POST /orders/batch).
+ *
+ * Cliente e produtos são referenciados apenas pelo ID; o preço de cada item é
+ * copiado do produto no momento da criação (preço histórico).
+ *
+ * Exemplo de JSON:
+ * {
+ *   "clientId": 1,
+ *   "moment": "2023-01-01T12:00:00Z",
+ *   "orderStatus": "PAID",
+ *   "items": [{"productId": 3, "quantity": 2}],
+ *   "payment": {"moment": "2023-01-01T12:05:00Z"}
+ * }
+ *
+ * Campos opcionais:
+ * - moment: padrão é o instante da requisição
+ * - orderStatus: PAID quando há pagamento e WAITING_PAYMENT caso contrário (único valor aceito;
+ *   os demais status são alcançados pelas transições do pedido)
+ * - payment: pagamento associado ao pedido
+ */
+public class NewOrderDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long clientId;
+    private Instant moment;
+    private OrderStatus orderStatus;
+    private List<Item> items = new ArrayList<>();
+    private PaymentInfo payment;
+
+    public NewOrderDTO() {}
+
+    public Long getClientId() {
+        return clientId;
+    }
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+    public Instant getMoment() {
+        return moment;
+    }
+    public void setMoment(Instant moment) {
+        this.moment = moment;
+    }
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+    public void setOrderStatus(OrderStatus orderStatus) {
+        this.orderStatus = orderStatus;
+    }
+    public List<Item> getItems() {
+        return items;
+    }
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+    public PaymentInfo getPayment() {
+        return payment;
+    }
+    public void setPayment(PaymentInfo payment) {
+        this.payment = payment;
+    }
+
+    /**
+     * Item do pedido: produto e quantidade.
+     */
+    public static class Item implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long productId;
+        private Integer quantity;
+
+        public Item() {}
+
+        public Item(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+        public Integer getQuantity() {
+            return quantity;
+        }
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * Pagamento opcional do pedido.
+     */
+    public static class PaymentInfo implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Instant moment;
+
+        public PaymentInfo() {}
+
+        public Instant getMoment() {
+            return moment;
+        }
+        public void setMoment(Instant moment) {
+            this.moment = moment;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Resultado da criação de pedidos em lote.
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "created": 2,
+ *   "ids": [41, 42]
+ * }
+ */
+public class OrderBatchResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Long> ids;
+
+    public OrderBatchResultDTO(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public int getCreated() {
+        return ids.size();
+    }
+    /**
+     * IDs gerados, na mesma ordem dos pedidos enviados
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+}
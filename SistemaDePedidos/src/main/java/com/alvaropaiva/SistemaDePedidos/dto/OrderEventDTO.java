@@ -0,0 +1,69 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderEventType;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Evento do ciclo de vida de um pedido, lido do outbox e entregue aos assinantes
+ * ({@link com.alvaropaiva.SistemaDePedidos.services.OrderEventSubscriber}).
+ *
+ * O id é crescente na ordem de gravação e identifica o evento em reentregas
+ * (entrega "ao menos uma vez"): assinantes podem usá-lo para descartar duplicatas.
+ * "attempts" é a quantidade de entregas anteriores que falharam (0 na primeira entrega).
+ *
+ * Exemplo:
+ * {
+ *   "id": 1042,
+ *   "orderId": 7,
+ *   "type": "PAID",
+ *   "orderStatus": "PAID",
+ *   "moment": "2026-10-17T03:32:13Z",
+ *   "attempts": 0
+ * }
+ */
+public class OrderEventDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final Long orderId;
+    private final OrderEventType type;
+    private final OrderStatus orderStatus;
+    private final Instant moment;
+    private final int attempts;
+
+    public OrderEventDTO(Long id, Long orderId, OrderEventType type, OrderStatus orderStatus, Instant moment, int attempts) {
+        this.id = id;
+        this.orderId = orderId;
+        this.type = type;
+        this.orderStatus = orderStatus;
+        this.moment = moment;
+        this.attempts = attempts;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public Long getOrderId() {
+        return orderId;
+    }
+    public OrderEventType getType() {
+        return type;
+    }
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+    public Instant getMoment() {
+        return moment;
+    }
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderEvent{id=" + id + ", orderId=" + orderId + ", type=" + type + ", orderStatus=" + orderStatus + ", attempts=" + attempts + "}";
+    }
+}
@@ -0,0 +1,119 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Money;
+import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representação compacta de um pedido para exportação em NDJSON (uma linha por pedido).
+ *
+ * Diferente da entidade {@link Order}, referencia cliente e produtos apenas pelo ID,
+ * o que evita carregar e serializar categorias e dados de cliente em cada linha.
+ *
+ * Exemplo de linha exportada:
+ * {"id":1,"moment":"2019-06-20T19:53:07Z","orderStatus":"PAID","clientId":1,
+ *  "items":[{"productId":1,"quantity":2,"price":90.50,"subTotal":181.00}],"total":181.00}
+ */
+public class OrderExportDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final Instant moment;
+    private final OrderStatus orderStatus;
+    private final Long clientId;
+    private final List<Item> items;
+    private final long totalCents;
+
+    /**
+     * Constrói a linha de exportação a partir de um pedido com os itens já carregados.
+     * @param order Pedido gerenciado pelo contexto de persistência
+     */
+    public OrderExportDTO(Order order) {
+        this.id = order.getId();
+        this.moment = order.getMoment();
+        this.orderStatus = order.getOrderStatus();
+        this.clientId = order.getClient() != null ? order.getClient().getId() : null;
+        this.items = new ArrayList<>(order.getItems().size());
+        for (OrderItem x : order.getItems()) {
+            items.add(new Item(x));
+        }
+        this.totalCents = order.getTotalCents();
+    }
+
+    /**
+     * Constrói a linha a partir de valores lidos diretamente do banco (ex: consultas R2DBC).
+     */
+    public OrderExportDTO(Long id, Instant moment, OrderStatus orderStatus, Long clientId, List<Item> items, long totalCents) {
+        this.id = id;
+        this.moment = moment;
+        this.orderStatus = orderStatus;
+        this.clientId = clientId;
+        this.items = items;
+        this.totalCents = totalCents;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public Instant getMoment() {
+        return moment;
+    }
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+    public Long getClientId() {
+        return clientId;
+    }
+    public List<Item> getItems() {
+        return items;
+    }
+    public BigDecimal getTotal() {
+        return Money.toDecimal(totalCents);
+    }
+
+    /**
+     * Item de pedido exportado (produto referenciado apenas pelo ID).
+     */
+    public static class Item implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Long productId;
+        private final Integer quantity;
+        private final long priceCents;
+        private final long subTotalCents;
+
+        public Item(OrderItem item) {
+            this.productId = item.getProduct().getId();
+            this.quantity = item.getQuantity();
+            this.priceCents = item.getPriceCents();
+            this.subTotalCents = item.getSubTotalCents();
+        }
+
+        public Item(Long productId, Integer quantity, long priceCents) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.priceCents = priceCents;
+            this.subTotalCents = Money.times(priceCents, quantity);
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+        public Integer getQuantity() {
+            return quantity;
+        }
+        public BigDecimal getPrice() {
+            return Money.toDecimal(priceCents);
+        }
+        public BigDecimal getSubTotal() {
+            return Money.toDecimal(subTotalCents);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Resultado da alteração de status em massa.
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "status": "SHIPPED",
+ *   "updated": 2,
+ *   "rejected": [12]
+ * }
+ */
+public class OrderStatusBulkResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final OrderStatus status;
+    private final int updated;
+    private final List<Long> rejected;
+
+    public OrderStatusBulkResultDTO(OrderStatus status, int updated, List<Long> rejected) {
+        this.status = status;
+        this.updated = updated;
+        this.rejected = rejected;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+    /**
+     * Quantidade de pedidos que mudaram de status
+     */
+    public int getUpdated() {
+        return updated;
+    }
+    /**
+     * Pedidos que não estão no status solicitado ao final da operação
+     * (inexistentes ou cujo status atual não permite a transição)
+     */
+    public List<Long> getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,39 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados de entrada para a alteração de status de pedidos.
+ *
+ * Exemplos de JSON:
+ * - PATCH /orders/{id}/status: {"status": "SHIPPED"}
+ * - PATCH /orders/status: {"ids": [10, 11, 12], "status": "SHIPPED"}
+ */
+public class OrderStatusUpdateDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private OrderStatus status;
+    private List<Long> ids = new ArrayList<>();
+
+    public OrderStatusUpdateDTO() {}
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+    /**
+     * Pedidos a alterar (usado apenas na alteração em massa)
+     */
+    public List<Long> getIds() {
+        return ids;
+    }
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
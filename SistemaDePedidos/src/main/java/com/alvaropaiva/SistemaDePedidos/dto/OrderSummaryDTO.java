@@ -0,0 +1,51 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Money;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Representação de um pedido em listagens: id, nome do cliente, status, momento e total
+ * (sem itens e pagamento).
+ *
+ * Preenchida diretamente pela consulta (expressão construtora JPQL), sem carregar as entidades.
+ *
+ * Exemplo:
+ * {"id":1,"clientName":"Maria Brown","orderStatus":"PAID","moment":"2019-06-20T19:53:07Z","total":1431.00}
+ */
+public class OrderSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String clientName;
+    private final OrderStatus orderStatus;
+    private final Instant moment;
+    private final long totalCents;
+
+    public OrderSummaryDTO(Long id, String clientName, Integer orderStatus, Instant moment, long totalCents) {
+        this.id = id;
+        this.clientName = clientName;
+        this.orderStatus = orderStatus != null ? OrderStatus.valueOf(orderStatus) : null;
+        this.moment = moment;
+        this.totalCents = totalCents;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public String getClientName() {
+        return clientName;
+    }
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+    public Instant getMoment() {
+        return moment;
+    }
+    public BigDecimal getTotal() {
+        return Money.toDecimal(totalCents);
+    }
+}
@@ -0,0 +1,69 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Representação resumida de um produto (sem categorias e sem estoque),
+ * usada em listagens que leem as colunas diretamente do banco.
+ *
+ * Quando lida do banco, carrega também a versão e o momento da última alteração do produto,
+ * não serializados, que formam o ETag da listagem.
+ *
+ * Exemplo:
+ * {"id":1,"name":"The Lord of the Rings","description":"Lorem ipsum...","price":90.50,"imgUrl":""}
+ */
+public class ProductSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final long priceCents;
+    private final String imgUrl;
+    private final long version;
+    private final Instant lastModified;
+
+    public ProductSummaryDTO(Long id, String name, String description, long priceCents, String imgUrl) {
+        this(id, name, description, priceCents, imgUrl, 0, null);
+    }
+
+    public ProductSummaryDTO(Long id, String name, String description, long priceCents, String imgUrl,
+                             long version, Instant lastModified) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.priceCents = priceCents;
+        this.imgUrl = imgUrl;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public String getName() {
+        return name;
+    }
+    public String getDescription() {
+        return description;
+    }
+    public BigDecimal getPrice() {
+        return Money.toDecimal(priceCents);
+    }
+    public String getImgUrl() {
+        return imgUrl;
+    }
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+    @JsonIgnore
+    public Instant getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,43 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import java.io.Serializable;
+
+/**
+ * Resultado da reconstrução das vendas agregadas.
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "days": 365,
+ *   "orders": 120000,
+ *   "elapsedMillis": 2140
+ * }
+ */
+public class SalesRebuildResultDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int days;
+    private final long orders;
+    private final long elapsedMillis;
+
+    public SalesRebuildResultDTO(int days, long orders, long elapsedMillis) {
+        this.days = days;
+        this.orders = orders;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Dias (partições) reconstruídos
+     */
+    public int getDays() {
+        return days;
+    }
+    /**
+     * Pedidos vendidos somados
+     */
+    public long getOrders() {
+        return orders;
+    }
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,114 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Relatório de vendas (receita e unidades) de um período, agrupado por dia, produto ou categoria.
+ *
+ * Os totais do período contam cada item uma única vez; no agrupamento por categoria, um produto
+ * em várias categorias aparece em cada uma delas (as linhas podem somar mais que o total).
+ * Valores monetários em decimal com 2 casas (armazenados em centavos, ver {@link Money}).
+ *
+ * Exemplo de resposta JSON (groupBy=category):
+ * {
+ *   "from": "2026-10-01",
+ *   "to": "2026-10-31",
+ *   "groupBy": "category",
+ *   "revenue": 15230.50,
+ *   "quantity": 42,
+ *   "rows": [
+ *     {"id": 3, "name": "Computers", "revenue": 12000.00, "quantity": 10}
+ *   ]
+ * }
+ */
+public class SalesReportDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String groupBy;
+    private final long revenueCents;
+    private final long quantity;
+    private final List<Row> rows;
+
+    public SalesReportDTO(LocalDate from, LocalDate to, String groupBy, long revenueCents, long quantity, List<Row> rows) {
+        this.from = from;
+        this.to = to;
+        this.groupBy = groupBy;
+        this.revenueCents = revenueCents;
+        this.quantity = quantity;
+        this.rows = rows;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+    public LocalDate getTo() {
+        return to;
+    }
+    public String getGroupBy() {
+        return groupBy;
+    }
+    public BigDecimal getRevenue() {
+        return Money.toDecimal(revenueCents);
+    }
+    @JsonIgnore
+    public long getRevenueCents() {
+        return revenueCents;
+    }
+    public long getQuantity() {
+        return quantity;
+    }
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * Linha do relatório: o dia (groupBy=day) ou o id e o nome do produto/categoria.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final LocalDate day;
+        private final Long id;
+        private final String name;
+        private final long revenueCents;
+        private final long quantity;
+
+        public Row(LocalDate day, Long id, String name, long revenueCents, long quantity) {
+            this.day = day;
+            this.id = id;
+            this.name = name;
+            this.revenueCents = revenueCents;
+            this.quantity = quantity;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+        public Long getId() {
+            return id;
+        }
+        public String getName() {
+            return name;
+        }
+        public BigDecimal getRevenue() {
+            return Money.toDecimal(revenueCents);
+        }
+        @JsonIgnore
+        public long getRevenueCents() {
+            return revenueCents;
+        }
+        public long getQuantity() {
+            return quantity;
+        }
+    }
+}
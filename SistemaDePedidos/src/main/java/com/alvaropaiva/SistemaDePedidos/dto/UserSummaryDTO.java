@@ -0,0 +1,36 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import java.io.Serializable;
+
+/**
+ * Representação de um usuário em listagens: apenas id, nome e e-mail
+ * (sem telefone, senha e pedidos).
+ *
+ * Preenchida diretamente pela consulta (expressão construtora JPQL), sem carregar a entidade.
+ *
+ * Exemplo:
+ * {"id":1,"name":"Maria Brown","email":"maria@gmail.com"}
+ */
+public class UserSummaryDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String name;
+    private final String email;
+
+    public UserSummaryDTO(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
+
+    public Long getId() {
+        return id;
+    }
+    public String getName() {
+        return name;
+    }
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,216 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Identificação da versão de uma representação HTTP, para GETs condicionais.
+ *
+ * A representação é descrita pelas linhas versionadas que ela exibe (a entidade principal e as
+ * entidades incorporadas no JSON, ex.: o produto e suas categorias). O ETag (forte) é um hash do
+ * conjunto de trincas (tipo, id, versão) dessas linhas; o tipo evita que linhas de tabelas diferentes
+ * com o mesmo id e versão se confundam. O Last-Modified é o maior momento de alteração.
+ * Como qualquer alteração incrementa a versão da linha, qualquer mudança no JSON muda o ETag,
+ * inclusive inclusões e remoções em listagens (que o maior número de versão sozinho não detectaria).
+ *
+ * Cada formato e codificação da mesma versão tem um ETag distinto (variante), formado pelo hash e um
+ * sufixo, ex.: "5f1c0b3a9e24d7c1-smile" (ver {@link #variant(String, String)}); a comparação de
+ * If-None-Match considera apenas o hash, e o ETag da resposta 304 identifica a variante negociada.
+ *
+ * O mesmo ETag pode ser calculado por dois caminhos, que precisam concordar:
+ * - consulta de versões (sem hidratar nem serializar entidades), para responder 304
+ * - entidades ou DTOs já carregados, para o ETag da resposta 200 (que então descreve exatamente
+ *   o corpo enviado, mesmo que ele tenha vindo de um cache ou de uma réplica)
+ *
+ * Exemplo de cabeçalhos:
+ * ETag: "5f1c0b3a9e24d7c1"
+ * Last-Modified: Tue, 20 Oct 2026 12:00:00 GMT
+ */
+public class VersionStamp {
+
+    private static final char VARIANT_SEPARATOR = '-';
+
+    private final String eTag;
+    private final Instant lastModified;
+
+    private VersionStamp(String eTag, Instant lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * ETag de uma variante da representação (outro formato ou codificação de conteúdo).
+     * @param eTag ETag da representação JSON, entre aspas (pode ser fraco: W/"...")
+     * @param suffix Identificação da variante, ex.: "smile"
+     * @return ETag com o sufixo, ex.: "5f1c0b3a9e24d7c1-smile"
+     */
+    public static String variant(String eTag, String suffix) {
+        ETag tag = ETag.create(eTag);
+        String value = '"' + tag.tag() + VARIANT_SEPARATOR + suffix + '"';
+        return tag.weak() ? "W/" + value : value;
+    }
+
+    /**
+     * Mesma versão, identificando uma variante da representação (ver {@link #variant(String, String)}).
+     * @param suffix Identificação da variante (null para a representação JSON)
+     */
+    public VersionStamp forVariant(String suffix) {
+        return suffix == null ? this : new VersionStamp(variant(eTag, suffix), lastModified);
+    }
+
+    /**
+     * @return ETag entre aspas, ex.: "5f1c0b3a9e24d7c1"
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return Momento da alteração mais recente (null se a representação não tiver linhas)
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Avalia os cabeçalhos condicionais da requisição. If-None-Match tem precedência e usa
+     * comparação fraca (RFC 9110) sobre o hash, aceitando qualquer variante desta versão; sem ele,
+     * vale If-Modified-Since, com resolução de segundos.
+     * @param request Cabeçalhos da requisição
+     * @return true se o cliente já tem esta versão (resposta 304)
+     */
+    public boolean isNotModified(HttpHeaders request) {
+        List<String> ifNoneMatch = request.get(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
+            String current = hashOf(ETag.create(eTag));
+            for (String value : ifNoneMatch) {
+                for (ETag candidate : ETag.parse(value)) {
+                    if (candidate.isWildcard() || current.equals(hashOf(candidate))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        long since = request.getIfModifiedSince();
+        return since >= 0 && lastModified != null && lastModified.getEpochSecond() * 1000 <= since;
+    }
+
+    /**
+     * Hash de um ETag recebido, sem o sufixo de variante.
+     */
+    private static String hashOf(ETag tag) {
+        String value = tag.tag();
+        int separator = value.indexOf(VARIANT_SEPARATOR);
+        return separator < 0 ? value : value.substring(0, separator);
+    }
+
+    /**
+     * @return Resposta 304 sem corpo, com os cabeçalhos de validação
+     */
+    public <T> ResponseEntity<T> notModified() {
+        return applyTo(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+    }
+
+    /**
+     * @return Resposta 200 com o corpo e os cabeçalhos de validação
+     */
+    public <T> ResponseEntity<T> ok(T body) {
+        return applyTo(ResponseEntity.ok()).body(body);
+    }
+
+    /**
+     * ETag e Last-Modified, com Cache-Control no-cache: caches (navegador, CDN) podem guardar
+     * a resposta, mas devem revalidá-la a cada uso em vez de estimar um tempo de validade.
+     * @param builder Resposta em construção (200 ou 304)
+     * @return O próprio builder, com os cabeçalhos de validação
+     */
+    public ResponseEntity.BodyBuilder applyTo(ResponseEntity.BodyBuilder builder) {
+        builder.eTag(eTag).cacheControl(CacheControl.noCache());
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    /**
+     * Acumula as linhas de uma representação. A ordem de inclusão não importa: as linhas são
+     * ordenadas antes do hash, para que consultas e entidades produzam o mesmo ETag.
+     */
+    public static final class Builder {
+        private final List<Row> rows = new ArrayList<>();
+        private Instant lastModified;
+        private String qualifier = "";
+
+        private Builder() {}
+
+        /**
+         * Inclui uma linha versionada.
+         * @param kind Tipo da linha (ver constantes de {@link RowVersion})
+         */
+        public Builder add(String kind, Long id, long version, Instant modified) {
+            rows.add(new Row(kind, id, version));
+            if (modified != null && (lastModified == null || modified.isAfter(lastModified))) {
+                lastModified = modified;
+            }
+            return this;
+        }
+
+        /**
+         * Inclui as linhas de uma consulta de versões.
+         */
+        public Builder addAll(Collection<? extends RowVersion> versions) {
+            for (RowVersion row : versions) {
+                add(row.getKind(), row.getId(), row.getVersion(), row.getLastModified());
+            }
+            return this;
+        }
+
+        /**
+         * Parte da representação que não vem de linhas versionadas (ex.: se há próxima página).
+         */
+        public Builder qualifier(String qualifier) {
+            this.qualifier = qualifier != null ? qualifier : "";
+            return this;
+        }
+
+        public VersionStamp build() {
+            rows.sort(Comparator.comparing(Row::kind).thenComparingLong(Row::id).thenComparingLong(Row::version));
+            StringBuilder text = new StringBuilder(rows.size() * 20 + qualifier.length());
+            for (Row row : rows) {
+                text.append(row.kind()).append(':').append(row.id()).append(':').append(row.version()).append(';');
+            }
+            text.append(qualifier);
+            return new VersionStamp('"' + hash(text.toString()) + '"', lastModified);
+        }
+
+        private record Row(String kind, long id, long version) {}
+
+        private static String hash(String text) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest, 0, 8);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.alvaropaiva.SistemaDePedidos.entities;
 
+import com.alvaropaiva.SistemaDePedidos.config.SecondLevelCacheConfig;
+import com.alvaropaiva.SistemaDePedidos.entities.listeners.CatalogChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -14,6 +21,9 @@ import java.util.Set;
  * Exemplo: Categoria "Eletrônicos" pode conter produtos como "Smartphone", "Notebook", etc.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CATEGORIES)
+@EntityListeners(CatalogChangeListener.class)
 @Table(name = "tb_category")
 public class Category implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -26,6 +36,23 @@ public class Category implements Serializable {
     @ManyToMany(mappedBy = "categories")  // Relacionamento muitos-para-muitos com Product
     private Set<Product> products = new HashSet<>();  // Conjunto de produtos associados a esta categoria
 
+    /**
+     * Versão (controle otimista de concorrência e base do ETag, ver
+     * {@link com.alvaropaiva.SistemaDePedidos.dto.VersionStamp})
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Momento da última alteração (cabeçalho Last-Modified)
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false)
+    private Instant lastModified;
+
     /**
      * Construtor padrão (JPA)
      */
@@ -62,6 +89,15 @@ public class Category implements Serializable {
         return products;
     }
 
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+    @JsonIgnore
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
     // equals e hash code
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,37 @@
+package com.alvaropaiva.SistemaDePedidos.entities;
+
+import java.math.BigDecimal;
+
+/**
+ * Representação monetária em ponto fixo: valores são armazenados (no banco e em memória)
+ * como {@code long} em centavos, sem arredondamentos acumulados e sem alocação nas somas.
+ *
+ * A conversão para decimal ({@link BigDecimal} com 2 casas) é feita apenas nas bordas,
+ * por exemplo nos getters usados na serialização JSON.
+ *
+ * Exemplo: R$ 90,50 → 9050
+ */
+public final class Money {
+
+    /**
+     * Casas decimais da unidade monetária (centavos)
+     */
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    /**
+     * Converte centavos para valor decimal (ex: 9050 → 90.50).
+     */
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Multiplica um valor em centavos por uma quantidade.
+     * @throws ArithmeticException Em caso de overflow
+     */
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, (long) quantity);
+    }
+}
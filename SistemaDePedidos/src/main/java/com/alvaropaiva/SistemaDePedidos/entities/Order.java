@@ -2,8 +2,12 @@ package com.alvaropaiva.SistemaDePedidos.entities;
 
 import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
@@ -14,11 +18,13 @@ import java.util.Set;
  * Mapeada para a tabela "tb_order" no banco de dados.
  *
  * Um pedido contém informações sobre o momento da compra, status,
- * cliente associado, itens do pedido e pagamento. Calcula automaticamente
- * o valor total com base nos itens.
+ * cliente associado, itens do pedido e pagamento. O valor total é persistido
+ * na coluna "total" e mantido incrementalmente pelo
+ * {@link com.alvaropaiva.SistemaDePedidos.services.OrderItemService}, de modo que listagens
+ * e relatórios não precisam carregar os itens para exibi-lo.
  */
 @Entity
-@Table(name = "tb_order")
+@Table(name = "tb_order", indexes = @Index(name = "idx_order_moment", columnList = "moment"))
 public class Order implements Serializable {
     private static final long serialVersionUID = 1L;
 
@@ -61,6 +67,35 @@ public class Order implements Serializable {
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL)
     private Payment payment;
 
+    /**
+     * Valor total do pedido em centavos (soma de preço × quantidade dos itens), desnormalizado.
+     * Não é atualizado via merge da entidade (updatable = false): apenas por UPDATEs
+     * incrementais ({@code total = total + delta}) e pelo job de verificação, evitando que
+     * uma instância desatualizada sobrescreva o valor correto.
+     */
+    @ColumnDefault("0")
+    @Column(updatable = false)
+    private long totalCents;
+
+    /**
+     * Versão (controle otimista de concorrência e base do ETag, ver
+     * {@link com.alvaropaiva.SistemaDePedidos.dto.VersionStamp}).
+     * Os UPDATEs em massa do {@link com.alvaropaiva.SistemaDePedidos.repositories.OrderRepository}
+     * (status e total, que mudam com os itens) a incrementam explicitamente.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Momento da última alteração (cabeçalho Last-Modified), também atualizado pelos UPDATEs em massa
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false)
+    private Instant lastModified;
+
     /**
      * Construtor padrão (JPA)
      */
@@ -129,15 +164,30 @@ public class Order implements Serializable {
     }
 
     /**
-     * Calcula o valor total do pedido somando os subtotais dos itens
-     * @return Double valor total do pedido
+     * Retorna o valor total persistido do pedido, sem percorrer os itens
+     * @return BigDecimal valor total em decimal (ex: 1431.00), usado na serialização JSON
+     */
+    public BigDecimal getTotal() {
+        return Money.toDecimal(totalCents);
+    }
+    /**
+     * Valor total persistido em centavos (usado em somas e relatórios)
      */
-    public Double getTotal() {
-        double sum = 0.0;
-        for (OrderItem x : items) {
-            sum += x.getSubTotal();
-        }
-        return sum;
+    @JsonIgnore
+    public long getTotalCents() {
+        return totalCents;
+    }
+    public void setTotalCents(long totalCents) {
+        this.totalCents = totalCents;
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+    @JsonIgnore
+    public Instant getLastModified() {
+        return lastModified;
     }
 
     // Equals e hashcode
@@ -3,7 +3,9 @@ package com.alvaropaiva.SistemaDePedidos.entities;
 import com.alvaropaiva.SistemaDePedidos.entities.pk.OrderItemPK;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.util.Objects;
 
 /**
@@ -27,7 +29,17 @@ public class OrderItem implements Serializable {
     @EmbeddedId
     private OrderItemPK id = new OrderItemPK();
     private Integer quantity;
-    private Double price; // preço unitário no momento da compra (pode ser diferente do atual)
+    @ColumnDefault("0")
+    private long priceCents; // preço unitário em centavos no momento da compra (pode ser diferente do atual)
+
+    /**
+     * Subtotal em centavos como está no banco (capturado ao carregar e após cada gravação), ou null
+     * se o item ainda não foi persistido. Base da diferença aplicada ao total do pedido pelo
+     * {@link com.alvaropaiva.SistemaDePedidos.services.OrderItemService} quando a instância
+     * gerenciada é alterada antes de ser salva.
+     */
+    @Transient
+    private Long storedSubTotalCents;
 
     /**
      * Construtor padrão (JPA)
@@ -39,14 +51,14 @@ public class OrderItem implements Serializable {
      * @param order Pedido associado
      * @param product Produto vendido
      * @param quantity Quantidade comprada
-     * @param price Preço unitário no momento da venda
+     * @param priceCents Preço unitário em centavos no momento da venda
      */
-    public OrderItem(Order order, Product product, Integer quantity, Double price) {
+    public OrderItem(Order order, Product product, Integer quantity, long priceCents) {
         super();
         id.setOrder(order);
         id.setProduct(product);
         this.quantity = quantity;
-        this.price = price;
+        this.priceCents = priceCents;
     }
 
     // getters e setters indiretos
@@ -78,19 +90,49 @@ public class OrderItem implements Serializable {
     public void setQuantity(Integer quantity) {
         this.quantity = quantity;
     }
-    public Double getPrice() {
-        return price;
+    /**
+     * Preço unitário em decimal (ex: 90.50), usado na serialização JSON
+     */
+    public BigDecimal getPrice() {
+        return Money.toDecimal(priceCents);
+    }
+    @JsonIgnore
+    public long getPriceCents() {
+        return priceCents;
     }
-    public void setPrice(Double price) {
-        this.price = price;
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
     }
 
     /**
-     * Calcula o subtotal deste item (preço × quantidade)
-     * @return Double valor total do item
+     * Calcula o subtotal deste item (preço × quantidade) em centavos
+     * @return long valor total do item em centavos
      */
-    public Double getSubTotal() {
-        return price * quantity;
+    @JsonIgnore
+    public long getSubTotalCents() {
+        return Money.times(priceCents, quantity);
+    }
+
+    /**
+     * Subtotal em decimal, usado na serialização JSON
+     */
+    public BigDecimal getSubTotal() {
+        return Money.toDecimal(getSubTotalCents());
+    }
+
+    /**
+     * Subtotal em centavos gravado no banco (null se o item ainda não foi persistido)
+     */
+    @JsonIgnore
+    public Long getStoredSubTotalCents() {
+        return storedSubTotalCents;
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    private void captureStoredSubTotal() {
+        storedSubTotalCents = getSubTotalCents();
     }
 
     // Hash code e equals
@@ -1,8 +1,17 @@
 package com.alvaropaiva.SistemaDePedidos.entities;
 
+import com.alvaropaiva.SistemaDePedidos.config.SecondLevelCacheConfig;
+import com.alvaropaiva.SistemaDePedidos.entities.listeners.CatalogChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -16,6 +25,10 @@ import java.util.Set;
  * como nome, descrição, preço e URL da imagem.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCTS)
+@EntityListeners(CatalogChangeListener.class)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})  // Itens de pedido referenciam o produto via proxy (resolvido pelo cache de 2º nível)
 @Table(name = "tb_products")
 public class Product implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -25,15 +38,29 @@ public class Product implements Serializable {
     private Long id;
     private String name;
     private String description;
-    private Double price;
+    @ColumnDefault("0")
+    private long priceCents; // preço em centavos
     private String imgUrl;
 
+    /**
+     * Quantidade em estoque (null = estoque não controlado).
+     * Alterada apenas por UPDATEs condicionais em
+     * {@link com.alvaropaiva.SistemaDePedidos.services.InventoryService}; não é serializada no
+     * JSON do produto (que pode vir do cache) — consultar GET /products/{id}/stock.
+     * Não é atualizada pelo JPA: a cópia da entidade (inclusive a do cache de segundo nível)
+     * pode estar defasada e não deve sobrescrever o valor do banco.
+     */
+    @Column(updatable = false)
+    private Integer stock;
+
     /**
      * Relacionamento muitos-para-muitos com Category.
      * Utiliza tabela de junção "tb_product_category" com
      * product_id (chave estrangeira para Product) e
      * category_id (chave estrangeira para Category).
+     * A coleção (ids das categorias) fica no cache de segundo nível.
      */
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCT_CATEGORIES)
     @ManyToMany
     @JoinTable(name = "tb_product_category",
             joinColumns = @JoinColumn(name = "product_id"),
@@ -48,6 +75,25 @@ public class Product implements Serializable {
     @OneToMany(mappedBy = "id.product")
     private Set<OrderItem> items = new HashSet<>();  // Conjunto de itens de pedido associados
 
+    /**
+     * Versão (controle otimista de concorrência e base do ETag, ver
+     * {@link com.alvaropaiva.SistemaDePedidos.dto.VersionStamp}). Também é incrementada quando o
+     * conjunto de categorias muda; alterações de estoque não a incrementam (o estoque não faz
+     * parte do JSON do produto).
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Momento da última alteração (cabeçalho Last-Modified)
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false)
+    private Instant lastModified;
+
     /**
      * Construtor padrão (JPA)
      */
@@ -56,9 +102,9 @@ public class Product implements Serializable {
      * Construtor com parâmetros básicos do produto.
      * Observação: O ID não é incluído pois é gerado automaticamente.
      */
-    public Product(String imgUrl, Double price, String description, String name) {
+    public Product(String imgUrl, long priceCents, String description, String name) {
         this.imgUrl = imgUrl;
-        this.price = price;
+        this.priceCents = priceCents;
         this.description = description;
         this.name = name;
     }
@@ -82,11 +128,18 @@ public class Product implements Serializable {
     public void setDescription(String description) {
         this.description = description;
     }
-    public Double getPrice() {
-        return price;
+    /**
+     * Preço em decimal (ex: 90.50), usado na serialização JSON
+     */
+    public BigDecimal getPrice() {
+        return Money.toDecimal(priceCents);
     }
-    public void setPrice(Double price) {
-        this.price = price;
+    @JsonIgnore
+    public long getPriceCents() {
+        return priceCents;
+    }
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
     }
     public String getImgUrl() {
         return imgUrl;
@@ -94,6 +147,13 @@ public class Product implements Serializable {
     public void setImgUrl(String imgUrl) {
         this.imgUrl = imgUrl;
     }
+    @JsonIgnore
+    public Integer getStock() {
+        return stock;
+    }
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
 
     /**
      * Retorna as categorias associadas a este produto
@@ -117,6 +177,15 @@ public class Product implements Serializable {
         return set;
     }
 
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+    @JsonIgnore
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
     // Equals e hash code
     @Override
     public boolean equals(Object o) {
@@ -2,7 +2,10 @@ package com.alvaropaiva.SistemaDePedidos.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -34,6 +37,25 @@ public class User implements Serializable {
     @OneToMany(mappedBy = "client")  // Relacionamento com a entidade Order
     private List<Order> orders = new ArrayList<>();  // Lista de pedidos associados a esse usuário
 
+    /**
+     * Versão (controle otimista de concorrência e base do ETag, ver
+     * {@link com.alvaropaiva.SistemaDePedidos.dto.VersionStamp}).
+     * Usuários importados via JDBC começam com o valor padrão da coluna (0).
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Momento da última alteração (cabeçalho Last-Modified); CURRENT_TIMESTAMP nas linhas
+     * inseridas via JDBC
+     */
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false)
+    private Instant lastModified;
+
     /**
      * Construtor padrão (necessário para o JPA)
      */
@@ -95,6 +117,15 @@ public class User implements Serializable {
         return orders;
     }
 
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+    @JsonIgnore
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
     // Equals e hashcode
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,60 @@
+package com.alvaropaiva.SistemaDePedidos.entities.enums;
+
+/**
+ * Enum que representa os tipos de evento do ciclo de vida de um pedido publicados pelo outbox
+ * ({@link com.alvaropaiva.SistemaDePedidos.services.OrderEventOutbox}).
+ *
+ * Cada tipo possui um código numérico associado para armazenamento no banco de dados:
+ *
+ * 1 - CRIADO (CREATED): pedido gravado, com o status inicial
+ * 2 - PAGO (PAID): pagamento registrado (na criação ou na transição para PAID)
+ * 3 - STATUS ALTERADO (STATUS_CHANGED): transição para SHIPPED, DELIVERED ou CANCELED
+ */
+public enum OrderEventType {
+
+    CREATED(1),
+    PAID(2),
+    STATUS_CHANGED(3);
+
+    private int code;
+
+    /**
+     * Construtor do enum
+     * @param code Código numérico associado ao tipo
+     */
+    private OrderEventType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Retorna o código numérico do tipo
+     * @return int código para armazenamento
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Tipo do evento de uma transição de status já gravada.
+     * @param status Novo status do pedido
+     * @return PAID para a transição para PAID (que registra o pagamento), senão STATUS_CHANGED
+     */
+    public static OrderEventType ofTransitionTo(OrderStatus status) {
+        return status == OrderStatus.PAID ? PAID : STATUS_CHANGED;
+    }
+
+    /**
+     * Converte um código numérico para o enum correspondente
+     * @param code Código a ser convertido
+     * @return OrderEventType enum correspondente
+     * @throws IllegalArgumentException Se o código não corresponder a nenhum tipo
+     */
+    public static OrderEventType valueOf(int code) {
+        for (OrderEventType value : OrderEventType.values()) {
+            if (value.getCode() == code) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Código de OrderEventType inválido");
+    }
+}
@@ -1,5 +1,7 @@
 package com.alvaropaiva.SistemaDePedidos.entities.enums;
 
+import java.util.EnumSet;
+
 /**
  * Enum que representa os possíveis status de um pedido (Order) no sistema.
  *
@@ -13,6 +15,12 @@ package com.alvaropaiva.SistemaDePedidos.entities.enums;
  * 5 - CANCELADO (CANCELED)
  *
  * A ordem dos valores reflete o fluxo normal do ciclo de vida de um pedido.
+ *
+ * Transições permitidas (máquina de estados):
+ * - WAITING_PAYMENT → PAID, CANCELED
+ * - PAID → SHIPPED, CANCELED
+ * - SHIPPED → DELIVERED
+ * - DELIVERED e CANCELED são estados finais
  */
 public enum OrderStatus {
     WAITING_PAYMENT(1),
@@ -23,6 +31,17 @@ public enum OrderStatus {
 
     private int code;
 
+    /**
+     * Tabela de conversão código → status, indexada pelo código (posição 0 não utilizada).
+     */
+    private static final OrderStatus[] BY_CODE = new OrderStatus[6];
+
+    static {
+        for (OrderStatus value : values()) {
+            BY_CODE[value.code] = value;
+        }
+    }
+
     /**
      * Construtor do enum
      * @param code Código numérico associado ao status
@@ -46,11 +65,42 @@ public enum OrderStatus {
      * @throws IllegalArgumentException Se o código não corresponder a nenhum status
      */
     public static OrderStatus valueOf(int code) {
-        for (OrderStatus value : OrderStatus.values()) {
-            if (value.getCode() == code) {
-                return value;
-            }
+        if (code > 0 && code < BY_CODE.length) {
+            return BY_CODE[code];
         }
         throw new IllegalArgumentException("Código de OrderStatus inválido");
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifica se a transição deste status para o status informado é permitida.
+     * @param next Status de destino
+     * @return true se a transição for válida
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        switch (this) {
+            case WAITING_PAYMENT:
+                return next == PAID || next == CANCELED;
+            case PAID:
+                return next == SHIPPED || next == CANCELED;
+            case SHIPPED:
+                return next == DELIVERED;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Retorna os status a partir dos quais é permitido chegar ao status informado.
+     * @param next Status de destino
+     * @return Conjunto (possivelmente vazio) de status de origem
+     */
+    public static EnumSet<OrderStatus> predecessorsOf(OrderStatus next) {
+        EnumSet<OrderStatus> set = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus value : values()) {
+            if (value.canTransitionTo(next)) {
+                set.add(value);
+            }
+        }
+        return set;
+    }
+}
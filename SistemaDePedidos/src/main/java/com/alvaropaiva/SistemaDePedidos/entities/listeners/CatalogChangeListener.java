@@ -0,0 +1,55 @@
+package com.alvaropaiva.SistemaDePedidos.entities.listeners;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.services.CatalogCacheInvalidator;
+import com.alvaropaiva.SistemaDePedidos.services.ProductSearchService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+/**
+ * Listener JPA que invalida o cache do catálogo sempre que um {@link Product}
+ * ou uma {@link Category} é inserido, alterado ou removido, e mantém o índice
+ * de busca de produtos ({@link ProductSearchService}) atualizado.
+ *
+ * Instanciado pelo Hibernate através do contêiner de beans do Spring, o que permite
+ * a injeção de {@link CatalogCacheInvalidator} e {@link ProductSearchService}.
+ */
+public class CatalogChangeListener {
+
+    @Lazy
+    @Autowired
+    private CatalogCacheInvalidator invalidator;
+
+    @Lazy
+    @Autowired
+    private ProductSearchService searchService;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        invalidate(entity);
+        if (entity instanceof Product product) {
+            searchService.productSaved(product);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        invalidate(entity);
+        if (entity instanceof Product product) {
+            searchService.productRemoved(product.getId());
+        }
+    }
+
+    private void invalidate(Object entity) {
+        if (entity instanceof Product product) {
+            invalidator.productChanged(product.getId());
+        } else if (entity instanceof Category category) {
+            invalidator.categoryChanged(category.getId());
+        }
+    }
+}
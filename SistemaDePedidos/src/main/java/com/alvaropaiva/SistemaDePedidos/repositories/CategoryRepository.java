@@ -1,7 +1,15 @@
 package com.alvaropaiva.SistemaDePedidos.repositories;
 
 import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 /**
  * Repositório para operações de persistência da entidade {@link Category}.
@@ -31,4 +39,26 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     // Spring Data JPA implementará automaticamente os métodos básicos
     // Exemplo de método customizado:
     // List<Category> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Lista todas as categorias. O resultado (ids) fica no cache de consultas do Hibernate e as
+     * categorias no cache de segundo nível; escritas JPA em tb_category invalidam a consulta.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
+    /**
+     * Versões de todas as categorias (ETag de GET /categories), sem carregar entidades.
+     */
+    @Query("SELECT 'category' AS kind, obj.id AS id, obj.version AS version, obj.lastModified AS lastModified FROM Category obj")
+    List<RowVersion> findAllVersions();
+
+    /**
+     * Versão de uma categoria (vazio se não existir).
+     * @param id Identificador da categoria
+     */
+    @Query("SELECT 'category' AS kind, obj.id AS id, obj.version AS version, obj.lastModified AS lastModified "
+            + "FROM Category obj WHERE obj.id = :id")
+    List<RowVersion> findVersionsById(@Param("id") Long id);
 }
\ No newline at end of file
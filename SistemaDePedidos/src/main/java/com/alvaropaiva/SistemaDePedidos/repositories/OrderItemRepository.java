@@ -1,7 +1,14 @@
 package com.alvaropaiva.SistemaDePedidos.repositories;
 
 import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 /**
  * Repositório para operações de persistência da entidade {@link OrderItem}.
@@ -38,4 +45,16 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     // Implementação automática dos métodos básicos
     // Observação: Operações por ID usam Long, não OrderItemPK
     // Para buscas pela chave composta, métodos customizados são necessários
+
+    /**
+     * Busca um item pela chave composta (pedido + produto).
+     * Não faz o flush automático antes da consulta: se o item já está no contexto de persistência,
+     * a instância gerenciada é retornada sem que alterações pendentes sejam gravadas (e sem que
+     * {@link OrderItem#getStoredSubTotalCents()} passe a refleti-las).
+     * @param orderId Identificador do pedido
+     * @param productId Identificador do produto
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT obj FROM OrderItem obj WHERE obj.id.order.id = :orderId AND obj.id.product.id = :productId")
+    Optional<OrderItem> findByOrderIdAndProductId(@Param("orderId") Long orderId, @Param("productId") Long productId);
 }
\ No newline at end of file
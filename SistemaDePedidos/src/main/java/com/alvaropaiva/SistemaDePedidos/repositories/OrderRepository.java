@@ -1,7 +1,25 @@
 package com.alvaropaiva.SistemaDePedidos.repositories;
 
+import com.alvaropaiva.SistemaDePedidos.dto.OrderSummaryDTO;
 import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.DailyCount;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.StatusCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações de persistência da entidade {@link Order}.
@@ -36,4 +54,195 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface OrderRepository extends JpaRepository<Order, Long> {
     // Implementação automática dos métodos básicos pelo Spring Data JPA
     // Métodos de consulta derivados podem ser adicionados seguindo as convenções de nomenclatura
-}
\ No newline at end of file
+
+    /**
+     * Consulta "seek" para paginação por cursor: retorna os registros com id maior que
+     * {@code after}, em ordem crescente de id, limitados a {@code limit} linhas.
+     * O custo independe da profundidade da página (usa o índice da chave primária, sem OFFSET).
+     * @param after Último id da página anterior (0 para a primeira página)
+     * @param limit Quantidade máxima de registros
+     * @apiNote Projeção: um único SELECT com o nome do cliente (LEFT JOIN) e o total já gravado
+     *          no pedido, sem itens e pagamento
+     */
+    @Query("SELECT new com.alvaropaiva.SistemaDePedidos.dto.OrderSummaryDTO("
+            + "obj.id, c.name, obj.orderStatus, obj.moment, obj.totalCents) "
+            + "FROM Order obj LEFT JOIN obj.client c WHERE obj.id > :after ORDER BY obj.id")
+    List<OrderSummaryDTO> findSummaries(@Param("after") Long after, Limit limit);
+
+    /**
+     * Carrega um pedido com cliente, pagamento e itens em um único SELECT com fetch joins.
+     * Os produtos dos itens (e suas categorias) não entram no join: são resolvidos pelo
+     * cache de segundo nível, e apenas os ausentes são lidos do banco.
+     * @param id Identificador do pedido
+     * @return Pedido com cliente, pagamento e itens inicializados
+     */
+    @Query("SELECT DISTINCT obj FROM Order obj "
+            + "LEFT JOIN FETCH obj.client "
+            + "LEFT JOIN FETCH obj.payment "
+            + "LEFT JOIN FETCH obj.items "
+            + "WHERE obj.id = :id")
+    Optional<Order> findWithDetailsById(@Param("id") Long id);
+
+    /**
+     * Versões das linhas exibidas em GET /orders/{id}: o pedido, o cliente, os produtos dos itens
+     * e as categorias desses produtos (vazio se o pedido não existir). Itens e pagamento não têm
+     * versão própria: suas alterações passam pelos UPDATEs deste repositório, que incrementam a
+     * versão do pedido.
+     * @param id Identificador do pedido
+     */
+    @Query("SELECT 'order' AS kind, obj.id AS id, obj.version AS version, obj.lastModified AS lastModified "
+            + "FROM Order obj WHERE obj.id = :id "
+            + "UNION ALL SELECT 'user', c.id, c.version, c.lastModified FROM Order obj JOIN obj.client c WHERE obj.id = :id "
+            + "UNION ALL SELECT DISTINCT 'product', p.id, p.version, p.lastModified FROM OrderItem i JOIN i.id.product p "
+            + "WHERE i.id.order.id = :id "
+            + "UNION ALL SELECT DISTINCT 'category', cat.id, cat.version, cat.lastModified FROM OrderItem i JOIN i.id.product p "
+            + "JOIN p.categories cat WHERE i.id.order.id = :id")
+    List<RowVersion> findVersionsById(@Param("id") Long id);
+
+    /**
+     * Inicializa, em um único SELECT, os itens de um lote de pedidos já gerenciados pelo
+     * contexto de persistência. Os produtos referenciados vêm do cache de segundo nível;
+     * os ausentes são carregados juntos em um SELECT (IN) por lote.
+     * @param orders Pedidos de uma página
+     * @return Os mesmos pedidos com a coleção de itens inicializada
+     */
+    @Query("SELECT DISTINCT obj FROM Order obj "
+            + "LEFT JOIN FETCH obj.items "
+            + "WHERE obj IN :orders")
+    List<Order> fetchItems(@Param("orders") Collection<Order> orders);
+
+    /**
+     * Percorre todos os pedidos em ordem de id usando um cursor JDBC (scroll), sem materializar
+     * a tabela em memória. Cliente e pagamento vêm no mesmo SELECT; os itens devem ser
+     * carregados por lote via {@link #fetchItems(Collection)}.
+     * @return Stream que deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT obj FROM Order obj LEFT JOIN FETCH obj.client LEFT JOIN FETCH obj.payment ORDER BY obj.id")
+    Stream<Order> streamAll();
+
+    /**
+     * Ajusta incrementalmente o total persistido de um pedido, sem carregar a entidade nem os itens.
+     * @param id Identificador do pedido
+     * @param delta Diferença em centavos a ser somada ao total (negativa em remoções)
+     * @return Quantidade de linhas atualizadas (0 se o pedido não existir)
+     * @apiNote O UPDATE não passa pelo contexto de persistência: as alterações pendentes são gravadas
+     *          antes e o contexto é limpo depois, para que um Order já carregado na transação não
+     *          continue com o total e a versão anteriores (nem os regrave no flush).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order obj SET obj.totalCents = obj.totalCents + :delta, "
+            + "obj.version = obj.version + 1, obj.lastModified = INSTANT WHERE obj.id = :id")
+    int incrementTotal(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Localiza, dentro de uma faixa de ids, os pedidos cujo total persistido diverge
+     * da soma recalculada dos itens em "tb_order_item" (comparação exata, em centavos).
+     * @param after Limite inferior exclusivo da faixa de ids
+     * @param to Limite superior inclusivo da faixa de ids
+     * @return Ids dos pedidos com total divergente
+     */
+    @Query("SELECT obj.id FROM Order obj WHERE obj.id > :after AND obj.id <= :to AND "
+            + "obj.totalCents <> "
+            + "(SELECT COALESCE(SUM(i.priceCents * i.quantity), 0) FROM OrderItem i WHERE i.id.order = obj)")
+    List<Long> findIdsWithTotalDrift(@Param("after") Long after, @Param("to") Long to);
+
+    /**
+     * Recalcula em massa, a partir dos itens, o total persistido dos pedidos informados.
+     * @param ids Pedidos a corrigir
+     * @return Quantidade de linhas atualizadas
+     */
+    @Modifying
+    @Query("UPDATE Order obj SET obj.totalCents = "
+            + "(SELECT COALESCE(SUM(i.priceCents * i.quantity), 0) FROM OrderItem i WHERE i.id.order.id = obj.id), "
+            + "obj.version = obj.version + 1, obj.lastModified = INSTANT "
+            + "WHERE obj.id IN :ids")
+    int recalculateTotals(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retorna o maior id de pedido (limite superior das varreduras por faixa).
+     */
+    @Query("SELECT COALESCE(MAX(obj.id), 0) FROM Order obj")
+    Long findMaxId();
+
+    /**
+     * Retorna os pedidos mais recentes (por momento), com cliente e pagamento no mesmo SELECT.
+     * @param limit Quantidade máxima de pedidos
+     */
+    @EntityGraph(attributePaths = {"client", "payment"})
+    List<Order> findAllByOrderByMomentDescIdDesc(Limit limit);
+
+    /**
+     * Conta os pedidos agrupados por status (GROUP BY), sem carregar entidades.
+     */
+    @Query("SELECT obj.orderStatus AS status, COUNT(obj) AS total FROM Order obj GROUP BY obj.orderStatus")
+    List<StatusCount> countByStatus();
+
+    /**
+     * Conta os pedidos por dia (UTC) dentro de um intervalo de momentos.
+     * O dia é calculado a partir do epoch (segundos desde 1970-01-01T00:00Z / 86400): um CAST do
+     * momento para data usaria o fuso horário da sessão do banco.
+     * @param from Início do intervalo (inclusivo)
+     * @param to Fim do intervalo (exclusivo)
+     */
+    @Query("SELECT CAST(FLOOR(EXTRACT(EPOCH FROM obj.moment) / 86400) AS Long) AS epochDay, COUNT(obj) AS total "
+            + "FROM Order obj WHERE obj.moment >= :from AND obj.moment < :to "
+            + "GROUP BY CAST(FLOOR(EXTRACT(EPOCH FROM obj.moment) / 86400) AS Long) ORDER BY epochDay")
+    List<DailyCount> countByDay(@Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Altera o status de um pedido com um único UPDATE condicional, sem carregar a entidade.
+     * A alteração só ocorre se o status atual estiver entre os permitidos.
+     * @param id Identificador do pedido
+     * @param to Código do novo status
+     * @param from Códigos de status a partir dos quais a transição é permitida
+     * @return 1 se o status foi alterado, 0 caso contrário (pedido inexistente ou status não permitido)
+     */
+    @Modifying
+    @Query("UPDATE Order obj SET obj.orderStatus = :to, obj.version = obj.version + 1, "
+            + "obj.lastModified = INSTANT WHERE obj.id = :id AND obj.orderStatus IN :from")
+    int updateStatus(@Param("id") Long id, @Param("to") Integer to, @Param("from") Collection<Integer> from);
+
+    /**
+     * Altera em massa o status dos pedidos informados que estejam em um dos status permitidos.
+     * @param ids Pedidos a alterar
+     * @param to Código do novo status
+     * @param from Códigos de status a partir dos quais a transição é permitida
+     * @return Quantidade de pedidos alterados
+     */
+    @Modifying
+    @Query("UPDATE Order obj SET obj.orderStatus = :to, obj.version = obj.version + 1, "
+            + "obj.lastModified = INSTANT WHERE obj.id IN :ids AND obj.orderStatus IN :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("to") Integer to, @Param("from") Collection<Integer> from);
+
+    /**
+     * Retorna apenas o código de status de um pedido (sem carregar a entidade).
+     * @param id Identificador do pedido
+     */
+    @Query("SELECT obj.orderStatus FROM Order obj WHERE obj.id = :id")
+    Optional<Integer> findStatusById(@Param("id") Long id);
+
+    /**
+     * Dentre os ids informados, retorna os dos pedidos que estão no status indicado.
+     */
+    @Query("SELECT obj.id FROM Order obj WHERE obj.id IN :ids AND obj.orderStatus = :status")
+    List<Long> findIdsInStatus(@Param("ids") Collection<Long> ids, @Param("status") Integer status);
+
+    /**
+     * Registra o pagamento dos pedidos informados que estão pagos (PAID) e ainda não possuem pagamento.
+     * @param ids Pedidos recém-alterados para PAID
+     * @param moment Momento do pagamento
+     * @return Quantidade de pagamentos criados
+     * @apiNote O espaço de consulta (tb_payment) é declarado para que o Hibernate invalide apenas a região
+     *          de pagamentos do cache de segundo nível; sem ele, um INSERT nativo invalida todas as regiões
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_payment"))
+    @Query(value = "INSERT INTO tb_payment (order_id, moment) SELECT o.id, :moment FROM tb_order o "
+            + "WHERE o.id IN (:ids) AND o.order_status = 2 "
+            + "AND NOT EXISTS (SELECT 1 FROM tb_payment p WHERE p.order_id = o.id)", nativeQuery = true)
+    int createMissingPayments(@Param("ids") Collection<Long> ids, @Param("moment") Instant moment);
+}
@@ -1,7 +1,19 @@
 package com.alvaropaiva.SistemaDePedidos.repositories;
 
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
 import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repositório para operações de persistência da entidade {@link Product}.
@@ -35,4 +47,56 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface ProductRepository extends JpaRepository<Product, Long> {
     // Implementação automática dos métodos básicos pelo Spring Data JPA
     // Métodos de consulta derivados podem ser adicionados conforme necessidade
+
+    /**
+     * Consulta "seek" para paginação por cursor: retorna os registros com id maior que
+     * {@code after}, em ordem crescente de id, limitados a {@code limit} linhas.
+     * O custo independe da profundidade da página (usa o índice da chave primária, sem OFFSET).
+     * @param after Último id da página anterior (0 para a primeira página)
+     * @param limit Quantidade máxima de registros
+     * @apiNote Projeção: seleciona apenas as colunas do resumo (sem estoque e categorias),
+     *          sem instanciar entidades nem passar pelo cache de segundo nível
+     */
+    @Query("SELECT new com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO("
+            + "obj.id, obj.name, obj.description, obj.priceCents, obj.imgUrl, obj.version, obj.lastModified) "
+            + "FROM Product obj WHERE obj.id > :after ORDER BY obj.id")
+    List<ProductSummaryDTO> findSummaries(@Param("after") Long after, Limit limit);
+
+    /**
+     * Versões das mesmas linhas de {@link #findSummaries(Long, Limit)}, para o ETag da página.
+     */
+    @Query("SELECT 'product' AS kind, obj.id AS id, obj.version AS version, obj.lastModified AS lastModified "
+            + "FROM Product obj WHERE obj.id > :after ORDER BY obj.id")
+    List<RowVersion> findVersions(@Param("after") Long after, Limit limit);
+
+    /**
+     * Versões do produto e de suas categorias (incorporadas no JSON), vazio se o produto não existir.
+     * @param id Identificador do produto
+     */
+    @Query("SELECT 'product' AS kind, obj.id AS id, obj.version AS version, obj.lastModified AS lastModified "
+            + "FROM Product obj WHERE obj.id = :id "
+            + "UNION ALL SELECT 'category', c.id, c.version, c.lastModified FROM Product obj JOIN obj.categories c WHERE obj.id = :id")
+    List<RowVersion> findVersionsById(@Param("id") Long id);
+
+    /**
+     * Inicializa as categorias de um lote de produtos já gerenciados pelo contexto de persistência.
+     * Cada coleção vem do cache de segundo nível (região catalog.productCategories); as ausentes
+     * são carregadas juntas em um único SELECT (IN), conforme hibernate.default_batch_fetch_size.
+     * @param products Produtos cujas categorias serão carregadas
+     */
+    default void initializeCategories(Collection<Product> products) {
+        for (Product product : products) {
+            Hibernate.initialize(product.getCategories());
+        }
+    }
+
+    /**
+     * Lista os produtos associados a uma categoria, em ordem de ID.
+     * O resultado (ids) fica no cache de consultas do Hibernate, invalidado por escritas
+     * JPA em tb_products, tb_category ou tb_product_category.
+     * @param categoryId Identificador da categoria
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT obj FROM Product obj JOIN obj.categories c WHERE c.id = :categoryId ORDER BY obj.id")
+    List<Product> findByCategoryId(@Param("categoryId") Long categoryId);
 }
\ No newline at end of file
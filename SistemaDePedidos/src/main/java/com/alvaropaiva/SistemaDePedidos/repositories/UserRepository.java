@@ -1,7 +1,15 @@
 package com.alvaropaiva.SistemaDePedidos.repositories;
 
+import com.alvaropaiva.SistemaDePedidos.dto.UserSummaryDTO;
 import com.alvaropaiva.SistemaDePedidos.entities.User;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repositório para operações de persistência relacionadas à entidade {@link User}.
@@ -28,4 +36,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Spring Data JPA implementará automaticamente os métodos básicos
     // Métodos de consulta customizados podem ser adicionados aqui seguindo a convenção de nomes
     // Exemplo: User findByEmail(String email);
+
+    /**
+     * Consulta "seek" para paginação por cursor: retorna os registros com id maior que
+     * {@code after}, em ordem crescente de id, limitados a {@code limit} linhas.
+     * O custo independe da profundidade da página (usa o índice da chave primária, sem OFFSET).
+     * @param after Último id da página anterior (0 para a primeira página)
+     * @param limit Quantidade máxima de registros
+     * @apiNote Projeção: seleciona apenas id, nome e e-mail, sem instanciar entidades
+     */
+    @Query("SELECT new com.alvaropaiva.SistemaDePedidos.dto.UserSummaryDTO(obj.id, obj.name, obj.email) "
+            + "FROM User obj WHERE obj.id > :after ORDER BY obj.id")
+    List<UserSummaryDTO> findSummaries(@Param("after") Long after, Limit limit);
+
+    /**
+     * Retorna, dentre os ids informados, os que existem (um único SELECT com IN, sem carregar entidades).
+     * @param ids Ids a verificar
+     */
+    @Query("SELECT obj.id FROM User obj WHERE obj.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Versão de um usuário (vazio se não existir), sem carregar a entidade.
+     * @param id Identificador do usuário
+     */
+    @Query("SELECT 'user' AS kind, obj.id AS id, obj.version AS version, obj.lastModified AS lastModified "
+            + "FROM User obj WHERE obj.id = :id")
+    List<RowVersion> findVersionsById(@Param("id") Long id);
 }
\ No newline at end of file
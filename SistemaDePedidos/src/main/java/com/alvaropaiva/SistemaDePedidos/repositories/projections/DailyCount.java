@@ -0,0 +1,17 @@
+package com.alvaropaiva.SistemaDePedidos.repositories.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de agregação: quantidade de pedidos por dia (UTC).
+ *
+ * Preenchida pelo Spring Data a partir dos aliases "epochDay" (dias desde 1970-01-01) e "total" da consulta.
+ */
+public interface DailyCount {
+    Long getEpochDay();
+    Long getTotal();
+
+    default LocalDate getDay() {
+        return LocalDate.ofEpochDay(getEpochDay());
+    }
+}
@@ -0,0 +1,23 @@
+package com.alvaropaiva.SistemaDePedidos.repositories.projections;
+
+import java.time.Instant;
+
+/**
+ * Projeção de versão: tipo, id, versão e momento da última alteração de uma linha.
+ *
+ * Preenchida pelo Spring Data a partir dos aliases "kind", "id", "version" e "lastModified" da consulta,
+ * sem carregar a entidade; usada para responder GETs condicionais (ETag / Last-Modified).
+ * O tipo distingue linhas de tabelas diferentes com o mesmo id e versão (ex.: pedido 1 e produto 1);
+ * as consultas usam os mesmos literais das constantes abaixo.
+ */
+public interface RowVersion {
+    String ORDER = "order";
+    String USER = "user";
+    String PRODUCT = "product";
+    String CATEGORY = "category";
+
+    String getKind();
+    Long getId();
+    Long getVersion();
+    Instant getLastModified();
+}
@@ -0,0 +1,11 @@
+package com.alvaropaiva.SistemaDePedidos.repositories.projections;
+
+/**
+ * Projeção de agregação: quantidade de pedidos por código de status.
+ *
+ * Preenchida pelo Spring Data a partir dos aliases "status" e "total" da consulta.
+ */
+public interface StatusCount {
+    Integer getStatus();
+    Long getTotal();
+}
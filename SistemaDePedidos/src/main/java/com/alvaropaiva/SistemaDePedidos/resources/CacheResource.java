@@ -0,0 +1,38 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.dto.CacheStatsDTO;
+import com.alvaropaiva.SistemaDePedidos.services.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller REST para observação do cache em memória.
+ * Todas as rotas são mapeadas para o caminho base "/caches".
+ *
+ * Endpoints disponíveis:
+ * - GET /caches/stats → Estatísticas de acerto/erro/evicção por região
+ */
+@RestController
+@RequestMapping(value="/caches")
+public class CacheResource {
+
+    @Autowired
+    private CacheStatsService service;
+    /**
+     * Retorna as estatísticas de cada região de cache.
+     * @return ResponseEntity contendo:
+     *         - Lista de estatísticas (vazia se o cache estiver desativado)
+     *         - Status HTTP 200 (OK)
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<List<CacheStatsDTO>> stats(){
+        List<CacheStatsDTO> list = service.getStats();
+        return ResponseEntity.ok().body(list);
+    }
+
+}
@@ -1,15 +1,24 @@
 package com.alvaropaiva.SistemaDePedidos.resources;
 
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
 import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
 import com.alvaropaiva.SistemaDePedidos.services.CategoryService;
+import com.alvaropaiva.SistemaDePedidos.services.ProductService;
+import com.alvaropaiva.SistemaDePedidos.services.ResponseCacheService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Set;
 /**
  * Controller REST para operações relacionadas a categorias.
  *
@@ -19,6 +28,7 @@ import java.util.List;
  * Endpoints disponíveis:
  * - GET /categories → Lista todas as categorias
  * - GET /categories/{id} → Busca uma categoria específica por ID
+ * - GET /categories/{id}/products → Lista os produtos de uma categoria
  *
  * Integra-se com {@link CategoryService} para processamento da lógica de negócio.
  *
@@ -37,30 +47,63 @@ public class CategoryResource {
 
     @Autowired
     private CategoryService service;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ResponseCacheService responseCache;
     /**
      * Endpoint para listar todas as categorias cadastradas.
+     * Servido do cache de respostas ({@link ResponseCacheService}), já serializado no formato negociado.
+     * @param request Requisição (Accept, If-None-Match / If-Modified-Since)
      * @return ResponseEntity contendo:
      *         - Lista de categorias no corpo da resposta
-     *         - Status HTTP 200 (OK) em caso de sucesso
+     *         - Status HTTP 200 (OK) em caso de sucesso, com ETag e Last-Modified da lista
+     *         - Status HTTP 304 (Not Modified) se If-None-Match / If-Modified-Since corresponder
+     *           à versão em cache, respondido sem consultar o banco
      *         - Status HTTP 404 (Not Found) se não houver categorias
      */
     @GetMapping
-    public ResponseEntity<List> findAll(){
-        List<Category> list = service.findALl();
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<byte[]> findAll(HttpServletRequest request) throws HttpMediaTypeNotAcceptableException {
+        return responseCache.get(request, () -> {
+            List<Category> list = service.findALl();
+            return new ResponseCacheService.Source(list, service.versionOf(list), Set.of(ResponseCacheService.CATEGORIES));
+        });
     }
     /**
      * Endpoint para buscar uma categoria por ID.
      * @param id Identificador único da categoria (path variable)
+     * @param headers Cabeçalhos da requisição (If-None-Match / If-Modified-Since)
      * @return ResponseEntity contendo:
      *         - Categoria encontrada no corpo da resposta
-     *         - Status HTTP 200 (OK) em caso de sucesso
+     *         - Status HTTP 200 (OK) em caso de sucesso, com ETag e Last-Modified
+     *         - Status HTTP 304 (Not Modified) se If-None-Match / If-Modified-Since corresponder
+     *           à versão atual, respondido sem carregar a categoria nem serializar
      *         - Status HTTP 404 (Not Found) se o ID não existir
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Category> findById(@PathVariable Long id){
+    public ResponseEntity<Category> findById(@PathVariable Long id, @RequestHeader HttpHeaders headers){
+        VersionStamp current = service.findVersion(id);
+        if (current.isNotModified(headers)) {
+            return current.notModified();
+        }
         Category obj = service.findById(id);
-        return ResponseEntity.ok().body(obj);
+        return service.versionOf(List.of(obj)).ok(obj);
+    }
+    /**
+     * Endpoint para listar os produtos de uma categoria.
+     * @param id Identificador único da categoria (path variable)
+     * @return ResponseEntity contendo:
+     *         - Lista de produtos da categoria (pode ser vazia)
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 404 (Not Found) se a categoria não existir
+     */
+    @GetMapping(value = "/{id}/products")
+    public ResponseEntity<List<Product>> findProducts(@PathVariable Long id){
+        service.findById(id);
+        List<Product> list = productService.findByCategory(id);
+        return ResponseEntity.ok().body(list);
     }
 
 }
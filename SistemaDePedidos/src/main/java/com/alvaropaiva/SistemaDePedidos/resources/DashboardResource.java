@@ -0,0 +1,41 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.dto.DashboardStatsDTO;
+import com.alvaropaiva.SistemaDePedidos.services.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para as estatísticas do dashboard.
+ * Todas as rotas são mapeadas para o caminho base "/dashboard".
+ *
+ * Endpoints disponíveis:
+ * - GET /dashboard/stats?days={n} → Contagens de pedidos por status e por dia
+ *
+ * Integra-se com {@link DashboardService}, que calcula as métricas no banco
+ * (a resposta tem poucas centenas de bytes, independentemente do volume de pedidos).
+ */
+@RestController
+@RequestMapping(value="/dashboard")
+public class DashboardResource {
+
+    @Autowired
+    private DashboardService service;
+    /**
+     * Retorna as estatísticas agregadas de pedidos.
+     * @param days Quantidade de dias da série diária (padrão 7, máximo 366)
+     * @return ResponseEntity contendo:
+     *         - Estatísticas do dashboard
+     *         - Status HTTP 200 (OK)
+     */
+    @GetMapping(value = "/stats")
+    public ResponseEntity<DashboardStatsDTO> stats(@RequestParam(required = false) Integer days){
+        DashboardStatsDTO obj = service.getStats(days);
+        return ResponseEntity.ok().body(obj);
+    }
+
+}
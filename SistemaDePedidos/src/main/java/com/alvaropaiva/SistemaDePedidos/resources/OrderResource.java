@@ -1,13 +1,32 @@
 package com.alvaropaiva.SistemaDePedidos.resources;
 
+import com.alvaropaiva.SistemaDePedidos.dto.CursorPage;
+import com.alvaropaiva.SistemaDePedidos.dto.NewOrderDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderBatchResultDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderStatusBulkResultDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderStatusUpdateDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
 import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.services.OrderBatchService;
 import com.alvaropaiva.SistemaDePedidos.services.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
 import java.util.List;
 /**
  * Controller REST para operações com pedidos.
@@ -16,8 +35,18 @@ import java.util.List;
  * Todas as rotas são mapeadas para o caminho base "/orders".
  *
  * Endpoints disponíveis:
- * - GET /orders → Lista todos os pedidos
+ * - GET /orders?after={cursor}&limit={n} → Lista paginada (por cursor) de pedidos
  * - GET /orders/{id} → Busca pedido por ID (com itens e cliente)
+ * - GET /orders/recent?limit={n} → Lista os pedidos mais recentes
+ * - GET /orders/export → Exporta todos os pedidos em NDJSON (streaming)
+ * - PATCH /orders/{id}/status → Altera o status do pedido (máquina de estados de OrderStatus)
+ * - PATCH /orders/status → Altera o status de vários pedidos de uma vez
+ * - POST /orders/{id}/cancel → Cancela o pedido e devolve o estoque
+ * - POST /orders/batch → Cria vários pedidos (com itens e pagamento) em uma transação
+ *
+ * Formatos (Accept): application/json (padrão), application/x-jackson-smile e application/cbor
+ * (mesma estrutura; ver {@link com.alvaropaiva.SistemaDePedidos.config.BinaryFormatConfig}),
+ * com compressão br/gzip conforme Accept-Encoding.
  *
  * Estrutura completa de um pedido (JSON):
  * {
@@ -49,29 +78,121 @@ public class OrderResource {
 
     @Autowired
     private OrderService service;
+
+    @Autowired
+    private OrderBatchService batchService;
     /**
-     * Lista todos os pedidos do sistema.
+     * Lista os pedidos do sistema com paginação por cursor.
+     * @param after Cursor opaco retornado em "nextCursor" pela página anterior (omitir na primeira página)
+     * @param limit Tamanho da página (padrão 20, máximo 100)
      * @return ResponseEntity contendo:
-     *         - Lista de pedidos com dados resumidos
+     *         - Página com o resumo dos pedidos e cursor da próxima página (null na última)
      *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se o cursor for inválido
      */
     @GetMapping
-    public ResponseEntity<List> findAll(){
-        List<Order> list = service.findALl();
+    public ResponseEntity<CursorPage<OrderSummaryDTO>> findAll(@RequestParam(required = false) String after,
+                                                     @RequestParam(required = false) Integer limit){
+        CursorPage<OrderSummaryDTO> page = service.findPage(after, limit);
+        return ResponseEntity.ok().body(page);
+    }
+    /**
+     * Lista os pedidos mais recentes (por momento do pedido).
+     * @param limit Quantidade de pedidos (padrão 20, máximo 100)
+     * @return ResponseEntity contendo:
+     *         - Lista dos pedidos mais recentes
+     *         - Status HTTP 200 (OK)
+     */
+    @GetMapping(value = "/recent")
+    public ResponseEntity<List<Order>> findRecent(@RequestParam(required = false) Integer limit){
+        List<Order> list = service.findRecent(limit);
         return ResponseEntity.ok().body(list);
     }
     /**
      * Busca um pedido completo por ID.
      * @param id Identificador único do pedido
+     * @param headers Cabeçalhos da requisição (If-None-Match / If-Modified-Since)
      * @return ResponseEntity contendo:
      *         - Pedido com todos os relacionamentos (itens, cliente, pagamento)
-     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 200 (OK), com ETag e Last-Modified (pedido, cliente, produtos e categorias)
+     *         - Status HTTP 304 (Not Modified) se If-None-Match / If-Modified-Since corresponder
+     *           à versão atual, respondido sem carregar o pedido nem serializar
      *         - Status HTTP 404 se não encontrado
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Order> findById(@PathVariable Long id){
+    public ResponseEntity<Order> findById(@PathVariable Long id, @RequestHeader HttpHeaders headers){
+        VersionStamp current = service.findVersion(id);
+        if (current.isNotModified(headers)) {
+            return current.notModified();
+        }
         Order obj = service.findById(id);
-        return ResponseEntity.ok().body(obj);
+        return service.versionOf(obj).ok(obj);
+    }
+    /**
+     * Exporta todos os pedidos em NDJSON (application/x-ndjson), um pedido por linha,
+     * transmitindo o resultado diretamente na resposta com memória constante.
+     * @param response Resposta HTTP na qual as linhas são escritas
+     * @throws IOException Se a escrita falhar (ex: cliente desconectado)
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"orders.ndjson\"");
+        service.exportNdjson(response.getOutputStream());
+    }
+    /**
+     * Cria vários pedidos, com itens e pagamento opcional, em uma única transação.
+     * @param orders Lista de pedidos (ver {@link NewOrderDTO})
+     * @return ResponseEntity contendo:
+     *         - IDs dos pedidos criados, na ordem de entrada
+     *         - Status HTTP 201 (Created)
+     *         - Status HTTP 400 se o lote for inválido (nenhum pedido é criado)
+     */
+    @PostMapping(value = "/batch")
+    public ResponseEntity<OrderBatchResultDTO> insertBatch(@RequestBody List<NewOrderDTO> orders){
+        OrderBatchResultDTO result = batchService.insertBatch(orders);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+    /**
+     * Cancela um pedido, devolvendo ao estoque as quantidades de seus itens.
+     * @param id Identificador único do pedido
+     * @return ResponseEntity contendo:
+     *         - Status HTTP 204 (No Content) se cancelado
+     *         - Status HTTP 404 se o pedido não existir
+     *         - Status HTTP 409 se o pedido já foi enviado, entregue ou cancelado
+     */
+    @PostMapping(value = "/{id}/cancel")
+    public ResponseEntity<Void> cancel(@PathVariable Long id){
+        service.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+    /**
+     * Altera o status de um pedido.
+     * @param id Identificador único do pedido
+     * @param body JSON com o novo status (ex: {"status": "SHIPPED"})
+     * @return ResponseEntity contendo:
+     *         - Status HTTP 204 (No Content) se alterado
+     *         - Status HTTP 404 se o pedido não existir
+     *         - Status HTTP 409 se a transição não for permitida ou o status mudou concorrentemente
+     */
+    @PatchMapping(value = "/{id}/status")
+    public ResponseEntity<Void> updateStatus(@PathVariable Long id, @RequestBody OrderStatusUpdateDTO body){
+        service.updateStatus(id, body.getStatus());
+        return ResponseEntity.noContent().build();
+    }
+    /**
+     * Altera o status de vários pedidos de uma vez.
+     * @param body JSON com os IDs e o novo status (ex: {"ids": [10, 11], "status": "SHIPPED"})
+     * @return ResponseEntity contendo:
+     *         - Quantidade de pedidos alterados e IDs rejeitados
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se a requisição for inválida
+     */
+    @PatchMapping(value = "/status")
+    public ResponseEntity<OrderStatusBulkResultDTO> updateStatus(@RequestBody OrderStatusUpdateDTO body){
+        OrderStatusBulkResultDTO result = service.updateStatus(body.getIds(), body.getStatus());
+        return ResponseEntity.ok().body(result);
     }
 
 }
@@ -1,13 +1,26 @@
 package com.alvaropaiva.SistemaDePedidos.resources;
 
+import com.alvaropaiva.SistemaDePedidos.dto.CursorPage;
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
 import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.services.InventoryService;
+import com.alvaropaiva.SistemaDePedidos.services.ProductSearchService;
 import com.alvaropaiva.SistemaDePedidos.services.ProductService;
+import com.alvaropaiva.SistemaDePedidos.services.ResponseCacheService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+
 import java.util.List;
 
 /**
@@ -17,8 +30,14 @@ import java.util.List;
  * Todas as rotas são mapeadas para o caminho base "/products".
  *
  * Endpoints disponíveis:
- * - GET /products → Lista todos os produtos
+ * - GET /products?after={cursor}&limit={n} → Lista paginada (por cursor) de produtos
+ * - GET /products/search?q={termos}&limit={n} → Busca textual por nome/descrição
  * - GET /products/{id} → Busca um produto por ID
+ * - GET /products/{id}/stock → Saldo atual em estoque
+ * - POST /products/{id}/stock?quantity={n} → Adiciona unidades ao estoque
+ *
+ * Formatos (Accept): application/json (padrão), application/x-jackson-smile e application/cbor,
+ * ver {@link com.alvaropaiva.SistemaDePedidos.config.BinaryFormatConfig}.
  *
  * Relacionamentos importantes:
  * - Cada produto pode pertencer a múltiplas categorias
@@ -41,30 +60,101 @@ public class ProductResource {
 
     @Autowired
     private ProductService service;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductSearchService searchService;
+
+    @Autowired
+    private ResponseCacheService responseCache;
     /**
-     * Lista todos os produtos cadastrados no sistema.
+     * Lista os produtos do sistema com paginação por cursor.
+     * @param after Cursor opaco retornado em "nextCursor" pela página anterior (omitir na primeira página)
+     * @param limit Tamanho da página (padrão 20, máximo 100)
+     * @param headers Cabeçalhos da requisição (If-None-Match / If-Modified-Since)
      * @return ResponseEntity contendo:
-     *         - Lista de produtos no corpo (pode ser vazia)
-     *         - Status HTTP 200 (OK)
-     *         - Status HTTP 404 se nenhum produto for encontrado
+     *         - Página com o resumo dos produtos e cursor da próxima página (null na última)
+     *         - Status HTTP 200 (OK), com ETag e Last-Modified da página
+     *         - Status HTTP 304 (Not Modified) se If-None-Match / If-Modified-Since corresponder
+     *           à versão atual, respondido sem carregar os produtos nem serializar
+     *         - Status HTTP 400 se o cursor for inválido
      */
     @GetMapping
-    public ResponseEntity<List> findAll(){
-        List<Product> list = service.findALl();
+    public ResponseEntity<CursorPage<ProductSummaryDTO>> findAll(@RequestParam(required = false) String after,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 @RequestHeader HttpHeaders headers){
+        VersionStamp current = service.findPageVersion(after, limit);
+        if (current.isNotModified(headers)) {
+            return current.notModified();
+        }
+        CursorPage<ProductSummaryDTO> page = service.findPage(after, limit);
+        return service.versionOf(page).ok(page);
+    }
+    /**
+     * Busca textual de produtos por nome e descrição, respondida por um índice em memória.
+     * Ignora maiúsculas e acentos e aceita prefixos ("not" encontra "Notebook").
+     * @param q Termos da busca (todos precisam estar presentes)
+     * @param limit Quantidade máxima de resultados (padrão 20, máximo 100)
+     * @return ResponseEntity contendo:
+     *         - Produtos em ordem de relevância (lista vazia se nada for encontrado)
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se a busca estiver vazia
+     */
+    @GetMapping(value = "/search")
+    public ResponseEntity<List<ProductSummaryDTO>> search(@RequestParam String q,
+                                                          @RequestParam(required = false) Integer limit){
+        List<ProductSummaryDTO> list = searchService.search(q, limit);
         return ResponseEntity.ok().body(list);
     }
     /**
      * Busca um produto específico pelo ID.
+     * Servido do cache de respostas ({@link ResponseCacheService}), já serializado no formato negociado.
      * @param id Identificador único do produto (path variable)
+     * @param request Requisição (Accept, If-None-Match / If-Modified-Since)
      * @return ResponseEntity contendo:
      *         - Produto encontrado com categorias associadas
-     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 200 (OK), com ETag e Last-Modified (produto e categorias)
+     *         - Status HTTP 304 (Not Modified) se If-None-Match / If-Modified-Since corresponder
+     *           à versão em cache, respondido sem consultar o banco
      *         - Status HTTP 404 se o ID não existir
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<Product> findById(@PathVariable Long id){
-        Product obj = service.findById(id);
-        return ResponseEntity.ok().body(obj);
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, HttpServletRequest request)
+            throws HttpMediaTypeNotAcceptableException {
+        return responseCache.get(request, () -> {
+            Product obj = service.findById(id);
+            return new ResponseCacheService.Source(obj, service.versionOf(obj), ResponseCacheService.tagsOf(obj));
+        });
+    }
+    /**
+     * Consulta o saldo em estoque de um produto (sempre lido do banco, nunca do cache).
+     * @param id Identificador único do produto (path variable)
+     * @return ResponseEntity contendo:
+     *         - Saldo atual (null se o estoque não for controlado)
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 404 se o ID não existir
+     */
+    @GetMapping(value = "/{id}/stock")
+    public ResponseEntity<Integer> getStock(@PathVariable Long id){
+        Integer stock = inventoryService.getStock(id);
+        return ResponseEntity.ok().body(stock);
+    }
+    /**
+     * Adiciona unidades ao estoque de um produto.
+     * @param id Identificador único do produto (path variable)
+     * @param quantity Quantidade a adicionar (positiva)
+     * @return ResponseEntity contendo:
+     *         - Saldo atualizado
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se a quantidade não for positiva
+     *         - Status HTTP 404 se o ID não existir
+     */
+    @PostMapping(value = "/{id}/stock")
+    public ResponseEntity<Integer> restock(@PathVariable Long id, @RequestParam int quantity){
+        Integer stock = inventoryService.restock(id, quantity);
+        return ResponseEntity.ok().body(stock);
     }
 
 }
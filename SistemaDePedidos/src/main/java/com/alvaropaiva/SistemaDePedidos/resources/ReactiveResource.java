@@ -0,0 +1,52 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.dto.OrderExportDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.services.ReactiveReadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Controller REST da API reativa de leitura (R2DBC).
+ * Todas as rotas são mapeadas para o caminho base "/reactive".
+ *
+ * Endpoints disponíveis:
+ * - GET /reactive/orders?after={id} → Pedidos (com itens) em NDJSON, um por linha
+ * - GET /reactive/products?after={id} → Produtos (resumo) em NDJSON, um por linha
+ *
+ * As respostas são transmitidas à medida que o cliente consome: a requisição não ocupa uma
+ * thread do servidor enquanto aguarda o cliente, e o banco é lido por R2DBC em páginas
+ * sob demanda (ver {@link ReactiveReadService}), sem reter uma conexão JDBC.
+ * O parâmetro "after" permite retomar uma leitura interrompida a partir do último ID recebido.
+ */
+@RestController
+@RequestMapping(value="/reactive")
+public class ReactiveResource {
+
+    @Autowired
+    private ReactiveReadService service;
+    /**
+     * Transmite os pedidos em ordem de ID.
+     * @param after Retoma a partir deste ID (opcional)
+     * @return Fluxo NDJSON de pedidos no formato de {@link OrderExportDTO}
+     */
+    @GetMapping(value = "/orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderExportDTO> orders(@RequestParam(required = false) Long after){
+        return service.streamOrders(after);
+    }
+    /**
+     * Transmite os produtos em ordem de ID.
+     * @param after Retoma a partir deste ID (opcional)
+     * @return Fluxo NDJSON de produtos no formato de {@link ProductSummaryDTO}
+     */
+    @GetMapping(value = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductSummaryDTO> products(@RequestParam(required = false) Long after){
+        return service.streamProducts(after);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.dto.ItemAnalyticsDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.SalesRebuildResultDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.SalesReportDTO;
+import com.alvaropaiva.SistemaDePedidos.services.OrderItemAnalyticsService;
+import com.alvaropaiva.SistemaDePedidos.services.SalesReportService;
+import com.alvaropaiva.SistemaDePedidos.services.SalesRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller REST para relatórios.
+ * Todas as rotas são mapeadas para o caminho base "/reports".
+ *
+ * Endpoints disponíveis:
+ * - GET /reports/sales?from={yyyy-MM-dd}&to={yyyy-MM-dd}&groupBy={day|product|category} → Vendas do período
+ * - POST /reports/sales/rebuild?from={yyyy-MM-dd}&to={yyyy-MM-dd} → Reconstrói as vendas agregadas
+ * - GET /reports/items?groupBy={dimensões}&from=&to=&status=&product=&category= → Agregação ad hoc dos itens
+ *
+ * Integra-se com {@link SalesReportService}, que responde a partir das tabelas agregadas por dia
+ * mantidas por {@link SalesRollupService}, e com {@link OrderItemAnalyticsService}, que responde
+ * a partir da cópia colunar em memória dos itens de pedido.
+ */
+@RestController
+@RequestMapping(value="/reports")
+public class ReportResource {
+
+    @Autowired
+    private SalesReportService service;
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    @Autowired
+    private OrderItemAnalyticsService analyticsService;
+    /**
+     * Retorna a receita e as unidades vendidas (pedidos pagos, enviados ou entregues) de um período.
+     * @param from Primeiro dia, UTC (padrão: 30 dias antes de "to")
+     * @param to Último dia, inclusivo, UTC (padrão: hoje)
+     * @param groupBy Agrupamento das linhas: day (padrão), product ou category
+     * @return ResponseEntity contendo:
+     *         - Totais do período e uma linha por dia, produto ou categoria com vendas
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se o período ou o agrupamento forem inválidos
+     */
+    @GetMapping(value = "/sales")
+    public ResponseEntity<SalesReportDTO> sales(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(required = false) String groupBy){
+        SalesReportDTO obj = service.report(from, to, groupBy);
+        return ResponseEntity.ok().body(obj);
+    }
+    /**
+     * Recalcula as vendas agregadas dos dias do período a partir dos pedidos (dias em paralelo).
+     * @param from Primeiro dia (padrão: dia do pedido vendido mais antigo)
+     * @param to Último dia, inclusivo (padrão: dia do pedido vendido mais recente)
+     * @return ResponseEntity contendo:
+     *         - Dias reconstruídos, pedidos somados e duração
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se o período for inválido
+     */
+    @PostMapping(value = "/sales/rebuild")
+    public ResponseEntity<SalesRebuildResultDTO> rebuild(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to){
+        SalesRebuildResultDTO obj = rollupService.rebuild(from, to);
+        return ResponseEntity.ok().body(obj);
+    }
+    /**
+     * Filtra, agrupa e soma os itens de pedido (ex: receita por categoria por hora com
+     * groupBy=category,hour; distribuição de quantidades com groupBy=quantity).
+     * @param groupBy Até duas dimensões separadas por vírgula: product, category, status, hour, day, quantity
+     *                (ausente: apenas totais)
+     * @param from Primeiro dia, UTC (padrão: sem limite)
+     * @param to Último dia, inclusivo, UTC (padrão: sem limite)
+     * @param status Status dos pedidos (repetível; padrão: todos)
+     * @param product Produtos (repetível; padrão: todos)
+     * @param category Categorias (repetível; padrão: todas)
+     * @return ResponseEntity contendo:
+     *         - Totais e um grupo por combinação de valores das dimensões
+     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se os parâmetros forem inválidos ou o resultado tiver grupos demais
+     */
+    @GetMapping(value = "/items")
+    public ResponseEntity<ItemAnalyticsDTO> items(@RequestParam(required = false) String groupBy,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                  @RequestParam(required = false) List<String> status,
+                                                  @RequestParam(required = false) List<Long> product,
+                                                  @RequestParam(required = false) List<Long> category){
+        ItemAnalyticsDTO obj = analyticsService.query(groupBy, from, to, status, product, category);
+        return ResponseEntity.ok().body(obj);
+    }
+
+}
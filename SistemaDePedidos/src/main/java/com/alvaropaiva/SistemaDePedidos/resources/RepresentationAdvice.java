@@ -0,0 +1,51 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.config.BinaryFormatConfig;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Ajusta os cabeçalhos das respostas negociadas entre JSON, Smile e CBOR ({@link BinaryFormatConfig}).
+ *
+ * - Vary: Accept, para que caches (navegador, CDN) guardem uma cópia por formato
+ * - ETag por formato: o ETag calculado pelo controller identifica a versão em JSON; em Smile/CBOR
+ *   recebe o sufixo do formato (ex.: "5f1c0b3a9e24d7c1-cbor"), inclusive na resposta 304,
+ *   que assim indica ao cache qual cópia guardada continua válida
+ *
+ * Executado depois da escolha do conversor, também para respostas sem corpo (304).
+ */
+@ControllerAdvice
+public class RepresentationAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String eTag = headers.getETag();
+        String suffix = BinaryFormatConfig.eTagSuffix(selectedContentType);
+        if (eTag != null && suffix != null) {
+            // Em GET 200 o Spring já transferiu o ETag para a resposta do servlet (verificação de If-None-Match)
+            headers.remove(HttpHeaders.ETAG);
+            ((ServletServerHttpResponse) response).getServletResponse().setHeader(HttpHeaders.ETAG, VersionStamp.variant(eTag, suffix));
+        }
+        return body;
+    }
+}
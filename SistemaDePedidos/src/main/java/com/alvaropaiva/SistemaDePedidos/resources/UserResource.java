@@ -1,13 +1,22 @@
 package com.alvaropaiva.SistemaDePedidos.resources;
 
+import com.alvaropaiva.SistemaDePedidos.dto.BulkImportResultDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.CursorPage;
+import com.alvaropaiva.SistemaDePedidos.dto.UserSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
 import com.alvaropaiva.SistemaDePedidos.entities.User;
+import com.alvaropaiva.SistemaDePedidos.services.UserImportService;
 import com.alvaropaiva.SistemaDePedidos.services.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
 import java.net.URI;
-import java.util.List;
 /**
  * Controller REST para operações com usuários.
  *
@@ -15,9 +24,10 @@ import java.util.List;
  * Todas as rotas são mapeadas para o caminho base "/users".
  *
  * Endpoints disponíveis:
- * - GET /users → Lista todos os usuários
+ * - GET /users?after={cursor}&limit={n} → Lista paginada (por cursor) de usuários
  * - GET /users/{id} → Busca usuário por ID
  * - POST /users → Cria novo usuário
+ * - POST /users/bulk → Importação em massa (text/csv ou application/x-ndjson, em streaming)
  * - DELETE /users/{id} → Remove usuário
  * - PUT /users/{id} → Atualiza usuário
  *
@@ -39,29 +49,43 @@ public class UserResource {
 
     @Autowired
     private UserService service;
+
+    @Autowired
+    private UserImportService importService;
     /**
-     * Lista todos os usuários cadastrados.
+     * Lista os usuários do sistema com paginação por cursor.
+     * @param after Cursor opaco retornado em "nextCursor" pela página anterior (omitir na primeira página)
+     * @param limit Tamanho da página (padrão 20, máximo 100)
      * @return ResponseEntity contendo:
-     *         - Lista de usuários (sem senhas)
+     *         - Página com o resumo dos usuários e cursor da próxima página (null na última)
      *         - Status HTTP 200 (OK)
+     *         - Status HTTP 400 se o cursor for inválido
      */
     @GetMapping
-    public ResponseEntity<List> findAll(){
-        List<User> list = service.findAll();
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<CursorPage<UserSummaryDTO>> findAll(@RequestParam(required = false) String after,
+                                                    @RequestParam(required = false) Integer limit){
+        CursorPage<UserSummaryDTO> page = service.findPage(after, limit);
+        return ResponseEntity.ok().body(page);
     }
     /**
      * Busca um usuário específico por ID.
      * @param id Identificador único do usuário
+     * @param headers Cabeçalhos da requisição (If-None-Match / If-Modified-Since)
      * @return ResponseEntity contendo:
      *         - Dados do usuário (sem senha)
-     *         - Status HTTP 200 (OK)
+     *         - Status HTTP 200 (OK), com ETag e Last-Modified
+     *         - Status HTTP 304 (Not Modified) se If-None-Match / If-Modified-Since corresponder
+     *           à versão atual, respondido sem carregar o usuário nem serializar
      *         - Status HTTP 404 se não encontrado
      */
     @GetMapping(value = "/{id}")
-    public ResponseEntity<User> findById(@PathVariable Long id){
+    public ResponseEntity<User> findById(@PathVariable Long id, @RequestHeader HttpHeaders headers){
+        VersionStamp current = service.findVersion(id);
+        if (current.isNotModified(headers)) {
+            return current.notModified();
+        }
         User obj = service.findById(id);
-        return ResponseEntity.ok().body(obj);
+        return service.versionOf(obj).ok(obj);
     }
     /**
      * Cria um novo usuário no sistema.
@@ -77,6 +101,24 @@ public class UserResource {
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(obj.getId()).toUri();
         return ResponseEntity.created(uri).body(obj);
     }
+    /**
+     * Importa usuários em massa a partir de um corpo CSV (com cabeçalho) ou NDJSON,
+     * lido em streaming e gravado em lotes JDBC.
+     * @param request Requisição cujo corpo contém os usuários
+     * @return ResponseEntity contendo:
+     *         - Relatório com linhas inseridas e falhas por linha
+     *         - Status HTTP 200 (OK), mesmo que algumas linhas sejam rejeitadas
+     *         - Status HTTP 400 se o cabeçalho CSV for inválido
+     * @throws IOException Se a leitura do corpo falhar
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDTO> bulkInsert(HttpServletRequest request) throws IOException {
+        MediaType type = MediaType.parseMediaType(request.getContentType());
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(type)
+                ? UserImportService.Format.NDJSON : UserImportService.Format.CSV;
+        BulkImportResultDTO result = importService.importUsers(request.getInputStream(), format);
+        return ResponseEntity.ok().body(result);
+    }
     /**
      * Remove um usuário existente.
      * @param id Identificador do usuário a ser removido
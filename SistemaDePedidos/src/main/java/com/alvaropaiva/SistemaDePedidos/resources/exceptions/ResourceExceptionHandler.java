@@ -1,6 +1,8 @@
 package com.alvaropaiva.SistemaDePedidos.resources.exceptions;
 
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ConflictException;
 import com.alvaropaiva.SistemaDePedidos.services.exceptions.DataBaseException;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
 import com.alvaropaiva.SistemaDePedidos.services.exceptions.ResourceNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
@@ -24,6 +26,8 @@ import java.time.Instant;
  * Exceções tratadas:
  * 1. {@link ResourceNotFoundException} → HTTP 404 (Not Found)
  * 2. {@link DataBaseException} → HTTP 400 (Bad Request)
+ * 3. {@link InvalidRequestException} → HTTP 400 (Bad Request)
+ * 4. {@link ConflictException} → HTTP 409 (Conflict)
  *
  * Exemplo de fluxo:
  * 1. Controller lança exceção
@@ -72,4 +76,44 @@ public class ResourceExceptionHandler {
         );
         return ResponseEntity.status(status).body(err);
     }
+
+    /**
+     * Trata exceções de parâmetros de requisição inválidos.
+     * @param e Exceção lançada pelo serviço
+     * @param request Objeto HttpServletRequest da requisição
+     * @return ResponseEntity com StandardError e status HTTP 400
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<StandardError> invalidRequest(InvalidRequestException e, HttpServletRequest request) {
+        String error = "Invalid request";
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(err);
+    }
+
+    /**
+     * Trata conflitos com o estado atual do recurso (ex: estoque insuficiente).
+     * @param e Exceção lançada pelo serviço
+     * @param request Objeto HttpServletRequest da requisição
+     * @return ResponseEntity com StandardError e status HTTP 409
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<StandardError> conflict(ConflictException e, HttpServletRequest request) {
+        String error = "Conflict";
+        HttpStatus status = HttpStatus.CONFLICT;
+        StandardError err = new StandardError(
+                Instant.now(),
+                status.value(),
+                error,
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status).body(err);
+    }
 }
\ No newline at end of file
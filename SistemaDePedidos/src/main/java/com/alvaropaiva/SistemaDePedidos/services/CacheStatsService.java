@@ -0,0 +1,46 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serviço que expõe as estatísticas das regiões de cache em memória.
+ *
+ * Inclui o cache de respostas serializadas (região "responses", {@link ResponseCacheService}).
+ * As regiões do catálogo não aparecem quando o cache está desativado (app.cache.enabled=false).
+ */
+@Service
+public class CacheStatsService {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseCacheService responseCache;
+
+    /**
+     * Coleta as estatísticas de todas as regiões Caffeine registradas e do cache de respostas.
+     * @return Lista de estatísticas por região
+     */
+    public List<CacheStatsDTO> getStats() {
+        List<CacheStatsDTO> list = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeine) {
+                CacheStats stats = caffeine.getNativeCache().stats();
+                list.add(new CacheStatsDTO(name, caffeine.getNativeCache().estimatedSize(),
+                        stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount()));
+            }
+        }
+        list.add(responseCache.getStats());
+        return list;
+    }
+}
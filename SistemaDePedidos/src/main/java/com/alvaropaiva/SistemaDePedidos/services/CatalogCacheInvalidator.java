@@ -0,0 +1,113 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.config.CacheConfig;
+import com.alvaropaiva.SistemaDePedidos.config.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ponto único de invalidação do cache do catálogo (produtos e categorias).
+ *
+ * Chamado automaticamente em qualquer escrita de {@link com.alvaropaiva.SistemaDePedidos.entities.Product}
+ * ou {@link com.alvaropaiva.SistemaDePedidos.entities.Category} (via
+ * {@link com.alvaropaiva.SistemaDePedidos.entities.listeners.CatalogChangeListener}) e disponível
+ * para invalidações explícitas.
+ *
+ * Além das regiões do {@link CacheManager}, purga as respostas já serializadas de
+ * {@link ResponseCacheService} que exibem a linha alterada.
+ *
+ * A evicção é aplicada imediatamente e repetida após o commit da transação corrente, para que uma
+ * leitura concorrente entre o flush e o commit não deixe o valor antigo no cache.
+ * Com réplicas de leitura configuradas, as leituras vão ao primário por uma janela curta a partir da
+ * invalidação ({@link ReplicaRoutingDataSource#pinReadsToPrimary()}), para que a recarga do cache não
+ * traga de uma réplica atrasada o valor anterior à escrita.
+ */
+@Component
+public class CatalogCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ResponseCacheService responseCache;
+
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource routing;
+
+    /**
+     * Invalida um produto e as listagens por categoria (a associação pode ter mudado).
+     * @param id Identificador do produto (null invalida todos os produtos)
+     */
+    public void productChanged(Long id) {
+        runNowAndAfterCommit(() -> {
+            if (id == null) {
+                clear(CacheConfig.PRODUCTS);
+            } else {
+                evict(CacheConfig.PRODUCTS, id);
+            }
+            clear(CacheConfig.PRODUCTS_BY_CATEGORY);
+            responseCache.productChanged(id);
+        });
+    }
+
+    /**
+     * Invalida as categorias e tudo que as incorpora (produtos serializam suas categorias).
+     * @param id Identificador da categoria alterada
+     */
+    public void categoryChanged(Long id) {
+        runNowAndAfterCommit(() -> {
+            clearRegions();
+            responseCache.categoryChanged(id);
+        });
+    }
+
+    /**
+     * Limpa todas as regiões do catálogo e as respostas em cache.
+     */
+    public void clearAll() {
+        clearRegions();
+        responseCache.clear();
+    }
+
+    private void clearRegions() {
+        clear(CacheConfig.CATEGORIES);
+        clear(CacheConfig.PRODUCTS);
+        clear(CacheConfig.PRODUCTS_BY_CATEGORY);
+    }
+
+    private void runNowAndAfterCommit(Runnable evictions) {
+        Runnable action = () -> {
+            if (routing != null) {
+                routing.pinReadsToPrimary();
+            }
+            evictions.run();
+        };
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private void evict(String name, Object key) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.alvaropaiva.SistemaDePedidos.services;
 
+import com.alvaropaiva.SistemaDePedidos.config.CacheConfig;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
 import com.alvaropaiva.SistemaDePedidos.entities.Category;
 import com.alvaropaiva.SistemaDePedidos.repositories.CategoryRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Serviço responsável pelas operações de negócio relacionadas a categorias de produtos.
@@ -19,6 +25,8 @@ import java.util.Optional;
  * - Utiliza {@link CategoryRepository} para operações de persistência
  * - Relaciona-se indiretamente com {@link com.alvaropaiva.SistemaDePedidos.services.ProductService}
  *   através da associação muitos-para-muitos entre categorias e produtos
+ * - Leituras passam pela região "categories" do cache do catálogo ({@link CacheConfig}),
+ *   invalidada por {@link CatalogCacheInvalidator} em qualquer escrita de categoria
  *
  * Métodos disponíveis:
  */
@@ -32,20 +40,53 @@ public class CategoryService {
      * Retorna todas as categorias cadastradas no sistema.
      * @return Lista de categorias (pode ser vazia se não houver registros)
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
+    @Transactional(readOnly = true)
     public List<Category> findALl(){
-        return repository.findAll();
+        return List.copyOf(repository.findAll());
     }
 
     /**
      * Busca uma categoria específica pelo seu identificador único.
      * @param id Identificador da categoria
      * @return A categoria encontrada
-     * @apiNote Observe que este método retorna diretamente o valor do Optional,
-     *          podendo lançar NoSuchElementException se o ID não existir.
-     *          Recomenda-se tratamento adequado no controlador.
+     * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
      */
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
+    @Transactional(readOnly = true)
     public Category findById(Long id){
-        Optional<Category> obj = repository.findById(id);
-        return obj.get();
+        return repository.findById(id).orElseThrow(() -> new ResourceNotFoundException(id));
+    }
+
+    /**
+     * Versão atual da listagem de categorias, lida sem carregar entidades (GET condicional).
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp findAllVersion() {
+        return VersionStamp.builder().addAll(repository.findAllVersions()).build();
+    }
+
+    /**
+     * Versão atual de uma categoria, lida sem carregar a entidade (GET condicional).
+     * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp findVersion(Long id) {
+        List<RowVersion> rows = repository.findVersionsById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return VersionStamp.builder().addAll(rows).build();
+    }
+
+    /**
+     * Versão das categorias já carregadas (mesmo cálculo de {@link #findAllVersion()} e {@link #findVersion(Long)}).
+     */
+    public VersionStamp versionOf(Collection<Category> categories) {
+        VersionStamp.Builder builder = VersionStamp.builder();
+        for (Category category : categories) {
+            builder.add(RowVersion.CATEGORY, category.getId(), category.getVersion(), category.getLastModified());
+        }
+        return builder.build();
     }
 }
\ No newline at end of file
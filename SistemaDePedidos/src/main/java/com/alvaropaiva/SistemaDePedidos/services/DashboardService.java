@@ -0,0 +1,74 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.DashboardStatsDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.repositories.OrderRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.DailyCount;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.StatusCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serviço responsável pelas estatísticas do dashboard.
+ *
+ * Todas as métricas são calculadas no banco por consultas de agregação em
+ * {@link OrderRepository}, sem carregar entidades nem transferir a lista de pedidos.
+ *
+ * Métricas disponíveis:
+ * - Quantidade de pedidos por {@link OrderStatus}
+ * - Quantidade de pedidos por dia (UTC) nos últimos N dias
+ * - Quantidade de pedidos do dia atual
+ */
+@Service
+public class DashboardService {
+
+    public static final int DEFAULT_DAYS = 7;
+    public static final int MAX_DAYS = 366;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Calcula as estatísticas do dashboard.
+     * @param days Quantidade de dias (incluindo hoje) da série diária (padrão 7, máximo 366)
+     * @return Estatísticas agregadas
+     */
+    @Transactional(readOnly = true)
+    public DashboardStatsDTO getStats(Integer days) {
+        int span = (days == null || days < 1) ? DEFAULT_DAYS : Math.min(days, MAX_DAYS);
+
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        long totalOrders = 0;
+        for (StatusCount row : orderRepository.countByStatus()) {
+            byStatus.put(OrderStatus.valueOf(row.getStatus()), row.getTotal());
+            totalOrders += row.getTotal();
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        LocalDate first = today.minusDays(span - 1);
+        Map<LocalDate, Long> daily = new LinkedHashMap<>();
+        for (LocalDate d = first; !d.isAfter(today); d = d.plusDays(1)) {
+            daily.put(d, 0L);
+        }
+        for (DailyCount row : orderRepository.countByDay(
+                first.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                today.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant())) {
+            daily.put(row.getDay(), row.getTotal());
+        }
+
+        return new DashboardStatsDTO(totalOrders, daily.get(today), byStatus, daily);
+    }
+}
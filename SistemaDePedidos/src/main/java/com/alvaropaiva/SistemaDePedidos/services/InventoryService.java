@@ -0,0 +1,125 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ConflictException;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serviço de controle de estoque dos produtos.
+ *
+ * Todas as alterações de estoque são UPDATEs condicionais de uma única instrução, executados
+ * pelo banco de forma atômica por linha — sem lock global e sem ler-modificar-gravar a entidade
+ * {@link com.alvaropaiva.SistemaDePedidos.entities.Product}:
+ * - Reserva: {@code UPDATE ... SET stock = stock - ? WHERE id = ? AND stock >= ?}
+ * - Liberação (cancelamento): devolve as quantidades dos itens do pedido
+ *
+ * Produtos com estoque null não têm estoque controlado e nunca bloqueiam reservas.
+ * As reservas de um lote são aplicadas em ordem crescente de ID de produto, para que
+ * transações concorrentes adquiram os locks de linha sempre na mesma ordem (sem deadlock).
+ */
+@Service
+public class InventoryService {
+
+    private static final String RESERVE_SQL =
+            "UPDATE tb_products SET stock = stock - ? WHERE id = ? AND (stock IS NULL OR stock >= ?)";
+    private static final String RELEASE_SQL =
+            "UPDATE tb_products SET stock = stock + "
+            + "(SELECT i.quantity FROM tb_order_item i WHERE i.order_id = ? AND i.product_id = tb_products.id) "
+            + "WHERE stock IS NOT NULL AND id IN (SELECT i.product_id FROM tb_order_item i WHERE i.order_id = ?)";
+    private static final String RESTOCK_SQL =
+            "UPDATE tb_products SET stock = COALESCE(stock, 0) + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserva estoque para um conjunto de produtos, dentro da transação corrente.
+     * Se qualquer produto não tiver saldo suficiente, lança exceção e a transação é desfeita.
+     * Cada UPDATE do lote deve afetar exatamente uma linha; uma contagem não informada pelo driver
+     * (SUCCESS_NO_INFO) não permite confirmar a reserva e também desfaz a transação.
+     * @param quantities Quantidade total solicitada por ID de produto
+     * @throws ConflictException Se algum produto não tiver estoque suficiente (HTTP 409)
+     * @throws IllegalStateException Se o driver não informar quantas linhas um UPDATE afetou
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        if (rows.isEmpty()) {
+            return;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(RESERVE_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row.getValue());
+            ps.setLong(2, row.getKey());
+            ps.setInt(3, row.getValue());
+        });
+        List<Long> insufficient = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            int count = counts[0][i];
+            if (count == 0) {
+                insufficient.add(rows.get(i).getKey());
+            } else if (count != 1) {
+                throw new IllegalStateException("Could not verify stock reservation for product id "
+                        + rows.get(i).getKey() + " (update count " + count + ")");
+            }
+        }
+        if (!insufficient.isEmpty()) {
+            throw new ConflictException("Insufficient stock for product ids: " + insufficient);
+        }
+    }
+
+    /**
+     * Devolve ao estoque as quantidades dos itens de um pedido (ex: pedido cancelado).
+     * Deve ser chamado uma única vez por pedido, na mesma transação que altera o status.
+     * @param orderId Identificador do pedido
+     * @return Quantidade de produtos cujo estoque foi ajustado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int release(Long orderId) {
+        return jdbcTemplate.update(RELEASE_SQL, orderId, orderId);
+    }
+
+    /**
+     * Adiciona unidades ao estoque de um produto (passa a controlar o estoque se era null).
+     * @param productId Identificador do produto
+     * @param quantity Quantidade a adicionar (positiva)
+     * @return Saldo atualizado
+     * @throws InvalidRequestException Se a quantidade não for positiva (HTTP 400)
+     * @throws ResourceNotFoundException Se o produto não existir (HTTP 404)
+     */
+    @Transactional
+    public Integer restock(Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new InvalidRequestException("Restock quantity must be positive");
+        }
+        if (jdbcTemplate.update(RESTOCK_SQL, quantity, productId) == 0) {
+            throw new ResourceNotFoundException(productId);
+        }
+        return getStock(productId);
+    }
+
+    /**
+     * Consulta o saldo atual de um produto diretamente no banco.
+     * @param productId Identificador do produto
+     * @return Saldo (null se o estoque não for controlado)
+     * @throws ResourceNotFoundException Se o produto não existir (HTTP 404)
+     */
+    @Transactional(readOnly = true)
+    public Integer getStock(Long productId) {
+        List<Integer> stock = jdbcTemplate.query("SELECT stock FROM tb_products WHERE id = ?",
+                (rs, i) -> (Integer) rs.getObject(1, Integer.class), productId);
+        if (stock.isEmpty()) {
+            throw new ResourceNotFoundException(productId);
+        }
+        return stock.get(0);
+    }
+}
@@ -0,0 +1,273 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.NewOrderDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderBatchResultDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.Money;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderEventType;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.repositories.ProductRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.UserRepository;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Serviço de criação de pedidos em lote (pedidos, itens e pagamentos em uma única transação).
+ *
+ * Pipeline:
+ * 1. Valida a requisição e resolve clientes e produtos com um SELECT ... IN cada
+ * 2. Copia o preço atual de cada produto para o item (preço histórico) e calcula o total
+ * 3. Reserva o estoque de todos os produtos do lote ({@link InventoryService#reserve})
+ * 4. Grava pedidos, itens e pagamentos com JDBC batch (chaves geradas recuperadas do lote de pedidos)
+ * 5. Grava no outbox ({@link OrderEventOutbox}) um evento CREATED por pedido e PAID para os criados com pagamento
+ *
+ * O JDBC é usado diretamente porque a geração de IDs por IDENTITY em
+ * {@link com.alvaropaiva.SistemaDePedidos.entities.Order} impede o batching de INSERTs pelo Hibernate.
+ * Qualquer erro (inclusive falta de estoque) desfaz o lote inteiro.
+ *
+ * Configuração (application.properties):
+ * - app.orders.batch.max-size: quantidade máxima de pedidos por requisição
+ * - app.orders.batch.jdbc-batch-size: linhas por executeBatch
+ */
+@Service
+public class OrderBatchService {
+
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO tb_order (moment, order_status, client_id, total_cents) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO tb_order_item (order_id, product_id, quantity, price_cents) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_PAYMENT_SQL =
+            "INSERT INTO tb_payment (order_id, moment) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderEventOutbox outbox;
+
+    @Value("${app.orders.batch.max-size:5000}")
+    private int maxSize;
+
+    @Value("${app.orders.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    /**
+     * Cria vários pedidos em uma única transação.
+     * @param orders Pedidos a criar
+     * @return IDs gerados, na ordem de entrada
+     * @throws InvalidRequestException Se o lote for inválido ou referenciar clientes/produtos inexistentes (HTTP 400)
+     * @throws com.alvaropaiva.SistemaDePedidos.services.exceptions.ConflictException Se faltar estoque (HTTP 409)
+     */
+    @Transactional
+    public OrderBatchResultDTO insertBatch(List<NewOrderDTO> orders) {
+        if (orders == null || orders.isEmpty()) {
+            throw new InvalidRequestException("Order batch must not be empty");
+        }
+        if (orders.size() > maxSize) {
+            throw new InvalidRequestException("Order batch exceeds the maximum of " + maxSize + " orders");
+        }
+
+        Set<Long> clientIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (int i = 0; i < orders.size(); i++) {
+            NewOrderDTO order = orders.get(i);
+            if (order == null) {
+                throw new InvalidRequestException("Order #" + i + " must not be null");
+            }
+            if (order.getClientId() == null) {
+                throw new InvalidRequestException("Order #" + i + ": clientId is required");
+            }
+            if (order.getItems() == null || order.getItems().isEmpty()) {
+                throw new InvalidRequestException("Order #" + i + ": at least one item is required");
+            }
+            clientIds.add(order.getClientId());
+            for (NewOrderDTO.Item item : order.getItems()) {
+                if (item == null || item.getProductId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                    throw new InvalidRequestException("Order #" + i + ": items need a productId and a positive quantity");
+                }
+                productIds.add(item.getProductId());
+            }
+            OrderStatus initial = initialStatus(order);
+            if (order.getOrderStatus() != null && order.getOrderStatus() != initial) {
+                throw new InvalidRequestException("Order #" + i + ": orderStatus must be " + initial
+                        + (order.getPayment() != null ? " when a payment is sent" : " without a payment"));
+            }
+        }
+
+        Set<Long> missingClients = new TreeSet<>(clientIds);
+        userRepository.findExistingIds(clientIds).forEach(missingClients::remove);
+        if (!missingClients.isEmpty()) {
+            throw new InvalidRequestException("Unknown client ids: " + missingClients);
+        }
+        Map<Long, Long> prices = new HashMap<>();
+        for (Product p : productRepository.findAllById(productIds)) {
+            prices.put(p.getId(), p.getPriceCents());
+        }
+        Set<Long> missingProducts = new TreeSet<>(productIds);
+        missingProducts.removeAll(prices.keySet());
+        if (!missingProducts.isEmpty()) {
+            throw new InvalidRequestException("Unknown product ids: " + missingProducts);
+        }
+
+        List<PendingOrder> pending = new ArrayList<>(orders.size());
+        Map<Long, Integer> reserved = new HashMap<>();
+        Instant now = Instant.now();
+        for (NewOrderDTO order : orders) {
+            PendingOrder p = new PendingOrder(order, prices, now);
+            p.quantities.forEach((productId, quantity) -> reserved.merge(productId, quantity, Integer::sum));
+            pending.add(p);
+        }
+        inventoryService.reserve(reserved);
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> write(con, pending));
+        publish(ids, pending);
+        return new OrderBatchResultDTO(ids);
+    }
+
+    /**
+     * Status inicial de um pedido novo: PAID se o pagamento acompanha o pedido, WAITING_PAYMENT caso contrário.
+     * Os demais status só são alcançados pelas transições de {@link OrderService}.
+     */
+    private static OrderStatus initialStatus(NewOrderDTO order) {
+        return order.getPayment() != null ? OrderStatus.PAID : OrderStatus.WAITING_PAYMENT;
+    }
+
+    /**
+     * Grava pedidos (recuperando os IDs gerados), itens e pagamentos com JDBC batch.
+     */
+    private List<Long> write(Connection con, List<PendingOrder> pending) throws SQLException {
+        List<Long> ids = new ArrayList<>(pending.size());
+        try (PreparedStatement ps = con.prepareStatement(INSERT_ORDER_SQL, new String[] {"id"})) {
+            int count = 0;
+            for (PendingOrder order : pending) {
+                ps.setObject(1, OffsetDateTime.ofInstant(order.moment, ZoneOffset.UTC));
+                ps.setInt(2, order.status.getCode());
+                ps.setLong(3, order.clientId);
+                ps.setLong(4, order.total);
+                ps.addBatch();
+                if (++count % jdbcBatchSize == 0 || count == pending.size()) {
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+        }
+        if (ids.size() != pending.size()) {
+            throw new IllegalStateException("Expected " + pending.size() + " generated order ids, got " + ids.size());
+        }
+
+        try (PreparedStatement items = con.prepareStatement(INSERT_ITEM_SQL);
+             PreparedStatement payments = con.prepareStatement(INSERT_PAYMENT_SQL)) {
+            int itemCount = 0;
+            int paymentCount = 0;
+            for (int i = 0; i < pending.size(); i++) {
+                PendingOrder order = pending.get(i);
+                long orderId = ids.get(i);
+                for (Map.Entry<Long, Integer> item : order.quantities.entrySet()) {
+                    items.setLong(1, orderId);
+                    items.setLong(2, item.getKey());
+                    items.setInt(3, item.getValue());
+                    items.setLong(4, order.prices.get(item.getKey()));
+                    items.addBatch();
+                    if (++itemCount % jdbcBatchSize == 0) {
+                        items.executeBatch();
+                    }
+                }
+                if (order.paymentMoment != null) {
+                    payments.setLong(1, orderId);
+                    payments.setObject(2, OffsetDateTime.ofInstant(order.paymentMoment, ZoneOffset.UTC));
+                    payments.addBatch();
+                    if (++paymentCount % jdbcBatchSize == 0) {
+                        payments.executeBatch();
+                    }
+                }
+            }
+            items.executeBatch();
+            payments.executeBatch();
+        }
+        return ids;
+    }
+
+    /**
+     * Grava os eventos de criação (e de pagamento) dos pedidos do lote; o CREATED de cada pedido precede seu PAID.
+     */
+    private void publish(List<Long> ids, List<PendingOrder> pending) {
+        Map<Long, OrderStatus> created = new LinkedHashMap<>();
+        Map<Long, OrderStatus> paid = new LinkedHashMap<>();
+        for (int i = 0; i < pending.size(); i++) {
+            PendingOrder order = pending.get(i);
+            created.put(ids.get(i), order.status);
+            if (order.paymentMoment != null) {
+                paid.put(ids.get(i), order.status);
+            }
+        }
+        outbox.append(OrderEventType.CREATED, created);
+        outbox.append(OrderEventType.PAID, paid);
+    }
+
+    /**
+     * Pedido validado e pronto para gravação: itens consolidados por produto,
+     * preços (em centavos) copiados dos produtos e total calculado.
+     */
+    private static class PendingOrder {
+        private final long clientId;
+        private final Instant moment;
+        private final OrderStatus status;
+        private final Instant paymentMoment;
+        private final Map<Long, Integer> quantities = new LinkedHashMap<>();
+        private final Map<Long, Long> prices;
+        private final long total;
+
+        private PendingOrder(NewOrderDTO dto, Map<Long, Long> prices, Instant now) {
+            this.clientId = dto.getClientId();
+            this.moment = dto.getMoment() != null ? dto.getMoment() : now;
+            if (dto.getPayment() != null) {
+                this.paymentMoment = dto.getPayment().getMoment() != null ? dto.getPayment().getMoment() : now;
+            } else {
+                this.paymentMoment = null;
+            }
+            this.status = initialStatus(dto);
+            for (NewOrderDTO.Item item : dto.getItems()) {
+                quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+            this.prices = prices;
+            long sum = 0;
+            for (Map.Entry<Long, Integer> item : quantities.entrySet()) {
+                sum += Money.times(prices.get(item.getKey()), item.getValue());
+            }
+            this.total = sum;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.OrderEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drenador do outbox de eventos de pedido ({@link OrderEventOutbox}): barramento de eventos em processo.
+ *
+ * A cada execução agendada lê o outbox em lotes (em ordem de gravação), entrega cada evento a todos
+ * os {@link OrderEventSubscriber} e remove os eventos entregues com um único DELETE por lote.
+ * Cada lote roda em sua própria transação; lotes cheios são drenados em sequência até o outbox esvaziar.
+ * Cada entrega é delimitada por um savepoint JDBC na conexão do lote (o JpaTransactionManager não
+ * suporta transações aninhadas): se um assinante falhar, as gravações JDBC de todos os assinantes
+ * para aquele evento são desfeitas, pois ele será entregue de novo a todos.
+ *
+ * Garantias:
+ * - ordem por pedido: se um assinante falhar, o evento é estacionado no outbox com espera crescente
+ *   (initial-backoff, dobrando a cada falha até max-backoff) e os eventos seguintes do mesmo pedido
+ *   aguardam com ele; a leitura ignora esses pedidos, de modo que os demais seguem normalmente
+ * - limite de tentativas: após max-attempts falhas o evento é movido para a tabela de eventos mortos
+ *   ("tb_order_outbox_dead", com o último erro) e os eventos seguintes do pedido são liberados
+ * - ao menos uma vez: o evento só é removido depois de entregue, na mesma transação que o leu;
+ *   uma queda antes do commit faz o lote ser entregue de novo após o reinício
+ *
+ * Métricas:
+ * - app.outbox.events (tag result=dispatched|failed|dead_lettered): eventos entregues, falhas de entrega
+ *   e eventos descartados após esgotar as tentativas
+ * - app.outbox.delivery.latency: tempo entre a gravação do evento e sua entrega
+ * - app.outbox.lag: idade do evento mais antigo pendente na última leitura (0 com o outbox vazio)
+ *
+ * Configuração (application.properties):
+ * - app.outbox.batch-size: eventos lidos por transação
+ * - app.outbox.poll-interval: intervalo entre execuções
+ * - app.outbox.retry.initial-backoff, app.outbox.retry.max-backoff: espera antes de reentregar um evento que falhou
+ * - app.outbox.retry.max-attempts: entregas de um evento antes de movê-lo para os eventos mortos
+ */
+@Service
+public class OrderEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventDispatcher.class);
+
+    @Autowired
+    private OrderEventOutbox outbox;
+
+    @Autowired(required = false)
+    private List<OrderEventSubscriber> subscribers = List.of();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${app.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.retry.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${app.outbox.retry.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${app.outbox.retry.max-attempts:10}")
+    private int maxAttempts;
+
+    private Counter dispatched;
+    private Counter failed;
+    private Counter deadLettered;
+    private Timer latency;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        dispatched = events("dispatched");
+        failed = events("failed");
+        deadLettered = events("dead_lettered");
+        latency = Timer.builder("app.outbox.delivery.latency")
+                .description("Tempo entre a gravação do evento no outbox e sua entrega")
+                .register(registry);
+        Gauge.builder("app.outbox.lag", () -> lagMillis.get() / 1000.0)
+                .baseUnit("seconds")
+                .description("Idade do evento pendente mais antigo")
+                .register(registry);
+    }
+
+    /**
+     * Execução agendada da drenagem.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:200ms}")
+    public void scheduledDrain() {
+        drain();
+    }
+
+    /**
+     * Entrega os eventos pendentes, em lotes, até restarem apenas eventos estacionados (ou nenhum).
+     * @return Quantidade de eventos entregues
+     */
+    public long drain() {
+        long total = 0;
+        while (true) {
+            Batch batch = transactionTemplate.execute(status -> dispatchBatch());
+            if (batch == null) {
+                return total;
+            }
+            total += batch.delivered;
+            if (batch.read < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Lê, entrega e remove um lote de eventos (na transação corrente).
+     */
+    private Batch dispatchBatch() {
+        List<OrderEventDTO> events = outbox.next(batchSize);
+        Instant now = Instant.now();
+        lagMillis.set(events.isEmpty() ? 0 : Duration.between(events.get(0).getMoment(), now).toMillis());
+
+        List<Long> delivered = new ArrayList<>(events.size());
+        Set<Long> blockedOrders = new HashSet<>();
+        for (OrderEventDTO event : events) {
+            if (blockedOrders.contains(event.getOrderId())) {
+                continue;
+            }
+            try {
+                deliver(event);
+            } catch (RuntimeException e) {
+                blockedOrders.add(event.getOrderId());
+                failed.increment();
+                handleFailure(event, e);
+                continue;
+            }
+            delivered.add(event.getId());
+            dispatched.increment();
+            latency.record(Duration.between(event.getMoment(), Instant.now()));
+        }
+        outbox.delete(delivered);
+        return new Batch(events.size(), delivered.size());
+    }
+
+    /**
+     * Estaciona o evento que falhou até a próxima tentativa ou, esgotadas as tentativas, move-o para os eventos mortos.
+     */
+    private void handleFailure(OrderEventDTO event, RuntimeException e) {
+        int attempts = event.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            outbox.deadLetter(event.getId(), e);
+            deadLettered.increment();
+            log.error("Order event {} failed {} times and was moved to tb_order_outbox_dead; "
+                    + "the following events of order {} will be delivered", event, attempts, event.getOrderId(), e);
+            return;
+        }
+        Duration backoff = backoff(event.getAttempts());
+        outbox.retryLater(event.getId(), Instant.now().plus(backoff));
+        log.warn("Order event {} delivery failed (attempt {} of {}); it will be retried in {} with the following events of order {}",
+                event, attempts, maxAttempts, backoff, event.getOrderId(), e);
+    }
+
+    /**
+     * Espera antes da próxima tentativa: initial-backoff dobrado a cada falha anterior, limitado a max-backoff.
+     */
+    private Duration backoff(int previousFailures) {
+        int shift = Math.min(previousFailures, 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << shift);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    /**
+     * Entrega um evento a todos os assinantes dentro de um savepoint da conexão da transação corrente.
+     */
+    private void deliver(OrderEventDTO event) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        Savepoint savepoint = savepoint(connection);
+        try {
+            for (OrderEventSubscriber subscriber : subscribers) {
+                subscriber.onEvent(event);
+            }
+        } catch (RuntimeException e) {
+            try {
+                connection.rollback(savepoint);
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new TransactionSystemException("Could not release savepoint", e);
+        }
+    }
+
+    private static Savepoint savepoint(Connection connection) {
+        try {
+            return connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new TransactionSystemException("Could not create savepoint", e);
+        }
+    }
+
+    private Counter events(String result) {
+        return Counter.builder("app.outbox.events")
+                .tag("result", result)
+                .description("Eventos de pedido processados pelo drenador do outbox")
+                .register(registry);
+    }
+
+    private static class Batch {
+        private final int read;
+        private final int delivered;
+
+        private Batch(int read, int delivered) {
+            this.read = read;
+            this.delivered = delivered;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.OrderEventDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderEventType;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbox transacional dos eventos de pedido (tabela "tb_order_outbox").
+ *
+ * Os eventos são gravados na mesma transação que altera o pedido: se a transação for desfeita,
+ * nenhum evento é publicado; se for confirmada, o evento sobrevive a uma queda da aplicação e é
+ * entregue depois por {@link OrderEventDispatcher}, que lê o outbox em lotes e remove os eventos entregues.
+ * Nenhum trabalho dos assinantes é executado na transação da requisição.
+ *
+ * A gravação usa JDBC batch (uma linha por pedido) pelo mesmo motivo de {@link OrderBatchService}:
+ * a geração de IDs por IDENTITY impede o batching de INSERTs pelo Hibernate.
+ *
+ * Um evento cuja entrega falhou fica estacionado até "next_attempt_at" (espera crescente, ver
+ * {@link #retryLater}) e, com ele, os eventos seguintes do mesmo pedido; os demais pedidos continuam
+ * sendo lidos. Depois de esgotadas as tentativas, o evento é movido para "tb_order_outbox_dead"
+ * ({@link #deadLetter}), liberando o pedido.
+ * As tabelas são criadas (e as colunas de reentrega adicionadas) na inicialização, se ainda não existirem.
+ */
+@Service
+public class OrderEventOutbox {
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS tb_order_outbox ("
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "order_id BIGINT NOT NULL, "
+                    + "event_type INT NOT NULL, "
+                    + "order_status INT NOT NULL, "
+                    + "created_at TIMESTAMP WITH TIME ZONE NOT NULL)";
+    private static final String ADD_ATTEMPTS =
+            "ALTER TABLE tb_order_outbox ADD COLUMN IF NOT EXISTS attempts INT DEFAULT 0 NOT NULL";
+    private static final String ADD_NEXT_ATTEMPT_AT =
+            "ALTER TABLE tb_order_outbox ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP WITH TIME ZONE";
+    private static final String CREATE_ORDER_INDEX =
+            "CREATE INDEX IF NOT EXISTS ix_order_outbox_order ON tb_order_outbox (order_id, id)";
+    private static final String CREATE_DEAD_TABLE =
+            "CREATE TABLE IF NOT EXISTS tb_order_outbox_dead ("
+                    + "id BIGINT PRIMARY KEY, "
+                    + "order_id BIGINT NOT NULL, "
+                    + "event_type INT NOT NULL, "
+                    + "order_status INT NOT NULL, "
+                    + "created_at TIMESTAMP WITH TIME ZONE NOT NULL, "
+                    + "attempts INT NOT NULL, "
+                    + "last_error VARCHAR(1000), "
+                    + "failed_at TIMESTAMP WITH TIME ZONE NOT NULL)";
+    private static final String INSERT_SQL =
+            "INSERT INTO tb_order_outbox (order_id, event_type, order_status, created_at) VALUES (?, ?, ?, ?)";
+    // Exclui os eventos estacionados e os posteriores do mesmo pedido (preserva a ordem por pedido)
+    private static final String SELECT_NEXT_SQL =
+            "SELECT o.id, o.order_id, o.event_type, o.order_status, o.created_at, o.attempts FROM tb_order_outbox o "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM tb_order_outbox p "
+                    + "WHERE p.order_id = o.order_id AND p.id <= o.id AND p.next_attempt_at > ?) "
+                    + "ORDER BY o.id LIMIT ? FOR UPDATE";
+    private static final String RETRY_SQL =
+            "UPDATE tb_order_outbox SET attempts = attempts + 1, next_attempt_at = ? WHERE id = ?";
+    private static final String DEAD_LETTER_SQL =
+            "INSERT INTO tb_order_outbox_dead (id, order_id, event_type, order_status, created_at, attempts, last_error, failed_at) "
+                    + "SELECT id, order_id, event_type, order_status, created_at, attempts + 1, ?, ? FROM tb_order_outbox WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM tb_order_outbox WHERE id IN (%s)";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.orders.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    @PostConstruct
+    void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        jdbcTemplate.execute(ADD_ATTEMPTS);
+        jdbcTemplate.execute(ADD_NEXT_ATTEMPT_AT);
+        jdbcTemplate.execute(CREATE_ORDER_INDEX);
+        jdbcTemplate.execute(CREATE_DEAD_TABLE);
+    }
+
+    /**
+     * Grava o mesmo evento para vários pedidos (ex: alteração de status em massa).
+     * @param type Tipo do evento
+     * @param orderIds Pedidos afetados
+     * @param status Status dos pedidos após a alteração
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEventType type, Collection<Long> orderIds, OrderStatus status) {
+        Map<Long, OrderStatus> orders = new LinkedHashMap<>();
+        for (Long id : orderIds) {
+            orders.put(id, status);
+        }
+        append(type, orders);
+    }
+
+    /**
+     * Grava um evento por pedido, na ordem do mapa, na transação corrente (obrigatória).
+     * @param type Tipo do evento
+     * @param orders Pedidos afetados e seus status após a alteração
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEventType type, Map<Long, OrderStatus> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, orders.entrySet(), jdbcBatchSize, (ps, order) -> {
+            ps.setLong(1, order.getKey());
+            ps.setInt(2, type.getCode());
+            ps.setInt(3, order.getValue().getCode());
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    /**
+     * Próximos eventos a entregar, em ordem de gravação, bloqueados até o fim da transação
+     * (um segundo drenador aguarda em vez de entregar os mesmos eventos).
+     * Pedidos com um evento estacionado são ignorados até o horário da nova tentativa.
+     * @param limit Quantidade máxima de eventos
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<OrderEventDTO> next(int limit) {
+        return jdbcTemplate.query(SELECT_NEXT_SQL, (rs, rowNum) -> new OrderEventDTO(
+                rs.getLong("id"),
+                rs.getLong("order_id"),
+                OrderEventType.valueOf(rs.getInt("event_type")),
+                OrderStatus.valueOf(rs.getInt("order_status")),
+                rs.getObject("created_at", OffsetDateTime.class).toInstant(),
+                rs.getInt("attempts")), Timestamp.from(Instant.now()), limit);
+    }
+
+    /**
+     * Registra uma entrega que falhou e estaciona o evento (e os seguintes do seu pedido) até o horário indicado.
+     * @param id Identificador do evento
+     * @param nextAttemptAt Horário da próxima tentativa
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retryLater(long id, Instant nextAttemptAt) {
+        jdbcTemplate.update(RETRY_SQL, Timestamp.from(nextAttemptAt), id);
+    }
+
+    /**
+     * Move um evento que esgotou as tentativas de entrega para "tb_order_outbox_dead", com o último erro.
+     * Os eventos seguintes do pedido voltam a ser entregues.
+     * @param id Identificador do evento
+     * @param error Falha da última entrega
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deadLetter(long id, Throwable error) {
+        String message = error.toString();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        jdbcTemplate.update(DEAD_LETTER_SQL, message, Timestamp.from(Instant.now()), id);
+        delete(List.of(id));
+    }
+
+    /**
+     * Remove os eventos entregues com um único DELETE.
+     * @param ids Identificadores dos eventos
+     * @return Quantidade de eventos removidos
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String sql = String.format(DELETE_SQL, String.join(", ", Collections.nCopies(ids.size(), "?")));
+        return jdbcTemplate.update(sql, ids.toArray());
+    }
+}
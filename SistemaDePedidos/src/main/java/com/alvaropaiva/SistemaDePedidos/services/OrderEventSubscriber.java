@@ -0,0 +1,26 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.OrderEventDTO;
+
+/**
+ * Assinante dos eventos de pedido entregues por {@link OrderEventDispatcher}.
+ *
+ * Qualquer bean Spring que implemente esta interface é registrado automaticamente.
+ *
+ * Contrato de entrega:
+ * - fora da transação que gravou o pedido, na thread do drenador (trabalho demorado deve ser
+ *   repassado a outro executor)
+ * - na transação do drenador: gravações no banco feitas pelo assinante são confirmadas junto com
+ *   a remoção do evento do outbox, e desfeitas se a entrega falhar
+ * - em ordem de gravação para um mesmo pedido
+ * - ao menos uma vez: exceção lançada pelo assinante, ou queda da aplicação antes da remoção
+ *   do outbox, faz o evento (e os seguintes do mesmo pedido) ser entregue de novo a todos
+ *   os assinantes; use {@link OrderEventDTO#getId()} para descartar duplicatas
+ */
+public interface OrderEventSubscriber {
+
+    /**
+     * @param event Evento a processar
+     */
+    void onEvent(OrderEventDTO event);
+}
@@ -0,0 +1,403 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.ItemAnalyticsDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderEventDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agregações ad hoc sobre os itens de pedido (ex: receita por categoria por hora, distribuição de
+ * quantidades), respondidas pela cópia colunar em memória {@link OrderItemColumns}, sem consultar o banco.
+ *
+ * Manutenção da cópia:
+ * - construída quando a aplicação fica pronta, percorrendo os itens em páginas keyset
+ * - atualizada incrementalmente: assinante dos eventos de pedido ({@link OrderEventSubscriber}), apenas
+ *   marca o pedido como alterado; a atualização agendada relê os itens dos pedidos marcados e troca a
+ *   cópia corrente por uma nova que reaproveita os segmentos não afetados
+ * - reconstruída por completo periodicamente, o que também aplica alterações de catálogo
+ *   (categorias de produtos, nomes de categorias) às linhas já carregadas
+ *
+ * A reconstrução periódica roda em uma thread própria, não nas do agendador; enquanto ela roda,
+ * a atualização incremental é pulada (as marcações ficam para a execução seguinte), de modo que
+ * nenhuma thread do agendador fica bloqueada esperando a leitura completa.
+ *
+ * Configuração (application.properties):
+ * - app.analytics.segment-size: linhas por segmento (unidade de trabalho paralelo)
+ * - app.analytics.parallelism: threads do pool fork-join das consultas
+ * - app.analytics.refresh-interval: intervalo da atualização incremental
+ * - app.analytics.rebuild-interval: intervalo da reconstrução completa
+ */
+@Service
+public class OrderItemAnalyticsService implements OrderEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderItemAnalyticsService.class);
+
+    /**
+     * Itens lidos por consulta na construção da cópia.
+     */
+    private static final int LOAD_PAGE_SIZE = 10000;
+
+    /**
+     * Pedidos (ou produtos) por consulta IN na atualização incremental.
+     */
+    private static final int REFRESH_CHUNK_SIZE = 1000;
+
+    /**
+     * Quantidade máxima de grupos devolvidos por consulta.
+     */
+    public static final int MAX_GROUPS = 10000;
+
+    private static final String SELECT_ITEMS = "SELECT i.order_id, i.product_id, i.quantity, i.price_cents, "
+            + "o.moment, o.order_status FROM tb_order_item i JOIN tb_order o ON o.id = i.order_id ";
+    private static final String SELECT_ITEMS_PAGE = SELECT_ITEMS
+            + "WHERE (i.order_id, i.product_id) > (?, ?) "
+            + "ORDER BY i.order_id, i.product_id LIMIT ?";
+    private static final String SELECT_ITEMS_OF_ORDERS = SELECT_ITEMS + "WHERE i.order_id IN (%s)";
+    private static final String SELECT_CATEGORIES = "SELECT id, name FROM tb_category";
+    private static final String SELECT_PRODUCT_CATEGORIES =
+            "SELECT product_id, category_id FROM tb_product_category ORDER BY product_id";
+    private static final String SELECT_PRODUCT_CATEGORIES_OF =
+            "SELECT product_id, category_id FROM tb_product_category WHERE product_id IN (%s) ORDER BY product_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.analytics.segment-size:65536}")
+    private int segmentSize;
+
+    @Value("${app.analytics.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile OrderItemColumns columns;
+    private final Set<Long> changedOrders = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        columns = OrderItemColumns.builder(segmentSize).build();
+        rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+        pool.shutdown();
+    }
+
+    /**
+     * Constrói a cópia quando a aplicação fica pronta (após a carga inicial de dados).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Reconstrução completa agendada: apenas a submete à thread de reconstrução (sem efeito se a
+     * anterior ainda não terminou).
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.rebuild-interval:15m}",
+            initialDelayString = "${app.analytics.rebuild-interval:15m}")
+    public void scheduledRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Order item analytics rebuild failed; the current snapshot is kept", e);
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Atualização incremental agendada.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.refresh-interval:1s}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Marca o pedido do evento para ser relido na próxima atualização (na thread do drenador, sem
+     * acessar o banco).
+     */
+    @Override
+    public void onEvent(OrderEventDTO event) {
+        changedOrders.add(event.getOrderId());
+    }
+
+    /**
+     * (Re)constrói a cópia a partir do banco. As marcações pendentes são descartadas antes da leitura:
+     * alterações confirmadas até aqui já são vistas por ela.
+     */
+    public void rebuild() {
+        lock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        long start = System.nanoTime();
+        changedOrders.clear();
+        OrderItemColumns.Builder builder = OrderItemColumns.builder(segmentSize);
+        loadCatalog(builder, null);
+        long lastOrder = 0;
+        long lastProduct = 0;
+        List<ItemRow> page;
+        do {
+            page = jdbcTemplate.query(SELECT_ITEMS_PAGE, (rs, rowNum) -> row(rs),
+                    lastOrder, lastProduct, LOAD_PAGE_SIZE);
+            for (ItemRow row : page) {
+                row.addTo(builder);
+                lastOrder = row.orderId();
+                lastProduct = row.productId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        columns = builder.build();
+        log.info("Order item analytics snapshot built: {} items in {} segments in {} ms",
+                columns.size(), columns.segmentCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Relê os itens dos pedidos marcados e publica uma nova cópia. Sem efeito enquanto uma
+     * reconstrução estiver em andamento.
+     * @return Quantidade de pedidos relidos
+     */
+    public int refresh() {
+        if (changedOrders.isEmpty() || !lock.tryLock()) {
+            return 0;
+        }
+        try {
+            return refreshLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int refreshLocked() {
+        List<Long> orders = new ArrayList<>(changedOrders);
+        changedOrders.removeAll(orders);
+        Collections.sort(orders);
+
+        List<ItemRow> rows = new ArrayList<>();
+        for (List<Long> chunk : chunks(orders)) {
+            rows.addAll(jdbcTemplate.query(String.format(SELECT_ITEMS_OF_ORDERS, placeholders(chunk.size())),
+                    (rs, rowNum) -> row(rs), chunk.toArray()));
+        }
+        Set<Long> products = new HashSet<>();
+        for (ItemRow row : rows) {
+            products.add(row.productId());
+        }
+        OrderItemColumns.Builder builder = columns.toBuilder(orders.stream().mapToLong(Long::longValue).toArray());
+        loadCatalog(builder, products);
+        for (ItemRow row : rows) {
+            row.addTo(builder);
+        }
+        columns = builder.build();
+        return orders.size();
+    }
+
+    /**
+     * Agrega os itens de pedido.
+     * @param groupBy Até duas dimensões separadas por vírgula: product, category, status, hour, day, quantity
+     *                (vazio: apenas totais)
+     * @param from Primeiro dia, UTC (padrão: sem limite)
+     * @param to Último dia, inclusivo, UTC (padrão: sem limite)
+     * @param statuses Status aceitos (padrão: todos)
+     * @param products Produtos aceitos (padrão: todos)
+     * @param categories Categorias aceitas (padrão: todas)
+     * @return Totais e grupos em ordem crescente de valores das dimensões
+     * @throws InvalidRequestException Se as dimensões, o período ou os status forem inválidos, ou se
+     *                                 o resultado exceder {@value #MAX_GROUPS} grupos (HTTP 400)
+     */
+    public ItemAnalyticsDTO query(String groupBy, LocalDate from, LocalDate to, List<String> statuses,
+                                  List<Long> products, List<Long> categories) {
+        long start = System.nanoTime();
+        List<OrderItemColumns.Dimension> dimensions = dimensions(groupBy);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("Invalid period: from must not be after to");
+        }
+        OrderItemColumns.Query query = new OrderItemColumns.Query(dimensions,
+                from == null ? null : from.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                to == null ? null : to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                statusCodes(statuses), ids(products), ids(categories));
+
+        OrderItemColumns snapshot = columns;
+        OrderItemColumns.Result result = snapshot.query(query, pool);
+        if (result.getGroups().size() > MAX_GROUPS) {
+            throw new InvalidRequestException("Aggregation exceeds the maximum of " + MAX_GROUPS
+                    + " groups; narrow the filters or the dimensions");
+        }
+        List<ItemAnalyticsDTO.Row> rows = new ArrayList<>(result.getGroups().size());
+        for (OrderItemColumns.Group group : result.getGroups()) {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < dimensions.size(); i++) {
+                putKey(keys, dimensions.get(i), i == 0 ? group.first() : group.second(), snapshot);
+            }
+            rows.add(new ItemAnalyticsDTO.Row(keys, group.revenueCents(), group.quantity(), group.lines()));
+        }
+        List<String> names = dimensions.stream().map(OrderItemAnalyticsService::name).toList();
+        return new ItemAnalyticsDTO(names, from, to, result.getRevenueCents(), result.getQuantity(),
+                result.getLines(), rows, snapshot.size(), snapshot.getBuiltAt(), (System.nanoTime() - start) / 1000);
+    }
+
+    /**
+     * Registra no construtor as categorias e as categorias dos produtos informados (null: de todos).
+     */
+    private void loadCatalog(OrderItemColumns.Builder builder, Set<Long> products) {
+        jdbcTemplate.query(SELECT_CATEGORIES, rs -> {
+            builder.category(rs.getLong(1), rs.getString(2));
+        });
+        Map<Long, List<Long>> categoriesByProduct = new HashMap<>();
+        if (products == null) {
+            jdbcTemplate.query(SELECT_PRODUCT_CATEGORIES, rs -> {
+                categoriesByProduct.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+            });
+        } else {
+            for (List<Long> chunk : chunks(new ArrayList<>(products))) {
+                jdbcTemplate.query(String.format(SELECT_PRODUCT_CATEGORIES_OF, placeholders(chunk.size())), rs -> {
+                    categoriesByProduct.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+                }, chunk.toArray());
+            }
+            for (Long product : products) {
+                categoriesByProduct.putIfAbsent(product, List.of());
+            }
+        }
+        categoriesByProduct.forEach((product, categoryIds) ->
+                builder.productCategories(product, categoryIds.stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    /**
+     * Item de pedido lido do banco, com o momento e o status do pedido.
+     */
+    private record ItemRow(long orderId, long productId, int quantity, long priceCents, Instant moment, int status) {
+        void addTo(OrderItemColumns.Builder builder) {
+            builder.add(orderId, productId, quantity, priceCents, moment, status);
+        }
+    }
+
+    private static ItemRow row(ResultSet rs) throws SQLException {
+        return new ItemRow(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getLong(4),
+                rs.getObject(5, OffsetDateTime.class).toInstant(), rs.getInt(6));
+    }
+
+    private static List<OrderItemColumns.Dimension> dimensions(String groupBy) {
+        List<OrderItemColumns.Dimension> dimensions = new ArrayList<>();
+        if (groupBy == null || groupBy.isBlank()) {
+            return dimensions;
+        }
+        for (String token : groupBy.split(",")) {
+            OrderItemColumns.Dimension dimension;
+            try {
+                dimension = OrderItemColumns.Dimension.valueOf(token.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("groupBy must be a list of: product, category, status, hour, day, quantity");
+            }
+            if (dimensions.contains(dimension)) {
+                throw new InvalidRequestException("groupBy must not repeat dimensions");
+            }
+            dimensions.add(dimension);
+        }
+        if (dimensions.size() > 2) {
+            throw new InvalidRequestException("groupBy supports at most two dimensions");
+        }
+        return dimensions;
+    }
+
+    private static int[] statusCodes(List<String> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            return null;
+        }
+        int[] codes = new int[statuses.size()];
+        for (int i = 0; i < codes.length; i++) {
+            try {
+                codes[i] = OrderStatus.valueOf(statuses.get(i).trim().toUpperCase(Locale.ROOT)).getCode();
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("Invalid order status: " + statuses.get(i));
+            }
+        }
+        return codes;
+    }
+
+    private static long[] ids(List<Long> ids) {
+        return ids == null || ids.isEmpty() ? null : ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void putKey(Map<String, Object> keys, OrderItemColumns.Dimension dimension, long value,
+                               OrderItemColumns snapshot) {
+        switch (dimension) {
+            case PRODUCT -> keys.put("product", value);
+            case CATEGORY -> {
+                keys.put("category", value);
+                keys.put("categoryName", snapshot.categoryName(value));
+            }
+            case STATUS -> keys.put("status", OrderStatus.valueOf((int) value));
+            case HOUR -> keys.put("hour", Instant.ofEpochSecond(value * 3600));
+            case DAY -> keys.put("day", LocalDate.ofEpochDay(value));
+            case QUANTITY -> keys.put("quantity", value);
+        }
+    }
+
+    private static String name(OrderItemColumns.Dimension dimension) {
+        return dimension.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += REFRESH_CHUNK_SIZE) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + REFRESH_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
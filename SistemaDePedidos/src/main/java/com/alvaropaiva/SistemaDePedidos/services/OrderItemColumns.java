@@ -0,0 +1,678 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Cópia colunar em memória dos itens de pedido, para agregações ad hoc (filtro, agrupamento e soma)
+ * sem consultar o banco.
+ *
+ * Cada coluna é um array primitivo: pedido, produto, quantidade, preço unitário (centavos), minuto
+ * do pedido (epoch, UTC), status do pedido e categorias. As linhas ficam em segmentos de tamanho
+ * limitado, que são também as unidades de trabalho paralelo das consultas.
+ *
+ * Categorias codificadas por dicionário: cada categoria recebe um código inteiro e cada combinação
+ * distinta de categorias de um produto um código de conjunto (0 = sem categoria); a linha guarda só
+ * o código do conjunto. O dicionário só cresce entre reconstruções completas.
+ *
+ * Imutável: {@link #toBuilder(long[])} produz uma nova instância que reaproveita os segmentos sem
+ * pedidos alterados, de modo que consultas concorrentes leem a instância corrente sem bloqueio.
+ *
+ * Consultas: cada segmento é varrido por uma tarefa fork-join que filtra e agrega em uma tabela de
+ * espalhamento de chaves primitivas; as tabelas parciais são combinadas na junção das tarefas.
+ */
+public final class OrderItemColumns {
+
+    /**
+     * Dimensões de agrupamento. O valor da chave de cada linha é:
+     * - PRODUCT: id do produto
+     * - CATEGORY: id da categoria (a linha conta em cada categoria do produto)
+     * - STATUS: código do status do pedido
+     * - HOUR: hora do pedido (epoch, UTC)
+     * - DAY: dia do pedido (epoch, UTC)
+     * - QUANTITY: quantidade do item (distribuição de quantidades)
+     */
+    public enum Dimension {
+        PRODUCT, CATEGORY, STATUS, HOUR, DAY, QUANTITY
+    }
+
+    /**
+     * Grupo do resultado: valores das até duas dimensões (0 quando não usadas) e somas.
+     */
+    public record Group(long first, long second, long revenueCents, long quantity, long lines) {}
+
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 1440;
+
+    private final List<Segment> segments;
+    private final int segmentSize;
+    private final int rows;
+    private final Dictionary dictionary;
+    private final Instant builtAt;
+
+    private OrderItemColumns(List<Segment> segments, int segmentSize, Dictionary dictionary, Instant builtAt) {
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.dictionary = dictionary;
+        this.builtAt = builtAt;
+        int total = 0;
+        for (Segment segment : segments) {
+            total += segment.size;
+        }
+        this.rows = total;
+    }
+
+    /**
+     * @param segmentSize Linhas por segmento
+     * @return Construtor de uma cópia nova (vazia, dicionário vazio)
+     */
+    public static Builder builder(int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        return new Builder(new ArrayList<>(), segmentSize, new Dictionary());
+    }
+
+    /**
+     * Construtor de uma nova versão desta cópia: mantém o dicionário e as linhas dos demais pedidos.
+     * @param removedOrders Pedidos cujas linhas serão descartadas (ordenados), normalmente para serem
+     *                      incluídas de novo com o estado atual
+     */
+    public Builder toBuilder(long[] removedOrders) {
+        List<Segment> kept = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            Segment remaining = segment.without(removedOrders);
+            if (remaining.size > 0) {
+                kept.add(remaining);
+            }
+        }
+        return new Builder(kept, segmentSize, dictionary.copy());
+    }
+
+    /**
+     * @return Quantidade de linhas (itens de pedido)
+     */
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * @return Quantidade de segmentos
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return Momento da última alteração desta cópia
+     */
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * @param categoryId Identificador da categoria
+     * @return Nome da categoria no dicionário (null se desconhecida)
+     */
+    public String categoryName(long categoryId) {
+        Integer code = dictionary.codeByCategory.get(categoryId);
+        return code == null ? null : dictionary.names.get(code);
+    }
+
+    /**
+     * Filtra, agrupa e soma as linhas, um segmento por tarefa do pool.
+     * @param query Filtros e dimensões
+     * @param pool Pool fork-join que executa a varredura
+     * @return Totais das linhas filtradas e um grupo por combinação de valores das dimensões
+     */
+    public Result query(Query query, ForkJoinPool pool) {
+        if (segments.isEmpty()) {
+            return new Result(0, 0, 0, List.of());
+        }
+        Scan scan = new Scan(query, dictionary);
+        Aggregate aggregate = pool.invoke(new ScanTask(scan, 0, segments.size()));
+        return aggregate.toResult();
+    }
+
+    /**
+     * Filtros e dimensões de uma consulta. Filtros nulos não restringem.
+     */
+    public static final class Query {
+        private final List<Dimension> groupBy;
+        private final int fromMinute;
+        private final int toMinute;
+        private final int statusMask;
+        private final long[] products;
+        private final long[] categories;
+
+        /**
+         * @param groupBy Até duas dimensões (vazia: apenas totais)
+         * @param from Início, inclusivo (null: sem limite)
+         * @param to Fim, exclusivo (null: sem limite)
+         * @param statusCodes Códigos de status aceitos (null: todos)
+         * @param products Produtos aceitos (null: todos)
+         * @param categories Categorias aceitas: a linha passa se o produto tiver alguma delas e, no
+         *                   agrupamento por categoria, só elas aparecem (null: todas)
+         */
+        public Query(List<Dimension> groupBy, Instant from, Instant to, int[] statusCodes,
+                     long[] products, long[] categories) {
+            if (groupBy.size() > 2) {
+                throw new IllegalArgumentException("At most two dimensions are supported");
+            }
+            this.groupBy = List.copyOf(groupBy);
+            this.fromMinute = from == null ? Integer.MIN_VALUE : minuteCeiling(from);
+            this.toMinute = to == null ? Integer.MAX_VALUE : minuteCeiling(to);
+            int mask = 0;
+            if (statusCodes != null) {
+                for (int code : statusCodes) {
+                    mask |= 1 << code;
+                }
+            }
+            this.statusMask = statusCodes == null ? -1 : mask;
+            this.products = sorted(products);
+            this.categories = sorted(categories);
+        }
+
+        private static long[] sorted(long[] values) {
+            if (values == null) {
+                return null;
+            }
+            long[] copy = values.clone();
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Resultado de uma consulta.
+     */
+    public static final class Result {
+        private final long revenueCents;
+        private final long quantity;
+        private final long lines;
+        private final List<Group> groups;
+
+        private Result(long revenueCents, long quantity, long lines, List<Group> groups) {
+            this.revenueCents = revenueCents;
+            this.quantity = quantity;
+            this.lines = lines;
+            this.groups = groups;
+        }
+
+        public long getRevenueCents() {
+            return revenueCents;
+        }
+        public long getQuantity() {
+            return quantity;
+        }
+        public long getLines() {
+            return lines;
+        }
+        /**
+         * @return Grupos em ordem crescente de valores das dimensões
+         */
+        public List<Group> getGroups() {
+            return groups;
+        }
+    }
+
+    /**
+     * Acumula linhas em segmentos novos, registrando categorias e produtos no dicionário.
+     */
+    public static final class Builder {
+        private final List<Segment> segments;
+        private final int segmentSize;
+        private final Dictionary dictionary;
+        private Segment tail;
+
+        private Builder(List<Segment> segments, int segmentSize, Dictionary dictionary) {
+            this.segments = segments;
+            this.segmentSize = segmentSize;
+            this.dictionary = dictionary;
+            // O último segmento incompleto recebe as linhas novas, para não fragmentar a cópia
+            if (!segments.isEmpty() && segments.get(segments.size() - 1).size < segmentSize) {
+                tail = segments.remove(segments.size() - 1).growable(segmentSize);
+            }
+        }
+
+        /**
+         * Registra (ou renomeia) uma categoria.
+         */
+        public Builder category(long id, String name) {
+            dictionary.category(id, name);
+            return this;
+        }
+
+        /**
+         * Define as categorias de um produto para as linhas incluídas a seguir.
+         */
+        public Builder productCategories(long productId, long[] categoryIds) {
+            dictionary.productCategories(productId, categoryIds);
+            return this;
+        }
+
+        /**
+         * Inclui uma linha (item de pedido).
+         */
+        public Builder add(long orderId, long productId, int quantity, long priceCents, Instant moment, int statusCode) {
+            if (tail == null || tail.size == segmentSize) {
+                if (tail != null) {
+                    segments.add(tail);
+                }
+                tail = new Segment(segmentSize);
+            }
+            tail.append(orderId, productId, quantity, priceCents, minuteFloor(moment), statusCode,
+                    dictionary.setOf(productId));
+            return this;
+        }
+
+        public OrderItemColumns build() {
+            List<Segment> result = new ArrayList<>(segments);
+            if (tail != null && tail.size > 0) {
+                result.add(tail.trimmed());
+            }
+            return new OrderItemColumns(Collections.unmodifiableList(result), segmentSize,
+                    dictionary, Instant.now());
+        }
+    }
+
+    /**
+     * Bloco de linhas em arrays paralelos, com o intervalo de pedidos que contém.
+     */
+    private static final class Segment {
+        private long[] orderId;
+        private long[] productId;
+        private int[] quantity;
+        private long[] priceCents;
+        private int[] minute;
+        private int[] status;
+        private int[] categorySet;
+        private int size;
+        private long minOrderId = Long.MAX_VALUE;
+        private long maxOrderId = Long.MIN_VALUE;
+
+        private Segment(int capacity) {
+            orderId = new long[capacity];
+            productId = new long[capacity];
+            quantity = new int[capacity];
+            priceCents = new long[capacity];
+            minute = new int[capacity];
+            status = new int[capacity];
+            categorySet = new int[capacity];
+        }
+
+        private void append(long order, long product, int qty, long price, int epochMinute, int statusCode, int set) {
+            orderId[size] = order;
+            productId[size] = product;
+            quantity[size] = qty;
+            priceCents[size] = price;
+            minute[size] = epochMinute;
+            status[size] = statusCode;
+            categorySet[size] = set;
+            size++;
+            minOrderId = Math.min(minOrderId, order);
+            maxOrderId = Math.max(maxOrderId, order);
+        }
+
+        private void appendRow(Segment source, int row) {
+            append(source.orderId[row], source.productId[row], source.quantity[row], source.priceCents[row],
+                    source.minute[row], source.status[row], source.categorySet[row]);
+        }
+
+        /**
+         * @return Este segmento, se não contiver nenhum dos pedidos, ou uma cópia sem eles
+         */
+        private Segment without(long[] removedOrders) {
+            if (removedOrders.length == 0 || removedOrders[removedOrders.length - 1] < minOrderId
+                    || removedOrders[0] > maxOrderId) {
+                return this;
+            }
+            int first = -1;
+            for (int i = 0; i < size && first < 0; i++) {
+                if (Arrays.binarySearch(removedOrders, orderId[i]) >= 0) {
+                    first = i;
+                }
+            }
+            if (first < 0) {
+                return this;
+            }
+            Segment copy = new Segment(size);
+            for (int i = 0; i < size; i++) {
+                if (i < first || (i > first && Arrays.binarySearch(removedOrders, orderId[i]) < 0)) {
+                    copy.appendRow(this, i);
+                }
+            }
+            return copy.trimmed();
+        }
+
+        /**
+         * @return Cópia com capacidade para receber mais linhas (o segmento original não é alterado)
+         */
+        private Segment growable(int capacity) {
+            Segment copy = new Segment(capacity);
+            for (int i = 0; i < size; i++) {
+                copy.appendRow(this, i);
+            }
+            return copy;
+        }
+
+        private Segment trimmed() {
+            if (size < orderId.length) {
+                orderId = Arrays.copyOf(orderId, size);
+                productId = Arrays.copyOf(productId, size);
+                quantity = Arrays.copyOf(quantity, size);
+                priceCents = Arrays.copyOf(priceCents, size);
+                minute = Arrays.copyOf(minute, size);
+                status = Arrays.copyOf(status, size);
+                categorySet = Arrays.copyOf(categorySet, size);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Dicionário das categorias (código → id e nome), dos conjuntos de categorias (código → códigos
+     * das categorias) e do conjunto de cada produto.
+     */
+    private static final class Dictionary {
+        private final List<Long> ids;
+        private final List<String> names;
+        private final Map<Long, Integer> codeByCategory;
+        private final List<int[]> sets;
+        private final Map<List<Integer>, Integer> setCodes;
+        private final Map<Long, Integer> setByProduct;
+
+        private Dictionary() {
+            ids = new ArrayList<>();
+            names = new ArrayList<>();
+            codeByCategory = new HashMap<>();
+            sets = new ArrayList<>();
+            setCodes = new HashMap<>();
+            setByProduct = new HashMap<>();
+            sets.add(new int[0]);
+            setCodes.put(List.of(), 0);
+        }
+
+        private Dictionary(Dictionary other) {
+            ids = new ArrayList<>(other.ids);
+            names = new ArrayList<>(other.names);
+            codeByCategory = new HashMap<>(other.codeByCategory);
+            sets = new ArrayList<>(other.sets);
+            setCodes = new HashMap<>(other.setCodes);
+            setByProduct = new HashMap<>(other.setByProduct);
+        }
+
+        private Dictionary copy() {
+            return new Dictionary(this);
+        }
+
+        private int category(long id, String name) {
+            Integer code = codeByCategory.get(id);
+            if (code == null) {
+                code = ids.size();
+                ids.add(id);
+                names.add(name);
+                codeByCategory.put(id, code);
+            } else if (name != null) {
+                names.set(code, name);
+            }
+            return code;
+        }
+
+        private void productCategories(long productId, long[] categoryIds) {
+            List<Integer> codes = new ArrayList<>(categoryIds.length);
+            for (long categoryId : categoryIds) {
+                Integer code = codeByCategory.get(categoryId);
+                codes.add(code != null ? code : category(categoryId, null));
+            }
+            Collections.sort(codes);
+            Integer set = setCodes.get(codes);
+            if (set == null) {
+                set = sets.size();
+                sets.add(codes.stream().mapToInt(Integer::intValue).toArray());
+                setCodes.put(List.copyOf(codes), set);
+            }
+            setByProduct.put(productId, set);
+        }
+
+        private int setOf(long productId) {
+            return setByProduct.getOrDefault(productId, 0);
+        }
+    }
+
+    /**
+     * Parâmetros de uma varredura resolvidos contra o dicionário (compartilhados pelas tarefas).
+     */
+    private static final class Scan {
+        private final Query query;
+        private final Dimension first;
+        private final Dimension second;
+        private final long[] categoryIds;
+        private final int[][] sets;
+        private final boolean[] categoryAccepted;
+        private final boolean[] setAccepted;
+
+        private Scan(Query query, Dictionary dictionary) {
+            this.query = query;
+            this.first = query.groupBy.isEmpty() ? null : query.groupBy.get(0);
+            this.second = query.groupBy.size() < 2 ? null : query.groupBy.get(1);
+            this.categoryIds = dictionary.ids.stream().mapToLong(Long::longValue).toArray();
+            this.sets = dictionary.sets.toArray(new int[0][]);
+            if (query.categories == null) {
+                categoryAccepted = null;
+                setAccepted = null;
+            } else {
+                categoryAccepted = new boolean[categoryIds.length];
+                for (int code = 0; code < categoryIds.length; code++) {
+                    categoryAccepted[code] = Arrays.binarySearch(query.categories, categoryIds[code]) >= 0;
+                }
+                setAccepted = new boolean[sets.length];
+                for (int set = 0; set < sets.length; set++) {
+                    for (int code : sets[set]) {
+                        setAccepted[set] |= categoryAccepted[code];
+                    }
+                }
+            }
+        }
+    }
+
+    private final class ScanTask extends RecursiveTask<Aggregate> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        private ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Aggregate compute() {
+            if (to - from == 1) {
+                return scan(segments.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, middle);
+            left.fork();
+            Aggregate right = new ScanTask(scan, middle, to).compute();
+            return left.join().merge(right);
+        }
+
+        private Aggregate scan(Segment s) {
+            Query q = scan.query;
+            Aggregate aggregate = new Aggregate();
+            long[] firstValues = new long[Math.max(1, scan.categoryIds.length)];
+            long[] secondValues = new long[Math.max(1, scan.categoryIds.length)];
+            for (int i = 0; i < s.size; i++) {
+                int minute = s.minute[i];
+                if (minute < q.fromMinute || minute >= q.toMinute
+                        || (q.statusMask & (1 << s.status[i])) == 0
+                        || (q.products != null && Arrays.binarySearch(q.products, s.productId[i]) < 0)
+                        || (scan.setAccepted != null && !scan.setAccepted[s.categorySet[i]])) {
+                    continue;
+                }
+                long revenue = s.priceCents[i] * s.quantity[i];
+                aggregate.revenueCents += revenue;
+                aggregate.quantity += s.quantity[i];
+                aggregate.lines++;
+                if (scan.first == null) {
+                    continue;
+                }
+                int firstCount = values(scan.first, s, i, firstValues);
+                int secondCount = scan.second == null ? 1 : values(scan.second, s, i, secondValues);
+                for (int a = 0; a < firstCount; a++) {
+                    for (int b = 0; b < secondCount; b++) {
+                        aggregate.groups.add(firstValues[a], scan.second == null ? 0 : secondValues[b],
+                                revenue, s.quantity[i], 1);
+                    }
+                }
+            }
+            return aggregate;
+        }
+
+        /**
+         * Escreve em {@code out} os valores da dimensão para a linha (vários para categorias).
+         * @return Quantidade de valores
+         */
+        private int values(Dimension dimension, Segment s, int row, long[] out) {
+            switch (dimension) {
+                case PRODUCT -> out[0] = s.productId[row];
+                case STATUS -> out[0] = s.status[row];
+                case HOUR -> out[0] = Math.floorDiv(s.minute[row], MINUTES_PER_HOUR);
+                case DAY -> out[0] = Math.floorDiv(s.minute[row], MINUTES_PER_DAY);
+                case QUANTITY -> out[0] = s.quantity[row];
+                case CATEGORY -> {
+                    int count = 0;
+                    for (int code : scan.sets[s.categorySet[row]]) {
+                        if (scan.categoryAccepted == null || scan.categoryAccepted[code]) {
+                            out[count++] = scan.categoryIds[code];
+                        }
+                    }
+                    return count;
+                }
+            }
+            return 1;
+        }
+    }
+
+    /**
+     * Resultado parcial de uma varredura: totais e tabela de grupos.
+     */
+    private static final class Aggregate {
+        private long revenueCents;
+        private long quantity;
+        private long lines;
+        private final GroupTable groups = new GroupTable();
+
+        private Aggregate merge(Aggregate other) {
+            Aggregate target = groups.size >= other.groups.size ? this : other;
+            Aggregate source = target == this ? other : this;
+            target.revenueCents += source.revenueCents;
+            target.quantity += source.quantity;
+            target.lines += source.lines;
+            target.groups.addAll(source.groups);
+            return target;
+        }
+
+        private Result toResult() {
+            List<Group> list = groups.toList();
+            list.sort((a, b) -> a.first() != b.first()
+                    ? Long.compare(a.first(), b.first()) : Long.compare(a.second(), b.second()));
+            return new Result(revenueCents, quantity, lines, Collections.unmodifiableList(list));
+        }
+    }
+
+    /**
+     * Tabela de espalhamento com endereçamento aberto e chaves/somas em arrays primitivos
+     * (sem objetos por linha varrida).
+     */
+    private static final class GroupTable {
+        private long[] first = new long[16];
+        private long[] second = new long[16];
+        private long[] revenue = new long[16];
+        private long[] quantity = new long[16];
+        private long[] lines = new long[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        private void add(long a, long b, long revenueCents, long qty, long count) {
+            int mask = used.length - 1;
+            int slot = hash(a, b) & mask;
+            while (used[slot] && (first[slot] != a || second[slot] != b)) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                if ((size + 1) * 2 > used.length) {
+                    grow();
+                    add(a, b, revenueCents, qty, count);
+                    return;
+                }
+                used[slot] = true;
+                first[slot] = a;
+                second[slot] = b;
+                size++;
+            }
+            revenue[slot] += revenueCents;
+            quantity[slot] += qty;
+            lines[slot] += count;
+        }
+
+        private void addAll(GroupTable other) {
+            for (int i = 0; i < other.used.length; i++) {
+                if (other.used[i]) {
+                    add(other.first[i], other.second[i], other.revenue[i], other.quantity[i], other.lines[i]);
+                }
+            }
+        }
+
+        private void grow() {
+            GroupTable bigger = new GroupTable();
+            int capacity = used.length * 2;
+            bigger.first = new long[capacity];
+            bigger.second = new long[capacity];
+            bigger.revenue = new long[capacity];
+            bigger.quantity = new long[capacity];
+            bigger.lines = new long[capacity];
+            bigger.used = new boolean[capacity];
+            bigger.addAll(this);
+            first = bigger.first;
+            second = bigger.second;
+            revenue = bigger.revenue;
+            quantity = bigger.quantity;
+            lines = bigger.lines;
+            used = bigger.used;
+        }
+
+        private List<Group> toList() {
+            List<Group> list = new ArrayList<>(size);
+            for (int i = 0; i < used.length; i++) {
+                if (used[i]) {
+                    list.add(new Group(first[i], second[i], revenue[i], quantity[i], lines[i]));
+                }
+            }
+            return list;
+        }
+
+        private static int hash(long a, long b) {
+            long h = a * 0x9E3779B97F4A7C15L + b * 0xC2B2AE3D27D4EB4FL;
+            h ^= h >>> 29;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static int minuteFloor(Instant moment) {
+        return Math.toIntExact(Math.floorDiv(moment.getEpochSecond(), 60));
+    }
+
+    private static int minuteCeiling(Instant moment) {
+        return Math.toIntExact(Math.floorDiv(moment.getEpochSecond() + 59, 60));
+    }
+}
@@ -0,0 +1,113 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import com.alvaropaiva.SistemaDePedidos.repositories.OrderItemRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.OrderRepository;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serviço responsável pela escrita de itens de pedido ({@link OrderItem}).
+ *
+ * É o caminho de escrita dos itens: toda inclusão, alteração ou remoção ajusta, na mesma
+ * transação, o total persistido do pedido com um UPDATE incremental
+ * ({@code total = total + delta}), sem carregar o pedido nem os demais itens.
+ *
+ * Integrações:
+ * - Utiliza {@link OrderItemRepository} para persistir os itens
+ * - Utiliza {@link OrderRepository} para ajustar o total do pedido
+ *
+ * @see OrderTotalVerificationService Para a detecção/correção de divergências em massa
+ */
+@Service
+public class OrderItemService {
+
+    @Autowired
+    private OrderItemRepository repository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    /**
+     * Insere ou atualiza um item de pedido, ajustando o total do pedido pela diferença de subtotal.
+     * @param obj Item com pedido e produto definidos
+     * @return Item persistido
+     */
+    @Transactional
+    public OrderItem save(OrderItem obj) {
+        long delta = obj.getSubTotalCents() - previousSubTotal(obj);
+        OrderItem saved = repository.save(obj);
+        if (delta != 0) {
+            orderRepository.incrementTotal(obj.getOrder().getId(), delta);
+        }
+        return saved;
+    }
+
+    /**
+     * Insere ou atualiza vários itens, aplicando um único UPDATE de total por pedido afetado.
+     * Entradas repetidas para a mesma chave (pedido + produto) são reduzidas à última, que é a
+     * gravada, com uma única diferença de subtotal por chave.
+     * @param list Itens com pedido e produto definidos
+     * @return Itens persistidos (um por chave)
+     */
+    @Transactional
+    public List<OrderItem> saveAll(List<OrderItem> list) {
+        Map<Key, OrderItem> latest = new LinkedHashMap<>();
+        for (OrderItem obj : list) {
+            latest.put(new Key(obj.getOrder().getId(), obj.getProduct().getId()), obj);
+        }
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        for (OrderItem obj : latest.values()) {
+            long delta = obj.getSubTotalCents() - previousSubTotal(obj);
+            deltas.merge(obj.getOrder().getId(), delta, Long::sum);
+        }
+        List<OrderItem> saved = repository.saveAll(latest.values());
+        deltas.forEach((orderId, delta) -> {
+            if (delta != 0) {
+                orderRepository.incrementTotal(orderId, delta);
+            }
+        });
+        return saved;
+    }
+
+    /**
+     * Remove um item de pedido, subtraindo seu subtotal do total do pedido.
+     * @param orderId Identificador do pedido
+     * @param productId Identificador do produto
+     * @throws ResourceNotFoundException Se o item não existir (HTTP 404)
+     */
+    @Transactional
+    public void delete(Long orderId, Long productId) {
+        OrderItem entity = repository.findByOrderIdAndProductId(orderId, productId)
+                .orElseThrow(() -> new ResourceNotFoundException(orderId + "/" + productId));
+        Long stored = entity.getStoredSubTotalCents();
+        repository.delete(entity);
+        if (stored != null) {
+            orderRepository.incrementTotal(orderId, -stored);
+        }
+    }
+
+    /**
+     * Retorna o subtotal (em centavos) atualmente persistido para a chave (pedido + produto) do item,
+     * ou zero se o item ainda não existir. Usa o subtotal capturado ao carregar o item, e não os
+     * campos atuais: se {@code obj} é a própria instância gerenciada, já alterada pelo chamador,
+     * a consulta a retorna com os valores novos.
+     */
+    private long previousSubTotal(OrderItem obj) {
+        Optional<OrderItem> current = repository.findByOrderIdAndProductId(
+                obj.getOrder().getId(), obj.getProduct().getId());
+        return current.map(OrderItem::getStoredSubTotalCents).orElse(0L);
+    }
+
+    /**
+     * Chave composta de um item (pedido + produto), por ids
+     */
+    private record Key(Long orderId, Long productId) {}
+}
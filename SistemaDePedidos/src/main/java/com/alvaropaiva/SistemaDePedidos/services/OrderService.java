@@ -1,12 +1,42 @@
 package com.alvaropaiva.SistemaDePedidos.services;
 
+import com.alvaropaiva.SistemaDePedidos.dto.CursorPage;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderExportDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderStatusBulkResultDTO;
 import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.entities.User;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderEventType;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
 import com.alvaropaiva.SistemaDePedidos.repositories.OrderRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.ProductRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ConflictException;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pelas operações de negócio relacionadas a pedidos (Orders).
@@ -14,6 +44,8 @@ import java.util.Optional;
  * Funcionalidades principais:
  * - Consulta de todos os pedidos cadastrados
  * - Busca de pedido específico por ID
+ * - Alteração de status (individual e em massa) conforme a máquina de estados de {@link OrderStatus},
+ *   publicando os eventos correspondentes no outbox ({@link OrderEventOutbox}) na mesma transação
  *
  * Integrações:
  * - Utiliza {@link OrderRepository} para operações de persistência
@@ -25,6 +57,8 @@ import java.util.Optional;
  * Observações:
  * - Um pedido contém itens ({@link com.alvaropaiva.SistemaDePedidos.entities.OrderItem})
  * - O status do pedido é gerenciado pelo enum {@link com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus}
+ * - As consultas carregam o agregado (cliente, pagamento, itens, produtos e categorias) em um
+ *   número fixo de SELECTs, independentemente da quantidade de itens (sem N+1)
  */
 @Service
 public class OrderService {
@@ -32,25 +66,318 @@ public class OrderService {
     @Autowired
     private OrderRepository repository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderEventOutbox outbox;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Quantidade de pedidos processados por lote na exportação antes de limpar o contexto de persistência.
+     */
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    /**
+     * Quantidade de ids por UPDATE na alteração de status em massa.
+     */
+    private static final int STATUS_CHUNK_SIZE = 1000;
+
+    @Value("${app.orders.status.bulk-max-size:10000}")
+    private int bulkMaxSize;
+
     /**
      * Retorna todos os pedidos cadastrados no sistema.
      * @return Lista de pedidos (pode ser vazia se não houver registros)
      * @apiNote A ordem dos pedidos retornados depende da implementação do JPA
      */
+    @Transactional(readOnly = true)
     public List<Order> findALl(){
-        return repository.findAll();
+        List<Order> list = repository.findAll();
+        fetchAssociations(list);
+        return list;
+    }
+
+    /**
+     * Retorna uma página de pedidos usando paginação por cursor (keyset).
+     * @param cursor Cursor opaco retornado pela página anterior (null para a primeira página)
+     * @param limit Tamanho da página (limitado a {@link CursorPage#MAX_LIMIT})
+     * @return Página com o resumo dos pedidos (sem itens e pagamento) e o cursor da próxima página
+     * @throws com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException Se o cursor for inválido (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummaryDTO> findPage(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        long after = CursorPage.decode(cursor);
+        List<OrderSummaryDTO> rows = repository.findSummaries(after, Limit.of(size + 1));
+        return CursorPage.of(rows, size, OrderSummaryDTO::getId);
+    }
+
+    /**
+     * Retorna os pedidos mais recentes (ordenados pelo momento do pedido, decrescente).
+     * @param limit Quantidade de pedidos (limitado a {@link CursorPage#MAX_LIMIT})
+     * @return Lista dos pedidos mais recentes com suas associações carregadas em lote
+     */
+    @Transactional(readOnly = true)
+    public List<Order> findRecent(Integer limit) {
+        List<Order> list = repository.findAllByOrderByMomentDescIdDesc(Limit.of(CursorPage.clampLimit(limit)));
+        fetchAssociations(list);
+        return list;
     }
 
     /**
      * Busca um pedido específico pelo seu identificador único.
      * @param id Identificador do pedido
-     * @return O pedido encontrado
-     * @apiNote Este método retorna diretamente o valor do Optional,
-     *          podendo lançar NoSuchElementException se o ID não existir.
-     *          Recomenda-se tratamento adequado no controlador.
+     * @return O pedido encontrado, com itens, produtos, categorias e pagamento já carregados
+     * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
      */
+    @Transactional(readOnly = true)
     public Order findById(Long id){
-        Optional<Order> obj = repository.findById(id);
-        return obj.get();
+        Order order = repository.findWithDetailsById(id).orElseThrow(() -> new ResourceNotFoundException(id));
+        List<Product> products = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            products.add(item.getProduct());
+        }
+        productRepository.initializeCategories(products);
+        return order;
+    }
+
+    /**
+     * Versão atual de um pedido (com cliente, produtos e categorias exibidos no JSON), lida sem
+     * carregar entidades (GET condicional).
+     * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp findVersion(Long id) {
+        List<RowVersion> rows = repository.findVersionsById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return VersionStamp.builder().addAll(rows).build();
+    }
+
+    /**
+     * Versão de um pedido carregado por {@link #findById(Long)} (mesmo cálculo de {@link #findVersion(Long)}).
+     */
+    public VersionStamp versionOf(Order order) {
+        VersionStamp.Builder builder = VersionStamp.builder()
+                .add(RowVersion.ORDER, order.getId(), order.getVersion(), order.getLastModified());
+        User client = order.getClient();
+        if (client != null) {
+            builder.add(RowVersion.USER, client.getId(), client.getVersion(), client.getLastModified());
+        }
+        Set<Product> products = new HashSet<>();
+        Set<Category> categories = new HashSet<>();
+        for (OrderItem item : order.getItems()) {
+            if (products.add(item.getProduct())) {
+                categories.addAll(item.getProduct().getCategories());
+            }
+        }
+        for (Product product : products) {
+            builder.add(RowVersion.PRODUCT, product.getId(), product.getVersion(), product.getLastModified());
+        }
+        for (Category category : categories) {
+            builder.add(RowVersion.CATEGORY, category.getId(), category.getVersion(), category.getLastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Altera o status de um pedido, validando a transição ({@link OrderStatus#canTransitionTo}).
+     *
+     * Lê apenas o status atual e aplica a alteração com um único UPDATE condicional
+     * (WHERE id = ? AND order_status = status lido), sem carregar o agregado do pedido.
+     * Se outra transação alterar o status entre a leitura e o UPDATE, nenhuma linha é afetada
+     * e a requisição é rejeitada. Efeitos da transição, na mesma transação:
+     * - PAID: registra o pagamento, se ainda não existir
+     * - CANCELED: devolve ao estoque as quantidades dos itens
+     * - evento PAID ou STATUS_CHANGED gravado no outbox
+     * @param id Identificador do pedido
+     * @param status Novo status
+     * @throws InvalidRequestException Se o status não for informado (HTTP 400)
+     * @throws ResourceNotFoundException Se o pedido não existir (HTTP 404)
+     * @throws ConflictException Se a transição não for permitida ou o status mudou concorrentemente (HTTP 409)
+     */
+    @Transactional
+    public void updateStatus(Long id, OrderStatus status) {
+        if (status == null) {
+            throw new InvalidRequestException("Order status is required");
+        }
+        OrderStatus current = OrderStatus.valueOf(
+                repository.findStatusById(id).orElseThrow(() -> new ResourceNotFoundException(id)));
+        if (!current.canTransitionTo(status)) {
+            throw new ConflictException("Invalid status transition for order " + id + ": " + current + " -> " + status);
+        }
+        if (repository.updateStatus(id, status.getCode(), List.of(current.getCode())) == 0) {
+            throw new ConflictException("Order " + id + " status was changed concurrently");
+        }
+        afterTransition(List.of(id), status);
+        outbox.append(OrderEventType.ofTransitionTo(status), List.of(id), status);
+    }
+
+    /**
+     * Cancela um pedido e devolve ao estoque as quantidades de seus itens.
+     * @param id Identificador do pedido
+     * @throws ResourceNotFoundException Se o pedido não existir (HTTP 404)
+     * @throws ConflictException Se o pedido não puder mais ser cancelado (HTTP 409)
+     */
+    @Transactional
+    public void cancel(Long id) {
+        updateStatus(id, OrderStatus.CANCELED);
+    }
+
+    /**
+     * Altera o status de vários pedidos de uma vez (ex: envio de milhares de pedidos).
+     *
+     * Os pedidos são alterados em lotes de {@value #STATUS_CHUNK_SIZE} ids, cada lote com um único
+     * UPDATE condicional (WHERE id IN (...) AND order_status IN (status de origem permitidos)).
+     * Pedidos inexistentes ou em status que não permite a transição são apenas reportados.
+     * O cancelamento é aplicado pedido a pedido, pois cada pedido cancelado devolve seu estoque.
+     * Um evento é gravado no outbox apenas para os pedidos efetivamente alterados (os que já estavam
+     * no status de destino são identificados antes do UPDATE).
+     * @param ids Pedidos a alterar
+     * @param status Novo status
+     * @return Quantidade de pedidos alterados e pedidos rejeitados
+     * @throws InvalidRequestException Se a lista for vazia, exceder o limite ou o status for inválido (HTTP 400)
+     */
+    @Transactional
+    public OrderStatusBulkResultDTO updateStatus(List<Long> ids, OrderStatus status) {
+        if (status == null) {
+            throw new InvalidRequestException("Order status is required");
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("Order ids are required");
+        }
+        if (ids.size() > bulkMaxSize) {
+            throw new InvalidRequestException("Status update exceeds the maximum of " + bulkMaxSize + " orders");
+        }
+        List<Integer> from = new ArrayList<>();
+        for (OrderStatus x : OrderStatus.predecessorsOf(status)) {
+            from.add(x.getCode());
+        }
+        if (from.isEmpty()) {
+            throw new InvalidRequestException("No order can transition to " + status);
+        }
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        int updated = 0;
+        List<Long> rejected = new ArrayList<>();
+        if (status == OrderStatus.CANCELED) {
+            for (Long id : distinct) {
+                if (repository.updateStatus(id, status.getCode(), from) == 1) {
+                    afterTransition(List.of(id), status);
+                    outbox.append(OrderEventType.ofTransitionTo(status), List.of(id), status);
+                    updated++;
+                } else {
+                    rejected.add(id);
+                }
+            }
+        } else {
+            for (int i = 0; i < distinct.size(); i += STATUS_CHUNK_SIZE) {
+                List<Long> chunk = distinct.subList(i, Math.min(i + STATUS_CHUNK_SIZE, distinct.size()));
+                Set<Long> already = new HashSet<>(repository.findIdsInStatus(chunk, status.getCode()));
+                updated += repository.updateStatus(chunk, status.getCode(), from);
+                afterTransition(chunk, status);
+                Set<Long> inStatus = new HashSet<>(repository.findIdsInStatus(chunk, status.getCode()));
+                List<Long> changed = new ArrayList<>();
+                for (Long id : chunk) {
+                    if (!inStatus.contains(id)) {
+                        rejected.add(id);
+                    } else if (!already.contains(id)) {
+                        changed.add(id);
+                    }
+                }
+                outbox.append(OrderEventType.ofTransitionTo(status), changed, status);
+            }
+        }
+        return new OrderStatusBulkResultDTO(status, updated, rejected);
+    }
+
+    /**
+     * Aplica os efeitos colaterais de uma transição de status já gravada.
+     */
+    private void afterTransition(List<Long> ids, OrderStatus status) {
+        if (status == OrderStatus.PAID) {
+            repository.createMissingPayments(ids, Instant.now());
+        } else if (status == OrderStatus.CANCELED) {
+            for (Long id : ids) {
+                inventoryService.release(id);
+            }
+        }
+    }
+
+    /**
+     * Exporta todos os pedidos (com itens e total) em NDJSON, um pedido por linha,
+     * escrevendo diretamente no stream de saída com uso de memória constante.
+     *
+     * Os pedidos são lidos por cursor ({@link OrderRepository#streamAll()}) e processados em
+     * lotes de {@value #EXPORT_CHUNK_SIZE}: os itens do lote são carregados com um único SELECT,
+     * as linhas são escritas e o contexto de persistência é limpo antes do próximo lote.
+     * @param out Stream de saída da resposta HTTP
+     * @return Quantidade de pedidos exportados
+     * @throws IOException Se ocorrer falha de escrita (ex: cliente desconectado)
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long count = 0;
+        List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Order> stream = repository.streamAll()) {
+            Iterator<Order> it = stream.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !it.hasNext()) {
+                    count += writeChunk(chunk, out);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Escreve um lote de pedidos como linhas NDJSON.
+     * @param chunk Pedidos do lote (gerenciados pelo contexto de persistência)
+     * @param out Stream de saída
+     * @return Quantidade de linhas escritas
+     */
+    private int writeChunk(List<Order> chunk, OutputStream out) throws IOException {
+        repository.fetchItems(chunk);
+        for (Order order : chunk) {
+            out.write(objectMapper.writeValueAsBytes(new OrderExportDTO(order)));
+            out.write('\n');
+        }
+        out.flush();
+        return chunk.size();
+    }
+
+    /**
+     * Carrega em lote as associações de uma lista de pedidos: um SELECT para os itens de todos
+     * os pedidos; produtos e categorias vêm do cache de segundo nível (no máximo um SELECT
+     * por tipo para os ausentes).
+     * @param orders Pedidos gerenciados pelo contexto de persistência atual
+     */
+    private void fetchAssociations(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        repository.fetchItems(orders);
+        Set<Product> products = new HashSet<>();
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                products.add(item.getProduct());
+            }
+        }
+        if (!products.isEmpty()) {
+            productRepository.initializeCategories(products);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.repositories.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Job de verificação do total persistido dos pedidos.
+ *
+ * Percorre "tb_order" em faixas de ids (keyset) e, para cada faixa, executa uma única consulta
+ * que compara o total armazenado com a soma recalculada dos itens. Os pedidos divergentes
+ * (ou ainda sem total, ex: linhas anteriores à coluna) são corrigidos com um UPDATE em massa.
+ * Cada faixa roda em sua própria transação, mantendo as transações curtas.
+ *
+ * Configuração (application.properties):
+ * - app.orders.total-verification.cron: agenda de execução (padrão: diariamente às 03:00)
+ * - app.orders.total-verification.batch-size: tamanho da faixa de ids por transação
+ */
+@Service
+public class OrderTotalVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderTotalVerificationService.class);
+
+    @Autowired
+    private OrderRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.orders.total-verification.batch-size:10000}")
+    private int batchSize;
+
+    /**
+     * Execução agendada da verificação.
+     */
+    @Scheduled(cron = "${app.orders.total-verification.cron:0 0 3 * * *}")
+    public void scheduledVerification() {
+        verifyTotals();
+    }
+
+    /**
+     * Verifica e corrige o total de todos os pedidos.
+     * @return Quantidade de pedidos cujo total divergia e foi corrigido
+     */
+    public long verifyTotals() {
+        long maxId = repository.findMaxId();
+        long fixed = 0;
+        for (long after = 0; after < maxId; after += batchSize) {
+            long from = after;
+            long to = Math.min(after + batchSize, maxId);
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> drifted = repository.findIdsWithTotalDrift(from, to);
+                if (drifted.isEmpty()) {
+                    return 0;
+                }
+                log.warn("Order total drift detected for {} orders in id range ({}, {}]: {}",
+                        drifted.size(), from, to, drifted.size() > 20 ? drifted.subList(0, 20) + "..." : drifted);
+                return repository.recalculateTotals(drifted);
+            });
+            fixed += count == null ? 0 : count;
+        }
+        log.info("Order total verification finished: ids up to {} scanned, {} orders corrected", maxId, fixed);
+        return fixed;
+    }
+}
@@ -0,0 +1,341 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória sobre nome e descrição dos produtos.
+ *
+ * Cada produto ocupa uma posição (slot) interna; cada termo (token normalizado) aponta para a lista
+ * de slots que o contêm, com o peso do campo (nome vale mais que descrição). O dicionário de termos
+ * é ordenado, de modo que a busca por prefixo é uma varredura do intervalo [prefixo, prefixo + U+FFFF).
+ *
+ * Normalização: minúsculas, remoção de acentos (NFD sem marcas combinantes: "Pão de Açúcar"
+ * → "pao", "de", "acucar") e separação por caracteres não alfanuméricos.
+ *
+ * Busca: todos os termos da consulta precisam casar (E lógico), cada um como termo exato ou
+ * como prefixo de um termo indexado. Pontuação por termo = peso do campo × idf, com bônus
+ * para casamento exato; resultados em ordem decrescente de pontuação e, no empate, de ID.
+ * A pontuação usa arrays primitivos reaproveitados entre buscas (um por busca simultânea, não
+ * por thread) e seleção dos k melhores sem ordenar todos os candidatos.
+ *
+ * Thread-safe: leituras concorrentes, escritas exclusivas (ReadWriteLock).
+ */
+public class ProductSearchIndex {
+
+    static final int NAME_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+    private static final double EXACT_BOOST = 2.0;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private Entry[] entries = new Entry[64];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Documento indexado: o resumo devolvido nas buscas e os termos (para remoção).
+     */
+    private record Entry(ProductSummaryDTO product, Set<String> terms) {}
+
+    /**
+     * Lista de ocorrências de um termo: slots e pesos em arrays paralelos.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int slot, int weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Área de trabalho de uma busca. Apenas as posições tocadas são zeradas ao final.
+     */
+    private static final class Scratch {
+        int[] matchedTerms = new int[0];
+        double[] termScore = new double[0];
+        double[] score = new double[0];
+        int[] touched = new int[0];
+        int touchedCount;
+
+        void ensureCapacity(int capacity) {
+            if (matchedTerms.length < capacity) {
+                matchedTerms = new int[capacity];
+                termScore = new double[capacity];
+                score = new double[capacity];
+                touched = new int[capacity];
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                matchedTerms[touched[i]] = 0;
+                score[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /**
+     * Inclui ou substitui um produto no índice.
+     * @param product Resumo do produto (ID obrigatório)
+     */
+    public void put(ProductSummaryDTO product) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(product.getName())) {
+            weights.merge(term, NAME_WEIGHT, Math::max);
+        }
+        for (String term : tokenize(product.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(product.getId());
+            int slot = allocateSlot();
+            for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                postings.computeIfAbsent(weight.getKey(), k -> new Postings()).add(slot, weight.getValue());
+            }
+            entries[slot] = new Entry(product, weights.keySet());
+            slotById.put(product.getId(), slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um produto do índice (sem efeito se não estiver indexado).
+     * @param id Identificador do produto
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todos os produtos do índice.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotById.clear();
+            Arrays.fill(entries, null);
+            slotCount = 0;
+            freeCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Quantidade de produtos indexados
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca produtos cujo nome/descrição contenham todos os termos da consulta (exatos ou como prefixo).
+     * @param query Texto digitado pelo usuário
+     * @param limit Quantidade máxima de resultados
+     * @return Produtos em ordem de relevância (vazio se a consulta não tiver termos)
+     */
+    public List<ProductSummaryDTO> search(String query, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Scratch s = scratchPool.poll();
+        if (s == null) {
+            s = new Scratch();
+        }
+        lock.readLock().lock();
+        try {
+            s.ensureCapacity(entries.length);
+            int matched = 0;
+            for (String term : terms) {
+                if (!match(term, matched, s)) {
+                    return List.of();
+                }
+                matched++;
+            }
+            return top(s, matched, limit);
+        } finally {
+            s.reset();
+            lock.readLock().unlock();
+            scratchPool.offer(s);
+        }
+    }
+
+    /**
+     * Pontua o termo (exato ou prefixo) para os slots que casaram com todos os termos anteriores.
+     * Um slot que casa com vários termos do intervalo fica com a maior pontuação.
+     * @param previous Quantidade de termos já processados
+     * @return false se nenhum slot continua candidato
+     */
+    private boolean match(String term, int previous, Scratch s) {
+        int current = previous + 1;
+        double documents = slotById.size();
+        for (Map.Entry<String, Postings> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            Postings list = entry.getValue();
+            double factor = Math.log(1.0 + documents / list.size) * (entry.getKey().equals(term) ? EXACT_BOOST : 1.0);
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.slots[i];
+                double value = list.weights[i] * factor;
+                if (s.matchedTerms[slot] == previous) {
+                    s.matchedTerms[slot] = current;
+                    s.termScore[slot] = value;
+                    if (previous == 0) {
+                        s.touched[s.touchedCount++] = slot;
+                    }
+                } else if (s.matchedTerms[slot] == current && value > s.termScore[slot]) {
+                    s.termScore[slot] = value;
+                }
+            }
+        }
+        boolean any = false;
+        for (int i = 0; i < s.touchedCount; i++) {
+            int slot = s.touched[i];
+            if (s.matchedTerms[slot] == current) {
+                s.score[slot] += s.termScore[slot];
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    /**
+     * Seleciona os {@code limit} melhores slots que casaram com todos os termos
+     * (inserção ordenada em um array de tamanho limit).
+     */
+    private List<ProductSummaryDTO> top(Scratch s, int terms, int limit) {
+        int[] best = new int[Math.min(limit, s.touchedCount)];
+        int count = 0;
+        for (int i = 0; i < s.touchedCount; i++) {
+            int slot = s.touched[i];
+            if (s.matchedTerms[slot] != terms) {
+                continue;
+            }
+            if (count == best.length && !ranksBefore(slot, best[count - 1], s)) {
+                continue;
+            }
+            int pos = count == best.length ? count - 1 : count++;
+            while (pos > 0 && ranksBefore(slot, best[pos - 1], s)) {
+                best[pos] = best[pos - 1];
+                pos--;
+            }
+            best[pos] = slot;
+        }
+        List<ProductSummaryDTO> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(entries[best[i]].product());
+        }
+        return result;
+    }
+
+    private boolean ranksBefore(int slot, int other, Scratch s) {
+        if (s.score[slot] != s.score[other]) {
+            return s.score[slot] > s.score[other];
+        }
+        return entries[slot].product().getId() < entries[other].product().getId();
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == entries.length) {
+            entries = Arrays.copyOf(entries, slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    private void removeLocked(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String term : entries[slot].terms()) {
+            Postings list = postings.get(term);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        entries[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Quebra o texto em termos normalizados (minúsculas, sem acentos), sem repetições.
+     * @param text Texto (null resulta em conjunto vazio)
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,139 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.CursorPage;
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.repositories.ProductRepository;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Busca textual de produtos (nome e descrição) respondida pelo {@link ProductSearchIndex} em memória,
+ * sem consultar o banco.
+ *
+ * O índice é construído na inicialização, antes de o servidor web aceitar requisições, percorrendo
+ * os produtos em páginas keyset, e atualizado a cada escrita JPA de produto (via
+ * {@link com.alvaropaiva.SistemaDePedidos.entities.listeners.CatalogChangeListener}), após o commit
+ * da transação. Escritas feitas diretamente por SQL não são vistas até o próximo {@link #rebuild()}.
+ *
+ * A reconstrução preenche um índice novo e só então o publica no lugar do atual (referência volatile):
+ * as buscas durante a reconstrução continuam respondidas pelo índice completo anterior. Escritas
+ * confirmadas durante a reconstrução são aplicadas aos dois índices.
+ */
+@Service
+public class ProductSearchService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchService.class);
+
+    /**
+     * Produtos lidos por consulta na construção do índice.
+     */
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    @Autowired
+    private ProductRepository repository;
+
+    private volatile ProductSearchIndex index = new ProductSearchIndex();
+    private volatile ProductSearchIndex building;
+
+    /**
+     * Busca produtos por termos do nome/descrição (sem acentos, aceitando prefixos).
+     * @param query Texto da busca
+     * @param limit Quantidade máxima de resultados (padrão 20, limitado a {@link CursorPage#MAX_LIMIT})
+     * @return Produtos em ordem de relevância (pode ser vazia)
+     * @throws InvalidRequestException Se a consulta estiver vazia (HTTP 400)
+     */
+    public List<ProductSummaryDTO> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be empty");
+        }
+        return index.search(query, CursorPage.clampLimit(limit));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * (Re)constrói o índice a partir do banco e substitui o atual ao final.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        ProductSearchIndex fresh = new ProductSearchIndex();
+        building = fresh;
+        try {
+            long after = 0;
+            List<ProductSummaryDTO> page;
+            do {
+                page = repository.findSummaries(after, Limit.of(LOAD_PAGE_SIZE));
+                for (ProductSummaryDTO product : page) {
+                    fresh.put(product);
+                    after = product.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            index = fresh;
+        } finally {
+            building = null;
+        }
+        log.info("Product search index built: {} products in {} ms",
+                fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reindexa um produto inserido ou alterado, após o commit da transação corrente (ou imediatamente,
+     * se não houver transação). Os campos são lidos agora, no estado que está sendo gravado.
+     * @param product Produto gravado
+     */
+    public void productSaved(Product product) {
+        ProductSummaryDTO summary = summary(product);
+        afterCommit(() -> apply(target -> target.put(summary)));
+    }
+
+    /**
+     * Remove um produto do índice após o commit da transação corrente.
+     * @param id Identificador do produto removido
+     */
+    public void productRemoved(Long id) {
+        afterCommit(() -> apply(target -> target.remove(id)));
+    }
+
+    /**
+     * Aplica uma escrita ao índice publicado e ao que está sendo reconstruído, se houver.
+     */
+    private void apply(Consumer<ProductSearchIndex> write) {
+        ProductSearchIndex next = building;
+        write.accept(index);
+        if (next != null) {
+            write.accept(next);
+        }
+    }
+
+    private static ProductSummaryDTO summary(Product product) {
+        return new ProductSummaryDTO(product.getId(), product.getName(), product.getDescription(),
+                product.getPriceCents(), product.getImgUrl(), product.getVersion(), product.getLastModified());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
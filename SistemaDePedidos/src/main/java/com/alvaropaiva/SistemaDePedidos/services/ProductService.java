@@ -1,12 +1,21 @@
 package com.alvaropaiva.SistemaDePedidos.services;
 
+import com.alvaropaiva.SistemaDePedidos.config.CacheConfig;
+import com.alvaropaiva.SistemaDePedidos.dto.CursorPage;
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
 import com.alvaropaiva.SistemaDePedidos.entities.Product;
 import com.alvaropaiva.SistemaDePedidos.repositories.ProductRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Serviço responsável pelas operações de negócio relacionadas a produtos.
@@ -14,6 +23,7 @@ import java.util.Optional;
  * Funcionalidades principais:
  * - Consulta de todos os produtos cadastrados
  * - Busca de produto específico por ID
+ * - Listagem de produtos de uma categoria
  *
  * Integrações:
  * - Utiliza {@link ProductRepository} para operações de persistência
@@ -24,6 +34,9 @@ import java.util.Optional;
  * Observações:
  * - Cada produto pode pertencer a múltiplas categorias
  * - O preço do produto pode variar em diferentes pedidos (preço histórico)
+ * - Busca por ID e listagem por categoria passam pelo cache do catálogo ({@link CacheConfig});
+ *   os valores em cache já têm as categorias inicializadas e são invalidados por
+ *   {@link CatalogCacheInvalidator} em qualquer escrita de produto ou categoria
  */
 @Service
 public class ProductService {
@@ -36,21 +49,99 @@ public class ProductService {
      * @return Lista de produtos (pode ser vazia se não houver registros)
      * @apiNote Inclui produtos com e sem categorias associadas
      */
+    @Transactional(readOnly = true)
     public List<Product> findALl() {
         return repository.findAll();
     }
 
+    /**
+     * Retorna uma página de produtos usando paginação por cursor (keyset).
+     * @param cursor Cursor opaco retornado pela página anterior (null para a primeira página)
+     * @param limit Tamanho da página (limitado a {@link CursorPage#MAX_LIMIT})
+     * @return Página com o resumo dos produtos (sem estoque e categorias) e o cursor da próxima página
+     * @throws com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException Se o cursor for inválido (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummaryDTO> findPage(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        long after = CursorPage.decode(cursor);
+        List<ProductSummaryDTO> rows = repository.findSummaries(after, Limit.of(size + 1));
+        return CursorPage.of(rows, size, ProductSummaryDTO::getId);
+    }
+
+    /**
+     * Versão atual de uma página de produtos: lê apenas id, versão e data de alteração das mesmas
+     * linhas de {@link #findPage(String, Integer)} (GET condicional).
+     * @throws com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException Se o cursor for inválido (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp findPageVersion(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        long after = CursorPage.decode(cursor);
+        CursorPage<RowVersion> page = CursorPage.of(repository.findVersions(after, Limit.of(size + 1)), size, RowVersion::getId);
+        return VersionStamp.builder().addAll(page.getContent()).qualifier(page.getNextCursor()).build();
+    }
+
+    /**
+     * Versão de uma página já carregada (mesmo cálculo de {@link #findPageVersion(String, Integer)}).
+     */
+    public VersionStamp versionOf(CursorPage<ProductSummaryDTO> page) {
+        VersionStamp.Builder builder = VersionStamp.builder();
+        for (ProductSummaryDTO product : page.getContent()) {
+            builder.add(RowVersion.PRODUCT, product.getId(), product.getVersion(), product.getLastModified());
+        }
+        return builder.qualifier(page.getNextCursor()).build();
+    }
+
     /**
      * Busca um produto específico pelo seu identificador único.
      * @param id Identificador do produto
-     * @return O produto encontrado
-     * @apiNote Este método retorna diretamente o valor do Optional,
-     *          podendo lançar NoSuchElementException se o ID não existir.
-     *          Recomenda-se tratamento adequado no controlador.
-     *          O produto retornado inclui suas categorias associadas (se existirem)
+     * @return O produto encontrado, com suas categorias associadas (se existirem)
+     * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
      */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    @Transactional(readOnly = true)
     public Product findById(Long id) {
-        Optional<Product> obj = repository.findById(id);
-        return obj.get();
+        Product product = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException(id));
+        repository.initializeCategories(List.of(product));
+        return product;
+    }
+
+    /**
+     * Versão atual de um produto e de suas categorias, lida sem carregar entidades (GET condicional).
+     * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp findVersion(Long id) {
+        List<RowVersion> rows = repository.findVersionsById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return VersionStamp.builder().addAll(rows).build();
+    }
+
+    /**
+     * Versão de um produto já carregado, com suas categorias (mesmo cálculo de {@link #findVersion(Long)}).
+     */
+    public VersionStamp versionOf(Product product) {
+        VersionStamp.Builder builder = VersionStamp.builder()
+                .add(RowVersion.PRODUCT, product.getId(), product.getVersion(), product.getLastModified());
+        for (Category category : product.getCategories()) {
+            builder.add(RowVersion.CATEGORY, category.getId(), category.getVersion(), category.getLastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Lista os produtos de uma categoria, em ordem de ID.
+     * @param categoryId Identificador da categoria
+     * @return Lista imutável de produtos (pode ser vazia), com categorias associadas carregadas
+     */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_CATEGORY, key = "#categoryId")
+    @Transactional(readOnly = true)
+    public List<Product> findByCategory(Long categoryId) {
+        List<Product> list = repository.findByCategoryId(categoryId);
+        repository.initializeCategories(list);
+        return List.copyOf(list);
     }
 }
\ No newline at end of file
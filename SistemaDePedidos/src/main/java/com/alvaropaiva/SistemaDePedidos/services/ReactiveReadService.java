@@ -0,0 +1,132 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.OrderExportDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Serviço de leitura não bloqueante (R2DBC) de pedidos e produtos.
+ *
+ * Os resultados são emitidos como {@link Flux} com backpressure: a tabela é percorrida em
+ * páginas keyset (WHERE id > ? ORDER BY id LIMIT n) e a próxima página só é consultada quando
+ * o consumidor (cliente HTTP) já recebeu a anterior. Assim um cliente lento não mantém
+ * uma conexão aberta durante todo o streaming nem acumula a listagem inteira em memória.
+ *
+ * Propriedade app.reactive.page-size: linhas por consulta (padrão 200).
+ */
+@Service
+public class ReactiveReadService {
+
+    private static final String ORDERS_SQL =
+            "SELECT id, moment, order_status, client_id, total_cents FROM tb_order WHERE id > :after ORDER BY id LIMIT :limit";
+    private static final String ITEMS_SQL =
+            "SELECT order_id, product_id, quantity, price_cents FROM tb_order_item WHERE order_id IN (:ids) ORDER BY order_id";
+    private static final String PRODUCTS_SQL =
+            "SELECT id, name, description, price_cents, img_url FROM tb_products WHERE id > :after ORDER BY id LIMIT :limit";
+
+    @Autowired
+    private DatabaseClient client;
+
+    @Value("${app.reactive.page-size:200}")
+    private int pageSize;
+
+    /**
+     * Emite os pedidos (com itens) em ordem de ID.
+     * @param after Emite apenas pedidos com ID maior que este (null = desde o início)
+     * @return Fluxo de pedidos
+     */
+    public Flux<OrderExportDTO> streamOrders(Long after) {
+        return paginate(after, this::findOrderPage, OrderExportDTO::getId);
+    }
+
+    /**
+     * Emite os produtos em ordem de ID.
+     * @param after Emite apenas produtos com ID maior que este (null = desde o início)
+     * @return Fluxo de produtos
+     */
+    public Flux<ProductSummaryDTO> streamProducts(Long after) {
+        return paginate(after, this::findProductPage, ProductSummaryDTO::getId);
+    }
+
+    /**
+     * Encadeia páginas keyset sob demanda; termina na primeira página incompleta.
+     * O prefetch de uma página limita o que fica em memória por cliente.
+     */
+    private <T> Flux<T> paginate(Long after, Function<Long, Mono<List<T>>> page, Function<T, Long> idExtractor) {
+        return page.apply(after != null ? after : 0L)
+                .expand(rows -> rows.size() < pageSize
+                        ? Mono.empty()
+                        : page.apply(idExtractor.apply(rows.get(rows.size() - 1))))
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    private Mono<List<OrderExportDTO>> findOrderPage(Long after) {
+        return client.sql(ORDERS_SQL)
+                .bind("after", after)
+                .bind("limit", pageSize)
+                .map(row -> {
+                    Integer status = row.get("order_status", Integer.class);
+                    return new OrderExportDTO(
+                            row.get("id", Long.class),
+                            toInstant(row.get("moment", OffsetDateTime.class)),
+                            status != null ? OrderStatus.valueOf(status) : null,
+                            row.get("client_id", Long.class),
+                            new ArrayList<>(),
+                            row.get("total_cents", Long.class));
+                })
+                .all()
+                .collectList()
+                .flatMap(orders -> orders.isEmpty() ? Mono.just(orders) : fetchItems(orders));
+    }
+
+    /**
+     * Carrega os itens de uma página de pedidos em uma única consulta (IN).
+     */
+    private Mono<List<OrderExportDTO>> fetchItems(List<OrderExportDTO> orders) {
+        Map<Long, OrderExportDTO> byId = new HashMap<>();
+        for (OrderExportDTO order : orders) {
+            byId.put(order.getId(), order);
+        }
+        return client.sql(ITEMS_SQL)
+                .bind("ids", byId.keySet())
+                .map(row -> Map.entry(row.get("order_id", Long.class), new OrderExportDTO.Item(
+                        row.get("product_id", Long.class),
+                        row.get("quantity", Integer.class),
+                        row.get("price_cents", Long.class))))
+                .all()
+                .doOnNext(item -> byId.get(item.getKey()).getItems().add(item.getValue()))
+                .then(Mono.just(orders));
+    }
+
+    private Mono<List<ProductSummaryDTO>> findProductPage(Long after) {
+        return client.sql(PRODUCTS_SQL)
+                .bind("after", after)
+                .bind("limit", pageSize)
+                .map(row -> new ProductSummaryDTO(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("price_cents", Long.class),
+                        row.get("img_url", String.class)))
+                .all()
+                .collectList();
+    }
+
+    private static Instant toInstant(OffsetDateTime moment) {
+        return moment != null ? moment.toInstant() : null;
+    }
+}
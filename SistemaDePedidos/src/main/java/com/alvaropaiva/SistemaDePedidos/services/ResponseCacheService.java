@@ -0,0 +1,300 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.config.BinaryFormatConfig;
+import com.alvaropaiva.SistemaDePedidos.dto.CacheStatsDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache de respostas HTTP já serializadas (bytes), para GETs quentes do catálogo
+ * (GET /categories e GET /products/{id}): uma resposta em cache é enviada sem consultar o banco
+ * e sem executar o Jackson.
+ *
+ * Chave: caminho da URI + formato negociado pelo Accept (JSON, Smile ou CBOR). A query string não
+ * faz parte da chave: as rotas em cache não têm parâmetros, e parâmetros arbitrários apenas criariam
+ * entradas duplicadas (e carregamentos no banco) para a mesma representação.
+ * Cada entrada guarda o corpo, o Content-Type e a versão (ETag/Last-Modified) da representação;
+ * GETs condicionais são respondidos com 304 a partir dessa versão.
+ *
+ * Validade (stale-while-revalidate):
+ * - app.response-cache.refresh-after (TTL "soft"): após esse tempo, o próximo acesso recebe os bytes
+ *   guardados e dispara a recarga em segundo plano; nenhuma requisição aguarda o banco por uma chave quente
+ * - app.response-cache.expire-after (TTL "hard"): entradas sem acesso que as recarregue expiram
+ * - escritas de Product/Category purgam as entradas que exibem a linha alterada (etiquetas
+ *   "product:{id}", "category:{id}" e "categories"), via {@link CatalogCacheInvalidator};
+ *   uma recarga em andamento para uma entrada purgada é descartada
+ *
+ * O corpo é guardado sem compressão; a compressão (br/gzip) é aplicada na saída por
+ * {@link com.alvaropaiva.SistemaDePedidos.config.ResponseCompressionFilter}.
+ */
+@Service
+public class ResponseCacheService {
+
+    public static final String CATEGORIES = "categories";
+
+    private static final String PRODUCT_PREFIX = "product:";
+    private static final String CATEGORY_PREFIX = "category:";
+
+    @Value("${app.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.response-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.response-cache.refresh-after:30s}")
+    private Duration refreshAfter;
+
+    @Value("${app.response-cache.expire-after:10m}")
+    private Duration expireAfter;
+
+    @Autowired
+    private HttpMessageConverters converters;
+
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+
+    private LoadingCache<Key, Entry> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .executor(executor)
+                .recordStats()
+                .build(this::render);
+    }
+
+    /**
+     * Resposta de um GET a partir do cache (carregando-a na primeira requisição).
+     * @param request Requisição (caminho e cabeçalhos Accept, If-None-Match e If-Modified-Since)
+     * @param loader Carrega a representação; executado na requisição (ausência no cache) ou em segundo plano
+     *               (recarga), portanto não deve depender do estado da requisição
+     * @return Resposta 200 com os bytes da representação, ou 304 se o cliente já tem esta versão
+     * @throws HttpMediaTypeNotAcceptableException Se o Accept não admitir nenhum formato da API (HTTP 406)
+     */
+    public ResponseEntity<byte[]> get(HttpServletRequest request, Supplier<Source> loader)
+            throws HttpMediaTypeNotAcceptableException {
+        MediaType type = negotiate(request);
+        Key key = new Key(request.getRequestURI(), type, loader);
+        Entry entry = enabled ? cache.get(key) : render(key);
+
+        HttpHeaders headers = new ServletServerHttpRequest(request).getHeaders();
+        if (entry.version.isNotModified(headers)) {
+            return entry.version.applyTo(ResponseEntity.status(HttpStatus.NOT_MODIFIED))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return entry.version.applyTo(ResponseEntity.ok())
+                .contentType(entry.contentType)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(entry.body);
+    }
+
+    /**
+     * Purga as respostas que exibem o produto.
+     * @param id Identificador do produto (null purga todas as respostas com produtos)
+     */
+    public void productChanged(Long id) {
+        purge(id == null
+                ? tags -> tags.stream().anyMatch(tag -> tag.startsWith(PRODUCT_PREFIX))
+                : tags -> tags.contains(productTag(id)));
+    }
+
+    /**
+     * Purga as respostas que exibem a categoria e a listagem de categorias (inclusive para categorias novas).
+     * @param id Identificador da categoria (null purga todas as respostas com categorias)
+     */
+    public void categoryChanged(Long id) {
+        purge(id == null
+                ? tags -> tags.contains(CATEGORIES) || tags.stream().anyMatch(tag -> tag.startsWith(CATEGORY_PREFIX))
+                : tags -> tags.contains(CATEGORIES) || tags.contains(categoryTag(id)));
+    }
+
+    /**
+     * Remove todas as respostas em cache.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return Estatísticas do cache de respostas (região "responses")
+     */
+    public CacheStatsDTO getStats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO("responses", cache.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+
+    public static String productTag(Long id) {
+        return PRODUCT_PREFIX + id;
+    }
+
+    public static String categoryTag(Long id) {
+        return CATEGORY_PREFIX + id;
+    }
+
+    /**
+     * Etiquetas de um produto serializado com suas categorias.
+     */
+    public static Set<String> tagsOf(Product product) {
+        Set<String> tags = new HashSet<>();
+        tags.add(productTag(product.getId()));
+        for (Category category : product.getCategories()) {
+            tags.add(categoryTag(category.getId()));
+        }
+        return tags;
+    }
+
+    private void purge(Predicate<Set<String>> matches) {
+        cache.asMap().values().removeIf(entry -> matches.test(entry.tags));
+    }
+
+    /**
+     * Formato da resposta: o primeiro aceito (em ordem de especificidade e qualidade) entre os da API.
+     */
+    private MediaType negotiate(HttpServletRequest request) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType accepted : contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request))) {
+            for (MediaType type : BinaryFormatConfig.MEDIA_TYPES) {
+                if (accepted.isCompatibleWith(type)) {
+                    return type;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(BinaryFormatConfig.MEDIA_TYPES);
+    }
+
+    /**
+     * Carrega a representação e a serializa com o mesmo conversor Jackson usado pelos controllers.
+     */
+    @SuppressWarnings("unchecked")
+    private Entry render(Key key) {
+        Source source = key.loader.get();
+        for (HttpMessageConverter<?> converter : converters.getConverters()) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jackson
+                    && jackson.canWrite(source.body.getClass(), key.type)) {
+                BufferedOutputMessage message = new BufferedOutputMessage();
+                try {
+                    ((HttpMessageConverter<Object>) jackson).write(source.body, key.type, message);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                MediaType contentType = message.getHeaders().getContentType();
+                VersionStamp version = source.version.forVariant(BinaryFormatConfig.eTagSuffix(key.type));
+                return new Entry(message.body.toByteArray(), contentType != null ? contentType : key.type,
+                        version, Set.copyOf(source.tags));
+            }
+        }
+        throw new IllegalStateException("No JSON converter for " + key.type);
+    }
+
+    /**
+     * Representação carregada por um endpoint: corpo, versão (calculada do corpo) e etiquetas
+     * das linhas exibidas, usadas na purga.
+     */
+    public static final class Source {
+        private final Object body;
+        private final VersionStamp version;
+        private final Set<String> tags;
+
+        public Source(Object body, VersionStamp version, Set<String> tags) {
+            this.body = body;
+            this.version = version;
+            this.tags = tags;
+        }
+    }
+
+    /**
+     * Chave do cache: URI e formato. O carregador acompanha a chave (para a recarga em segundo plano),
+     * mas não participa da igualdade.
+     */
+    private static final class Key {
+        private final String uri;
+        private final MediaType type;
+        private final Supplier<Source> loader;
+
+        Key(String uri, MediaType type, Supplier<Source> loader) {
+            this.uri = uri;
+            this.type = type;
+            this.loader = loader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && uri.equals(other.uri) && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * uri.hashCode() + type.hashCode();
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] body;
+        private final MediaType contentType;
+        private final VersionStamp version;
+        private final Set<String> tags;
+
+        Entry(byte[] body, MediaType contentType, VersionStamp version, Set<String> tags) {
+            this.body = body;
+            this.contentType = contentType;
+            this.version = version;
+            this.tags = tags;
+        }
+    }
+
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.SalesReportDTO;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serviço do relatório de vendas por período, respondido das tabelas agregadas mantidas por
+ * {@link SalesRollupService} (sem ler pedidos): o custo depende da quantidade de dias × produtos
+ * (ou categorias) do período, não do histórico de pedidos.
+ *
+ * Agrupamentos (groupBy): day (padrão), product ou category.
+ */
+@Service
+public class SalesReportService {
+
+    public static final int DEFAULT_DAYS = 30;
+    public static final int MAX_DAYS = 3660;
+
+    private static final String SELECT_TOTALS =
+            "SELECT COALESCE(SUM(revenue_cents), 0), COALESCE(SUM(quantity), 0) "
+                    + "FROM tb_sales_product_daily WHERE sale_day BETWEEN ? AND ?";
+    private static final String SELECT_BY_DAY =
+            "SELECT sale_day, SUM(revenue_cents), SUM(quantity) FROM tb_sales_product_daily "
+                    + "WHERE sale_day BETWEEN ? AND ? GROUP BY sale_day HAVING SUM(quantity) <> 0 ORDER BY sale_day";
+    private static final String SELECT_BY_PRODUCT =
+            "SELECT r.product_id, p.name, SUM(r.revenue_cents), SUM(r.quantity) FROM tb_sales_product_daily r "
+                    + "LEFT JOIN tb_products p ON p.id = r.product_id WHERE r.sale_day BETWEEN ? AND ? "
+                    + "GROUP BY r.product_id, p.name HAVING SUM(r.quantity) <> 0 "
+                    + "ORDER BY SUM(r.revenue_cents) DESC, r.product_id";
+    private static final String SELECT_BY_CATEGORY =
+            "SELECT r.category_id, c.name, SUM(r.revenue_cents), SUM(r.quantity) FROM tb_sales_category_daily r "
+                    + "LEFT JOIN tb_category c ON c.id = r.category_id WHERE r.sale_day BETWEEN ? AND ? "
+                    + "GROUP BY r.category_id, c.name HAVING SUM(r.quantity) <> 0 "
+                    + "ORDER BY SUM(r.revenue_cents) DESC, r.category_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Monta o relatório de vendas de um período.
+     * @param from Primeiro dia (padrão: {@value #DEFAULT_DAYS} dias antes de "to")
+     * @param to Último dia, inclusivo (padrão: hoje, UTC)
+     * @param groupBy day, product ou category (padrão day)
+     * @return Totais do período e uma linha por dia, produto ou categoria com vendas
+     * @throws InvalidRequestException Se o período ou o agrupamento forem inválidos (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public SalesReportDTO report(LocalDate from, LocalDate to, String groupBy) {
+        LocalDate last = to != null ? to : LocalDate.now(clock);
+        LocalDate first = from != null ? from : last.minusDays(DEFAULT_DAYS - 1);
+        if (first.isAfter(last)) {
+            throw new InvalidRequestException("Invalid period: from must not be after to");
+        }
+        if (first.plusDays(MAX_DAYS).isBefore(last)) {
+            throw new InvalidRequestException("Report period exceeds the maximum of " + MAX_DAYS + " days");
+        }
+        String grouping = groupBy == null ? "day" : groupBy.toLowerCase();
+        List<SalesReportDTO.Row> rows = switch (grouping) {
+            case "day" -> jdbcTemplate.query(SELECT_BY_DAY, (rs, rowNum) -> new SalesReportDTO.Row(
+                    rs.getObject(1, LocalDate.class), null, null, rs.getLong(2), rs.getLong(3)), first, last);
+            case "product" -> rows(SELECT_BY_PRODUCT, first, last);
+            case "category" -> rows(SELECT_BY_CATEGORY, first, last);
+            default -> throw new InvalidRequestException("groupBy must be one of: day, product, category");
+        };
+        long[] totals = jdbcTemplate.queryForObject(SELECT_TOTALS,
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)}, first, last);
+        return new SalesReportDTO(first, last, grouping, totals[0], totals[1], rows);
+    }
+
+    private List<SalesReportDTO.Row> rows(String sql, LocalDate first, LocalDate last) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new SalesReportDTO.Row(
+                null, rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4)), first, last);
+    }
+}
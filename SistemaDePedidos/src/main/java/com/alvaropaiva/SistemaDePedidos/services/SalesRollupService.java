@@ -0,0 +1,313 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.OrderEventDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.SalesRebuildResultDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.Money;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Manutenção das tabelas de vendas agregadas por dia (UTC), base de {@link SalesReportService}.
+ *
+ * Tabelas (criadas na inicialização, se ainda não existirem):
+ * - tb_sales_product_daily: receita (centavos) e unidades por dia × produto
+ * - tb_sales_category_daily: receita e unidades por dia × categoria (um produto em várias
+ *   categorias conta em cada uma delas)
+ * - tb_sales_rollup_order: pedidos já somados (e o dia em que foram somados)
+ *
+ * Um pedido entra nas vendas ao chegar a PAID (ou ser criado já pago, enviado ou entregue) e sai
+ * se for cancelado. O dia é o do momento do pedido; os valores são o preço histórico dos itens.
+ *
+ * Atualização incremental: assinante dos eventos de pedido ({@link OrderEventSubscriber}), executado
+ * na transação do drenador do outbox. A tabela de pedidos somados torna a aplicação idempotente
+ * (reentregas e eventos CREATED + PAID do mesmo pedido somam uma única vez).
+ *
+ * Reconstrução (backfill): {@link #rebuild(LocalDate, LocalDate)} recalcula cada dia do intervalo a
+ * partir dos pedidos, um dia por transação, com app.reports.sales.backfill-parallelism dias em paralelo.
+ * Na primeira inicialização com pedidos e sem vendas agregadas, todo o histórico é reconstruído.
+ */
+@Service
+public class SalesRollupService implements OrderEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    /**
+     * Status que contam como venda (pedido pago e não cancelado).
+     */
+    private static final String SOLD_STATUSES = OrderStatus.PAID.getCode() + ", "
+            + OrderStatus.SHIPPED.getCode() + ", " + OrderStatus.DELIVERED.getCode();
+
+    private static final String[] CREATE_TABLES = {
+            "CREATE TABLE IF NOT EXISTS tb_sales_product_daily (sale_day DATE NOT NULL, product_id BIGINT NOT NULL, "
+                    + "revenue_cents BIGINT NOT NULL, quantity BIGINT NOT NULL, PRIMARY KEY (sale_day, product_id))",
+            "CREATE TABLE IF NOT EXISTS tb_sales_category_daily (sale_day DATE NOT NULL, category_id BIGINT NOT NULL, "
+                    + "revenue_cents BIGINT NOT NULL, quantity BIGINT NOT NULL, PRIMARY KEY (sale_day, category_id))",
+            "CREATE TABLE IF NOT EXISTS tb_sales_rollup_order (order_id BIGINT PRIMARY KEY, sale_day DATE NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_sales_rollup_order_day ON tb_sales_rollup_order (sale_day)"
+    };
+
+    private static final String SELECT_APPLIED_DAY = "SELECT sale_day FROM tb_sales_rollup_order WHERE order_id = ?";
+    private static final String INSERT_APPLIED = "INSERT INTO tb_sales_rollup_order (order_id, sale_day) VALUES (?, ?)";
+    private static final String DELETE_APPLIED = "DELETE FROM tb_sales_rollup_order WHERE order_id = ?";
+    private static final String SELECT_ORDER_LINES =
+            "SELECT o.moment, i.product_id, i.quantity, i.price_cents FROM tb_order o "
+                    + "LEFT JOIN tb_order_item i ON i.order_id = o.id WHERE o.id = ?";
+    private static final String SELECT_PRODUCT_CATEGORIES =
+            "SELECT product_id, category_id FROM tb_product_category WHERE product_id IN (%s)";
+    private static final String UPDATE_PRODUCT =
+            "UPDATE tb_sales_product_daily SET revenue_cents = revenue_cents + ?, quantity = quantity + ? "
+                    + "WHERE sale_day = ? AND product_id = ?";
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO tb_sales_product_daily (revenue_cents, quantity, sale_day, product_id) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_CATEGORY =
+            "UPDATE tb_sales_category_daily SET revenue_cents = revenue_cents + ?, quantity = quantity + ? "
+                    + "WHERE sale_day = ? AND category_id = ?";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO tb_sales_category_daily (revenue_cents, quantity, sale_day, category_id) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_ORDER_RANGE =
+            "SELECT MIN(moment), MAX(moment) FROM tb_order WHERE order_status IN (" + SOLD_STATUSES + ")";
+    private static final String COUNT_APPLIED = "SELECT COUNT(*) FROM tb_sales_rollup_order";
+    private static final String[] DELETE_DAY = {
+            "DELETE FROM tb_sales_product_daily WHERE sale_day = ?",
+            "DELETE FROM tb_sales_category_daily WHERE sale_day = ?",
+            "DELETE FROM tb_sales_rollup_order WHERE sale_day = ?"
+    };
+    private static final String REBUILD_APPLIED =
+            "INSERT INTO tb_sales_rollup_order (order_id, sale_day) SELECT o.id, CAST(? AS DATE) FROM tb_order o "
+                    + "WHERE o.moment >= ? AND o.moment < ? AND o.order_status IN (" + SOLD_STATUSES + ")";
+    // As agregações partem dos pedidos registrados acima (e não de novo de tb_order), para que somas
+    // e pedidos somados correspondam mesmo que um pedido mude de status entre os comandos
+    private static final String REBUILD_PRODUCTS =
+            "INSERT INTO tb_sales_product_daily (sale_day, product_id, revenue_cents, quantity) "
+                    + "SELECT r.sale_day, i.product_id, SUM(i.price_cents * i.quantity), SUM(i.quantity) "
+                    + "FROM tb_sales_rollup_order r JOIN tb_order_item i ON i.order_id = r.order_id "
+                    + "WHERE r.sale_day = ? GROUP BY r.sale_day, i.product_id";
+    private static final String REBUILD_CATEGORIES =
+            "INSERT INTO tb_sales_category_daily (sale_day, category_id, revenue_cents, quantity) "
+                    + "SELECT r.sale_day, pc.category_id, SUM(i.price_cents * i.quantity), SUM(i.quantity) "
+                    + "FROM tb_sales_rollup_order r JOIN tb_order_item i ON i.order_id = r.order_id "
+                    + "JOIN tb_product_category pc ON pc.product_id = i.product_id "
+                    + "WHERE r.sale_day = ? GROUP BY r.sale_day, pc.category_id";
+
+    /**
+     * Tentativas por dia na reconstrução: um pedido somado concorrentemente pelo drenador
+     * (chave duplicada) faz o dia ser recalculado.
+     */
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    /**
+     * Intervalo máximo de uma reconstrução, em dias.
+     */
+    private static final int MAX_REBUILD_DAYS = 36600;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.reports.sales.backfill-parallelism:4}")
+    private int parallelism;
+
+    @PostConstruct
+    void createTables() {
+        for (String sql : CREATE_TABLES) {
+            jdbcTemplate.execute(sql);
+        }
+    }
+
+    /**
+     * Reconstrói todo o histórico na primeira inicialização (pedidos vendidos e nenhuma venda agregada).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Long applied = jdbcTemplate.queryForObject(COUNT_APPLIED, Long.class);
+        if (applied != null && applied == 0) {
+            SalesRebuildResultDTO result = rebuild(null, null);
+            if (result.getDays() > 0) {
+                log.info("Sales rollups built from order history: {} days, {} orders in {} ms",
+                        result.getDays(), result.getOrders(), result.getElapsedMillis());
+            }
+        }
+    }
+
+    /**
+     * Aplica um evento de pedido às vendas agregadas (na transação corrente).
+     */
+    @Override
+    public void onEvent(OrderEventDTO event) {
+        switch (event.getOrderStatus()) {
+            case PAID, SHIPPED, DELIVERED -> apply(event.getOrderId(), true);
+            case CANCELED -> apply(event.getOrderId(), false);
+            default -> { }
+        }
+    }
+
+    /**
+     * Soma (ou subtrai) os itens de um pedido nas tabelas do seu dia, uma única vez por pedido.
+     * @param orderId Pedido
+     * @param sold true para somar o pedido vendido, false para retirar um pedido cancelado
+     */
+    private void apply(Long orderId, boolean sold) {
+        List<LocalDate> appliedDay = jdbcTemplate.queryForList(SELECT_APPLIED_DAY, LocalDate.class, orderId);
+        if (sold != appliedDay.isEmpty()) {
+            return;
+        }
+        List<Instant> moment = new ArrayList<>(1);
+        Map<Long, long[]> products = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_ORDER_LINES, rs -> {
+            if (moment.isEmpty()) {
+                moment.add(rs.getObject(1, OffsetDateTime.class).toInstant());
+            }
+            long productId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                long[] totals = products.computeIfAbsent(productId, id -> new long[2]);
+                totals[0] = Math.addExact(totals[0], Money.times(rs.getLong(4), rs.getInt(3)));
+                totals[1] += rs.getInt(3);
+            }
+        }, orderId);
+        if (moment.isEmpty()) {
+            return;
+        }
+        LocalDate day = sold ? LocalDate.ofInstant(moment.get(0), ZoneOffset.UTC) : appliedDay.get(0);
+        long sign = sold ? 1 : -1;
+
+        Map<Long, long[]> categories = new HashMap<>();
+        if (!products.isEmpty()) {
+            String sql = String.format(SELECT_PRODUCT_CATEGORIES,
+                    String.join(", ", Collections.nCopies(products.size(), "?")));
+            jdbcTemplate.query(sql, rs -> {
+                long[] product = products.get(rs.getLong(1));
+                long[] totals = categories.computeIfAbsent(rs.getLong(2), id -> new long[2]);
+                totals[0] += product[0];
+                totals[1] += product[1];
+            }, products.keySet().toArray());
+        }
+        products.forEach((id, totals) -> add(UPDATE_PRODUCT, INSERT_PRODUCT, day, id, totals, sign));
+        categories.forEach((id, totals) -> add(UPDATE_CATEGORY, INSERT_CATEGORY, day, id, totals, sign));
+        if (sold) {
+            jdbcTemplate.update(INSERT_APPLIED, orderId, day);
+        } else {
+            jdbcTemplate.update(DELETE_APPLIED, orderId);
+        }
+    }
+
+    /**
+     * Incrementa uma linha (dia × produto ou dia × categoria), criando-a se ainda não existir.
+     */
+    private void add(String update, String insert, LocalDate day, Long id, long[] totals, long sign) {
+        Object[] args = {sign * totals[0], sign * totals[1], day, id};
+        if (jdbcTemplate.update(update, args) == 0) {
+            jdbcTemplate.update(insert, args);
+        }
+    }
+
+    /**
+     * Recalcula as vendas agregadas dos dias do intervalo a partir dos pedidos, um dia por transação,
+     * com dias processados em paralelo.
+     * @param from Primeiro dia (null: dia do pedido vendido mais antigo)
+     * @param to Último dia, inclusivo (null: dia do pedido vendido mais recente)
+     * @return Dias reconstruídos, pedidos somados e duração
+     * @throws InvalidRequestException Se o intervalo for inválido (HTTP 400)
+     */
+    public SalesRebuildResultDTO rebuild(LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        if (from == null || to == null) {
+            OffsetDateTime[] range = jdbcTemplate.queryForObject(SELECT_ORDER_RANGE, (rs, rowNum) -> new OffsetDateTime[] {
+                    rs.getObject(1, OffsetDateTime.class), rs.getObject(2, OffsetDateTime.class)});
+            if (range == null || range[0] == null) {
+                return new SalesRebuildResultDTO(0, 0, 0);
+            }
+            from = from != null ? from : LocalDate.ofInstant(range[0].toInstant(), ZoneOffset.UTC);
+            to = to != null ? to : LocalDate.ofInstant(range[1].toInstant(), ZoneOffset.UTC);
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("Invalid period: from must not be after to");
+        }
+        if (from.plusDays(MAX_REBUILD_DAYS).isBefore(to)) {
+            throw new InvalidRequestException("Rebuild period exceeds the maximum of " + MAX_REBUILD_DAYS + " days");
+        }
+
+        List<Callable<Integer>> partitions = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate partition = day;
+            partitions.add(() -> rebuildDay(partition));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, partitions.size())));
+        long orders = 0;
+        try {
+            for (Future<Integer> result : executor.invokeAll(partitions)) {
+                orders += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sales rollup rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new SalesRebuildResultDTO(partitions.size(), orders, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Recalcula um dia em uma transação: remove as linhas do dia, registra os pedidos vendidos do dia
+     * e agrega, a partir desse registro, as vendas por produto e por categoria.
+     *
+     * Um pedido pago ou cancelado durante a reconstrução fica nas somas e no registro, ou fora de
+     * ambos, e seu evento faz o ajuste depois; um conflito com uma aplicação concorrente do drenador
+     * (chave duplicada) faz o dia ser recalculado.
+     * @return Quantidade de pedidos vendidos no dia
+     */
+    private int rebuildDay(LocalDate day) {
+        OffsetDateTime start = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime end = start.plusDays(1);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer orders = transactionTemplate.execute(status -> {
+                    for (String sql : DELETE_DAY) {
+                        jdbcTemplate.update(sql, day);
+                    }
+                    int sold = jdbcTemplate.update(REBUILD_APPLIED, day, start, end);
+                    jdbcTemplate.update(REBUILD_PRODUCTS, day);
+                    jdbcTemplate.update(REBUILD_CATEGORIES, day);
+                    return sold;
+                });
+                return orders == null ? 0 : orders;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == REBUILD_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Sales rollup rebuild of {} conflicted with an incremental update, retrying", day, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.BulkImportResultDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.User;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serviço de importação em massa de usuários (CSV ou NDJSON).
+ *
+ * A entrada é lida linha a linha (memória limitada ao tamanho de um lote) e as linhas válidas
+ * são gravadas com JDBC batch ({@link JdbcTemplate#batchUpdate}), um lote por transação.
+ * O JDBC é usado diretamente porque a geração de IDs por IDENTITY em {@link User} impede o
+ * batching de INSERTs pelo Hibernate.
+ *
+ * Tratamento de falhas:
+ * - Linhas malformadas ou sem nome/email são rejeitadas antes da gravação
+ * - Se um lote falhar no banco, ele é desfeito e reprocessado linha a linha para
+ *   identificar as linhas com erro, sem abortar a carga
+ *
+ * Formato CSV: primeira linha é o cabeçalho (colunas name, email, phone, password em qualquer ordem).
+ * Formato NDJSON: um objeto JSON por linha ({"name": ..., "email": ..., "phone": ..., "password": ...}).
+ */
+@Service
+public class UserImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String INSERT_SQL = "INSERT INTO tb_user (name, email, phone, password) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.users.import.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Importa usuários a partir de um stream.
+     * @param in Corpo da requisição (UTF-8)
+     * @param format Formato da entrada
+     * @return Relatório com contagens e falhas por linha
+     * @throws InvalidRequestException Se o cabeçalho CSV não contiver as colunas obrigatórias (HTTP 400)
+     * @throws IOException Se a leitura da entrada falhar
+     */
+    public BulkImportResultDTO importUsers(InputStream in, Format format) throws IOException {
+        BulkImportResultDTO result = new BulkImportResultDTO();
+        List<Row> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        int[] columns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = parseHeader(line);
+                continue;
+            }
+            try {
+                User user = format == Format.CSV ? parseCsv(line, columns) : parseJson(line);
+                validate(user);
+                batch.add(new Row(lineNumber, user));
+            } catch (IllegalArgumentException e) {
+                result.addError(lineNumber, e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, result);
+            }
+        }
+        flush(batch, result);
+        return result;
+    }
+
+    /**
+     * Grava um lote com JDBC batch em uma única transação; em caso de falha,
+     * reprocessa o lote linha a linha para isolar as linhas com erro.
+     */
+    private void flush(List<Row> batch, BulkImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+                        ps.setString(1, row.user.getName());
+                        ps.setString(2, row.user.getEmail());
+                        ps.setString(3, row.user.getPhone());
+                        ps.setString(4, row.user.getPassword());
+                    }));
+            result.addInserted(batch.size());
+        } catch (DataAccessException e) {
+            for (Row row : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, row.user.getName(), row.user.getEmail(),
+                            row.user.getPhone(), row.user.getPassword());
+                    result.addInserted(1);
+                } catch (DataAccessException rowError) {
+                    result.addError(row.line, rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Lê o cabeçalho CSV e retorna o índice das colunas name, email, phone e password (-1 se ausente).
+     */
+    private int[] parseHeader(String line) {
+        List<String> header = splitCsv(line);
+        int[] columns = {-1, -1, -1, -1};
+        String[] names = {"name", "email", "phone", "password"};
+        for (int i = 0; i < header.size(); i++) {
+            String col = header.get(i).trim().toLowerCase(Locale.ROOT);
+            for (int j = 0; j < names.length; j++) {
+                if (names[j].equals(col)) {
+                    columns[j] = i;
+                }
+            }
+        }
+        if (columns[0] < 0 || columns[1] < 0) {
+            throw new InvalidRequestException("CSV header must contain the columns name and email");
+        }
+        return columns;
+    }
+
+    private User parseCsv(String line, int[] columns) {
+        List<String> fields = splitCsv(line);
+        return new User(null, field(fields, columns[0]), field(fields, columns[1]),
+                field(fields, columns[2]), field(fields, columns[3]));
+    }
+
+    private User parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, User.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validate(User user) {
+        if (user.getName() == null || user.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            throw new IllegalArgumentException("email is required");
+        }
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Divide uma linha CSV em campos, respeitando aspas duplas (com "" como escape).
+     * @throws IllegalArgumentException Se houver aspas não fechadas
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Linha válida aguardando gravação, com o número da linha de origem para o relatório.
+     */
+    private static class Row {
+        private final long line;
+        private final User user;
+
+        private Row(long line, User user) {
+            this.line = line;
+            this.user = user;
+        }
+    }
+}
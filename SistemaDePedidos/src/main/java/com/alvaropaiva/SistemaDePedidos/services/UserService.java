@@ -1,14 +1,20 @@
 package com.alvaropaiva.SistemaDePedidos.services;
 
+import com.alvaropaiva.SistemaDePedidos.dto.CursorPage;
+import com.alvaropaiva.SistemaDePedidos.dto.UserSummaryDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.VersionStamp;
 import com.alvaropaiva.SistemaDePedidos.entities.User;
 import com.alvaropaiva.SistemaDePedidos.repositories.UserRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.projections.RowVersion;
 import com.alvaropaiva.SistemaDePedidos.services.exceptions.DataBaseException;
 import com.alvaropaiva.SistemaDePedidos.services.exceptions.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,21 +44,58 @@ public class UserService {
      * Retorna todos os usuários cadastrados.
      * @return Lista de usuários (pode ser vazia)
      */
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return repository.findAll();
     }
 
+    /**
+     * Retorna uma página de usuários usando paginação por cursor (keyset).
+     * @param cursor Cursor opaco retornado pela página anterior (null para a primeira página)
+     * @param limit Tamanho da página (limitado a {@link CursorPage#MAX_LIMIT})
+     * @return Página com o resumo dos usuários (id, nome e e-mail) e o cursor da próxima página
+     * @throws com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException Se o cursor for inválido (HTTP 400)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummaryDTO> findPage(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        long after = CursorPage.decode(cursor);
+        List<UserSummaryDTO> rows = repository.findSummaries(after, Limit.of(size + 1));
+        return CursorPage.of(rows, size, UserSummaryDTO::getId);
+    }
+
     /**
      * Busca um usuário por ID.
      * @param id Identificador do usuário
      * @return Entidade User correspondente
      * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
      */
+    @Transactional(readOnly = true)
     public User findById(Long id) {
         Optional<User> obj = repository.findById(id);
         return obj.orElseThrow(() -> new ResourceNotFoundException(id));
     }
 
+    /**
+     * Versão atual de um usuário, lida sem carregar a entidade (GET condicional).
+     * @throws ResourceNotFoundException Se o ID não existir (HTTP 404)
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp findVersion(Long id) {
+        List<RowVersion> rows = repository.findVersionsById(id);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+        return VersionStamp.builder().addAll(rows).build();
+    }
+
+    /**
+     * Versão de um usuário já carregado (mesmo cálculo de {@link #findVersion(Long)}).
+     */
+    public VersionStamp versionOf(User user) {
+        return VersionStamp.builder().add(RowVersion.USER, user.getId(), user.getVersion(), user.getLastModified()).build();
+    }
+
     /**
      * Insere um novo usuário no sistema.
      * @param obj Usuário a ser criado (sem ID)
@@ -0,0 +1,22 @@
+package com.alvaropaiva.SistemaDePedidos.services.exceptions;
+
+/**
+ * Exceção lançada quando uma operação conflita com o estado atual do recurso.
+ *
+ * Representa o erro HTTP 409 (Conflict) e é utilizada quando:
+ * - Não há estoque suficiente para reservar os itens de um pedido
+ * - O pedido não está em um status que permita a operação solicitada
+ *
+ * Herda de RuntimeException para não exigir tratamento obrigatório.
+ */
+public class ConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constrói a exceção com mensagem customizada.
+     * @param msg Mensagem descrevendo o conflito
+     */
+    public ConflictException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,22 @@
+package com.alvaropaiva.SistemaDePedidos.services.exceptions;
+
+/**
+ * Exceção lançada quando os parâmetros de uma requisição são inválidos.
+ *
+ * Representa o erro HTTP 400 (Bad Request) e é utilizada quando:
+ * - Um cursor de paginação está malformado
+ * - Um parâmetro de consulta está fora do formato esperado
+ *
+ * Herda de RuntimeException para não exigir tratamento obrigatório.
+ */
+public class InvalidRequestException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constrói a exceção com mensagem customizada.
+     * @param msg Mensagem descrevendo o parâmetro inválido
+     */
+    public InvalidRequestException(String msg) {
+        super(msg);
+    }
+}
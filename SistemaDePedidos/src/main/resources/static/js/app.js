@@ -10,13 +10,6 @@ function formatDate(dateString) {
     const d = new Date(dateString);
     return d.toLocaleDateString("pt-BR");
 }
-function isToday(dateString) {
-    const today = new Date();
-    const date = new Date(dateString);
-    return date.getDate() === today.getDate() &&
-           date.getMonth() === today.getMonth() &&
-           date.getFullYear() === today.getFullYear();
-}
 
 // GET genérico
 async function apiGet(endpoint) {
@@ -29,30 +22,35 @@ async function apiGet(endpoint) {
     }
 }
 
+// GET paginado por cursor: retorna apenas o conteúdo da página
+async function apiGetPage(endpoint) {
+    const page = await apiGet(endpoint);
+    return page ? page.content : null;
+}
+
 // ========== DASHBOARD ==========
 async function loadDashboard() {
-    const orders = await apiGet("/orders");
-    if (!orders) return;
-
-    // Estatísticas
-    const pedidosHoje = orders.filter(o => isToday(o.date)).length;
-    const pendentes = orders.filter(o => o.status.toLowerCase() === "pendente").length;
-    const concluidos = orders.filter(o => o.status.toLowerCase() === "concluído").length;
-
-    document.querySelectorAll("#stats .stat-card p")[0].textContent = pedidosHoje;
-    document.querySelectorAll("#stats .stat-card p")[1].textContent = pendentes;
-    document.querySelectorAll("#stats .stat-card p")[2].textContent = concluidos;
+    // Estatísticas calculadas no servidor (GET /dashboard/stats)
+    const stats = await apiGet("/dashboard/stats");
+    if (stats) {
+        const cards = document.querySelectorAll("#stats .stat-card p");
+        cards[0].textContent = stats.ordersToday;
+        cards[1].textContent = stats.countsByStatus.WAITING_PAYMENT;
+        cards[2].textContent = stats.countsByStatus.DELIVERED;
+    }
 
     // Últimos pedidos
+    const orders = await apiGet("/orders/recent?limit=10");
+    if (!orders) return;
     const tbody = document.querySelector("#orders tbody");
     tbody.innerHTML = "";
-    orders.slice(0, 10).forEach(order => {
+    orders.forEach(order => {
         const tr = document.createElement("tr");
         tr.innerHTML = `
             <td>#${order.id}</td>
-            <td>${order.clientName || "—"}</td>
-            <td>${order.status}</td>
-            <td>${formatDate(order.date)}</td>
+            <td>${(order.client && order.client.name) || "—"}</td>
+            <td>${order.orderStatus}</td>
+            <td>${formatDate(order.moment)}</td>
             <td>R$ ${Number(order.total).toFixed(2).replace(".", ",")}</td>
             <td><a href="#" data-id="${order.id}" class="view-order">Ver</a></td>
         `;
@@ -62,7 +60,7 @@ async function loadDashboard() {
 
 // ========== PEDIDOS ==========
 async function loadPedidosPage() {
-    const orders = await apiGet("/orders");
+    const orders = await apiGetPage("/orders");
     if (!orders) return;
     const tbody = document.querySelector("#table-pedidos tbody");
     tbody.innerHTML = "";
@@ -71,8 +69,8 @@ async function loadPedidosPage() {
         tr.innerHTML = `
             <td>#${order.id}</td>
             <td>${order.clientName || "—"}</td>
-            <td>${order.status}</td>
-            <td>${formatDate(order.date)}</td>
+            <td>${order.orderStatus}</td>
+            <td>${formatDate(order.moment)}</td>
             <td>R$ ${Number(order.total).toFixed(2).replace(".", ",")}</td>
             <td>
                 <a href="#" class="view-order" data-id="${order.id}">Ver</a>
@@ -84,7 +82,7 @@ async function loadPedidosPage() {
 
 // ========== CLIENTES ==========
 async function loadClientesPage() {
-    const users = await apiGet("/users");
+    const users = await apiGetPage("/users");
     if (!users) return;
     const tbody = document.querySelector("#table-clientes tbody");
     tbody.innerHTML = "";
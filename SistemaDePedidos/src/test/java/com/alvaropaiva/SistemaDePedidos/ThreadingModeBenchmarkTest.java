@@ -0,0 +1,113 @@
+package com.alvaropaiva.SistemaDePedidos;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de carga comparando o pool de threads de plataforma do Tomcat com threads virtuais.
+ *
+ * Desativado por padrão; executar uma vez em cada modo e comparar vazão e latência:
+ * - mvn test -Dbenchmark=true -Dtest=ThreadingModeBenchmarkTest
+ * - mvn test -Pjava21 -Dbenchmark=true -Dtest=ThreadingModeBenchmarkTest -Dspring.threads.virtual.enabled=true
+ *
+ * Parâmetros: benchmark.clients (padrão 1000), benchmark.requests (por cliente, padrão 20),
+ * benchmark.path (padrão /orders?limit=20).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ThreadingModeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeBenchmarkTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests", 20);
+    private static final String PATH = System.getProperty("benchmark.path", "/orders?limit=20");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void concurrentClients() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+                .timeout(Duration.ofSeconds(60)).GET().build();
+
+        // Aquecimento (JIT, pool de conexões)
+        for (int i = 0; i < 200; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    long begin = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                    if (response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Arrays.sort(latencies);
+        log.info("Threading benchmark [virtual={}] GET {}: {} clients x {} requests in {} ms "
+                        + "({} req/s), latency p50={} ms p99={} ms max={} ms, errors={}",
+                Threading.VIRTUAL.isActive(environment), PATH, CLIENTS, REQUESTS_PER_CLIENT,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(latencies.length / (elapsed / 1e9)),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0), errors.get());
+
+        assertEquals(0, errors.get());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+    }
+}
@@ -0,0 +1,115 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import com.alvaropaiva.SistemaDePedidos.entities.User;
+import com.alvaropaiva.SistemaDePedidos.services.CatalogCacheInvalidator;
+import com.alvaropaiva.SistemaDePedidos.services.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Roteamento primário/réplicas com duas réplicas H2 em memória (sem replicação real: cada réplica
+ * recebe uma tabela tb_user própria, com um usuário que identifica a réplica, e o heartbeat é
+ * gravado pelo teste).
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replicas.urls=jdbc:h2:mem:replica0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1",
+        "app.datasource.replicas.max-lag=5s",
+        "app.datasource.replicas.check-interval=1h",
+        "app.datasource.replicas.primary-after-catalog-write=500ms"})
+@ActiveProfiles("test")
+class DataSourceRoutingTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CatalogCacheInvalidator invalidator;
+
+    @Test
+    void readOnlyTransactionsUseHealthyReplicasAndWritesUsePrimary() throws InterruptedException {
+        List<JdbcTemplate> replicas = List.of(replica(0), replica(1));
+        for (int i = 0; i < replicas.size(); i++) {
+            JdbcTemplate replica = replicas.get(i);
+            replica.execute("CREATE TABLE tb_user (id BIGINT PRIMARY KEY, name VARCHAR(255), email VARCHAR(255), "
+                    + "phone VARCHAR(255), password VARCHAR(255), version BIGINT DEFAULT 0 NOT NULL, "
+                    + "last_modified TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL)");
+            replica.update("INSERT INTO tb_user (id, name, email, phone, password) VALUES (?, ?, ?, ?, ?)",
+                    1L, "replica-" + i, "r@x.com", "", "");
+            replica.execute(ReplicaLagMonitor.CREATE_TABLE);
+            replica.update("INSERT INTO tb_replication_heartbeat (id, beat) VALUES (1, ?)", System.currentTimeMillis());
+        }
+        monitor.check();
+        // Os dados de exemplo (catálogo) gravados na inicialização fixam as leituras no primário por 500ms
+        Thread.sleep(600);
+
+        // Leituras alternam entre as réplicas
+        Set<String> readFrom = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            readFrom.add(userService.findAll().get(0).getName());
+        }
+        assertEquals(Set.of("replica-0", "replica-1"), readFrom);
+
+        // Escrita vai ao primário
+        User created = userService.insert(new User(null, "Primary Write", "pw@gmail.com", "977777777", "123456"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_user WHERE id = ? AND name = 'Primary Write'",
+                Integer.class, created.getId()));
+        assertEquals(0, replicas.get(0).queryForObject("SELECT COUNT(*) FROM tb_user WHERE name = 'Primary Write'", Integer.class));
+
+        // Réplica atrasada sai do rodízio
+        replicas.get(1).update("UPDATE tb_replication_heartbeat SET beat = ?", System.currentTimeMillis() - 60_000);
+        monitor.check();
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-0", userService.findAll().get(0).getName());
+        }
+
+        // Após uma escrita no catálogo, as leituras vão ao primário durante a janela configurada
+        invalidator.productChanged(1L);
+        assertTrue(userService.findAll().stream().map(User::getName).toList().contains("Primary Write"));
+        Thread.sleep(600);
+        assertEquals("replica-0", userService.findAll().get(0).getName());
+
+        // Sem réplica saudável, a leitura vai ao primário
+        replicas.get(0).execute("DROP TABLE tb_replication_heartbeat");
+        monitor.check();
+        List<String> names = userService.findAll().stream().map(User::getName).toList();
+        assertTrue(names.contains("Primary Write"));
+        assertFalse(names.contains("replica-0"));
+
+        assertTrue(routeCount("replica-0", "read") >= 2);
+        assertTrue(routeCount("replica-1", "read") >= 2);
+        assertTrue(routeCount(ReplicaRoutingDataSource.PRIMARY, "write") >= 1);
+        assertTrue(routeCount(ReplicaRoutingDataSource.PRIMARY, "fallback") >= 1);
+        assertTrue(routeCount(ReplicaRoutingDataSource.PRIMARY, "pinned") >= 1);
+        assertEquals(-1.0, registry.get("app.datasource.replica.lag").tag("target", "replica-0").gauge().value());
+    }
+
+    private double routeCount(String target, String type) {
+        return registry.get("app.datasource.route").tag("target", target).tag("type", type).counter().count();
+    }
+
+    private static JdbcTemplate replica(int index) {
+        return new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica" + index + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+}
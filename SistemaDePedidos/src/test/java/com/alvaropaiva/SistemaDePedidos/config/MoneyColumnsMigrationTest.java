@@ -0,0 +1,46 @@
+package com.alvaropaiva.SistemaDePedidos.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Migração dos preços antigos (DOUBLE) para centavos: as colunas antigas são recriadas no banco
+ * próprio do teste, como em um banco anterior à troca, e a migração é executada novamente.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:moneymigrationtest")
+@ActiveProfiles("test")
+class MoneyColumnsMigrationTest {
+
+    @Autowired
+    private MoneyColumnsMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void oldPricesAreCopiedToCentsOnceAndOrderTotalsRecalculated() {
+        jdbcTemplate.execute("ALTER TABLE tb_products ADD COLUMN price DOUBLE PRECISION");
+        jdbcTemplate.execute("ALTER TABLE tb_order_item ADD COLUMN price DOUBLE PRECISION");
+        jdbcTemplate.update("UPDATE tb_products SET price_cents = 0, price = 12.34 WHERE id = 1");
+        jdbcTemplate.update("UPDATE tb_order_item SET price_cents = 0, price = 0.1 * 3 WHERE order_id = 1");
+
+        migration.migrate();
+
+        assertEquals(1234L, jdbcTemplate.queryForObject("SELECT price_cents FROM tb_products WHERE id = 1", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_order_item WHERE order_id = 1 AND price_cents <> 30", Integer.class));
+        assertEquals(jdbcTemplate.queryForObject(
+                        "SELECT SUM(price_cents * quantity) FROM tb_order_item WHERE order_id = 1", Long.class),
+                jdbcTemplate.queryForObject("SELECT total_cents FROM tb_order WHERE id = 1", Long.class));
+
+        // Preço alterado depois da migração não é sobrescrito pela coluna antiga
+        jdbcTemplate.update("UPDATE tb_products SET price_cents = 999 WHERE id = 1");
+        migration.migrate();
+        assertEquals(999L, jdbcTemplate.queryForObject("SELECT price_cents FROM tb_products WHERE id = 1", Long.class));
+    }
+}
@@ -0,0 +1,72 @@
+package com.alvaropaiva.SistemaDePedidos.dto;
+
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes da paginação por cursor: ida e volta do cursor, detecção da última página pela linha
+ * excedente (limit + 1), limites do tamanho de página e cursores malformados.
+ */
+class CursorPageTest {
+
+    @Test
+    void cursorRoundTrip() {
+        for (long id : new long[] {1L, 20L, Long.MAX_VALUE}) {
+            assertEquals(id, CursorPage.decode(CursorPage.encode(id)));
+        }
+        assertEquals(0L, CursorPage.decode(null));
+        assertEquals(0L, CursorPage.decode(" "));
+    }
+
+    @Test
+    void extraRowSignalsNextPage() {
+        List<Long> rows = new ArrayList<>(List.of(1L, 2L, 3L, 4L));
+
+        CursorPage<Long> page = CursorPage.of(rows, 3, Function.identity());
+        assertEquals(List.of(1L, 2L, 3L), page.getContent());
+        assertEquals(3L, CursorPage.decode(page.getNextCursor()));
+        // Cópia independente da lista da consulta
+        rows.set(0, 99L);
+        assertEquals(1L, page.getContent().get(0));
+
+        CursorPage<Long> last = CursorPage.of(List.of(4L, 5L, 6L), 3, Function.identity());
+        assertEquals(List.of(4L, 5L, 6L), last.getContent());
+        assertNull(last.getNextCursor());
+
+        CursorPage<Long> empty = CursorPage.of(List.of(), 3, Function.identity());
+        assertEquals(List.of(), empty.getContent());
+        assertNull(empty.getNextCursor());
+    }
+
+    @Test
+    void limitIsClamped() {
+        assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.clampLimit(null));
+        assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.clampLimit(0));
+        assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.clampLimit(-5));
+        assertEquals(1, CursorPage.clampLimit(1));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.clampLimit(CursorPage.MAX_LIMIT));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.clampLimit(CursorPage.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(InvalidRequestException.class, () -> CursorPage.decode("not base64!"));
+        assertThrows(InvalidRequestException.class, () -> CursorPage.decode(base64("pk:10")));
+        assertThrows(InvalidRequestException.class, () -> CursorPage.decode(base64("id:ten")));
+        assertThrows(InvalidRequestException.class, () -> CursorPage.decode(base64("id:")));
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,126 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.repositories.CategoryRepository;
+import com.alvaropaiva.SistemaDePedidos.services.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GETs condicionais: 304 respondido apenas com a consulta de versões, e ETag alterado quando
+ * qualquer linha exibida na representação muda (inclusive entidades incorporadas).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void matchingETagIsAnsweredWithoutLoadingEntities() throws Exception {
+        String eTag = eTag("/orders/1");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/orders/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getSecondLevelCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/orders/1").header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag + ", \"other\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/orders/1").header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void eTagChangesWithEmbeddedEntities() throws Exception {
+        String product = eTag("/products/2");
+        String products = eTag("/products?limit=3");
+        String categories = eTag("/categories");
+
+        Category category = categoryRepository.findById(3L).orElseThrow();
+        category.setName("Computers & Tablets");
+        categoryRepository.save(category);
+
+        // Produto 2 incorpora a categoria 3; a página de produtos não exibe categorias
+        assertNotEquals(product, eTag("/products/2"));
+        assertNotEquals(categories, eTag("/categories"));
+        mockMvc.perform(get("/products?limit=3").header(HttpHeaders.IF_NONE_MATCH, products))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void eTagChangesWhenOrderOrCollectionChanges() throws Exception {
+        String order = eTag("/orders/3");
+        orderService.updateStatus(3L, OrderStatus.PAID);
+        String paid = eTag("/orders/3");
+        assertNotEquals(order, paid);
+        mockMvc.perform(get("/orders/3").header(HttpHeaders.IF_NONE_MATCH, paid))
+                .andExpect(status().isNotModified());
+
+        // Inclusão (versão inicial 0, sem alterar o maior número de versão) muda o ETag da listagem
+        String categories = eTag("/categories");
+        categoryRepository.save(new Category(null, "Conditional GET"));
+        mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, categories))
+                .andExpect(status().isOk());
+        assertNotEquals(categories, eTag("/categories"));
+    }
+
+    @Test
+    void ifModifiedSinceUsesLastModified() throws Exception {
+        MvcResult result = mockMvc.perform(get("/users/2")).andExpect(status().isOk()).andReturn();
+        String lastModified = result.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/users/2").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/users/2").header(HttpHeaders.IF_MODIFIED_SINCE, "Mon, 01 Jan 2001 00:00:00 GMT"))
+                .andExpect(status().isOk());
+
+        jdbcTemplate.update("UPDATE tb_user SET last_modified = ? WHERE id = 2", Timestamp.from(Instant.now().plusSeconds(5)));
+        mockMvc.perform(get("/users/2").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+    }
+
+    private String eTag(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
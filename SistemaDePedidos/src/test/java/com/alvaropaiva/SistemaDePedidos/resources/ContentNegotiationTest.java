@@ -0,0 +1,156 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.config.BinaryFormatConfig;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Negociação de formato (JSON, Smile, CBOR) pelo Accept e compressão (br, gzip) pelo Accept-Encoding.
+ * O tamanho mínimo de compressão é reduzido para que as respostas dos dados de teste o atinjam.
+ */
+@SpringBootTest(properties = "app.compression.min-response-size=512")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContentNegotiationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Test
+    void binaryFormatsCarryTheSameDocumentWithTheirOwnETag() throws Exception {
+        MvcResult json = mockMvc.perform(get("/orders/1")).andExpect(status().isOk()).andReturn();
+        JsonNode expected = jsonMapper.readTree(json.getResponse().getContentAsByteArray());
+        String eTag = json.getResponse().getHeader(HttpHeaders.ETAG);
+
+        ObjectMapper smile = BinaryFormatConfig.smileMapper(Jackson2ObjectMapperBuilder.json());
+        ObjectMapper cbor = BinaryFormatConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+        assertSameOrder(expected, read(smile, "/orders/1", BinaryFormatConfig.APPLICATION_SMILE, eTag, "smile"));
+        assertSameOrder(expected, read(cbor, "/orders/1", BinaryFormatConfig.APPLICATION_CBOR, eTag, "cbor"));
+
+        // 304 identifica a variante negociada; um ETag de outro formato da mesma versão também vale
+        String smileTag = eTag.replaceFirst("\"$", "-smile\"");
+        mockMvc.perform(get("/orders/1").accept(BinaryFormatConfig.APPLICATION_SMILE).header(HttpHeaders.IF_NONE_MATCH, smileTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, smileTag));
+        mockMvc.perform(get("/orders/1").accept(BinaryFormatConfig.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, smileTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag.replaceFirst("\"$", "-cbor\"")));
+    }
+
+    @Test
+    void largeResponsesAreCompressedWithTheNegotiatedEncoding() throws Exception {
+        MvcResult identity = mockMvc.perform(get("/orders/recent?limit=100")).andExpect(status().isOk()).andReturn();
+        byte[] body = identity.getResponse().getContentAsByteArray();
+        assertTrue(body.length > 512);
+        assertNull(identity.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(identity.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+
+        MvcResult br = mockMvc.perform(get("/orders/recent?limit=100").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andReturn();
+        assertArrayEquals(body, Decoder.decompress(br.getResponse().getContentAsByteArray()).getDecompressedData());
+
+        MvcResult gzip = mockMvc.perform(get("/orders/recent?limit=100").header(HttpHeaders.ACCEPT_ENCODING, "br;q=0.5, gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        assertArrayEquals(body, gunzip(gzip.getResponse().getContentAsByteArray()));
+
+        // Streaming: o corpo é comprimido conforme é escrito
+        MvcResult export = mockMvc.perform(get("/orders/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        String lines = new String(gunzip(export.getResponse().getContentAsByteArray()));
+        assertTrue(lines.startsWith("{\"id\":1,"));
+    }
+
+    @Test
+    void smallResponsesAreSentUncompressedWithStrongETag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/categories/1").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+        assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(result.getResponse().getContentAsByteArray().length, result.getResponse().getContentLength());
+        assertTrue(result.getResponse().getHeader(HttpHeaders.ETAG).startsWith("\""));
+    }
+
+    @Test
+    void notModifiedCarriesTheETagOfTheEncodedVariant() throws Exception {
+        String plain = mockMvc.perform(get("/orders/1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String gzip = mockMvc.perform(get("/orders/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(plain.replaceFirst("\"$", "-gzip\""), gzip);
+
+        mockMvc.perform(get("/orders/1").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzip))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzip));
+        mockMvc.perform(get("/orders/1").header(HttpHeaders.IF_NONE_MATCH, gzip))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, plain));
+    }
+
+    private JsonNode read(ObjectMapper mapper, String uri, MediaType type, String jsonETag, String suffix) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri).accept(type))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(type))
+                .andExpect(header().string(HttpHeaders.ETAG, jsonETag.replaceFirst("\"$", "-" + suffix + "\"")))
+                .andReturn();
+        assertTrue(result.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+        return mapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    /**
+     * Mesmo documento; valores monetários são comparados numericamente (BigDecimal binário) e
+     * datas sem @JsonFormat (pagamento) são numéricas nos formatos binários.
+     */
+    private static void assertSameOrder(JsonNode expected, JsonNode actual) {
+        assertEquals(expected.get("id"), actual.get("id"));
+        assertEquals(expected.get("moment"), actual.get("moment"));
+        assertEquals(expected.get("client"), actual.get("client"));
+        assertEquals(0, expected.get("total").decimalValue().compareTo(actual.get("total").decimalValue()));
+        assertEquals(expected.get("items").size(), actual.get("items").size());
+        for (int i = 0; i < expected.get("items").size(); i++) {
+            JsonNode item = expected.get("items").get(i);
+            JsonNode other = actual.get("items").get(i);
+            assertEquals(item.get("quantity"), other.get("quantity"));
+            assertEquals(item.get("product").get("name"), other.get("product").get("name"));
+            assertEquals(item.get("product").get("categories"), other.get("product").get("categories"));
+            assertEquals(0, item.get("subTotal").decimalValue().compareTo(other.get("subTotal").decimalValue()));
+        }
+        assertTrue(actual.get("payment").get("moment").isNumber());
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
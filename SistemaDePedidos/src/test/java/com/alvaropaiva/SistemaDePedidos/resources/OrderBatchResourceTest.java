@@ -0,0 +1,43 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Validação de POST /orders/batch: entradas nulas e status iniciais diferentes de WAITING_PAYMENT
+ * (ou PAID, com pagamento) rejeitam o lote inteiro com 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderBatchResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void invalidBatchesAreRejected() throws Exception {
+        expectBadRequest("[null]");
+        expectBadRequest("[{\"clientId\": 1, \"items\": [null]}]");
+        expectBadRequest("[{\"clientId\": 1, \"items\": [{\"productId\": 1, \"quantity\": 1}], "
+                + "\"orderStatus\": \"DELIVERED\"}]");
+        expectBadRequest("[{\"clientId\": 1, \"items\": [{\"productId\": 1, \"quantity\": 1}], "
+                + "\"orderStatus\": \"PAID\"}]");
+        expectBadRequest("[{\"clientId\": 1, \"items\": [{\"productId\": 1, \"quantity\": 1}], "
+                + "\"orderStatus\": \"WAITING_PAYMENT\", "
+                + "\"payment\": {\"moment\": \"2023-01-01T12:05:00Z\"}}]");
+    }
+
+    private void expectBadRequest(String body) throws Exception {
+        mockMvc.perform(post("/orders/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,88 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportação NDJSON com vários lotes (mais pedidos que um lote de leitura): uma linha por pedido,
+ * em ordem de id, com os itens e o total de cada pedido. Usa um banco em memória próprio.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:exporttest")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderExportTest {
+
+    private static final int ORDERS = 1234;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void exportSpansSeveralChunks() throws Exception {
+        Timestamp moment = Timestamp.from(Instant.parse("2024-01-01T12:00:00Z"));
+        jdbcTemplate.update("INSERT INTO tb_order (moment, order_status, client_id, total_cents) "
+                + "SELECT ?, 1, 1, 0 FROM SYSTEM_RANGE(1, ?)", moment, ORDERS);
+        jdbcTemplate.update("INSERT INTO tb_order_item (order_id, product_id, quantity, price_cents) "
+                + "SELECT id, 1, MOD(id, 5) + 1, 100 FROM tb_order WHERE moment = ?", moment);
+        jdbcTemplate.update("INSERT INTO tb_order_item (order_id, product_id, quantity, price_cents) "
+                + "SELECT id, 2, 1, 250 FROM tb_order WHERE moment = ? AND MOD(id, 2) = 0", moment);
+        jdbcTemplate.update("UPDATE tb_order o SET total_cents = (SELECT SUM(i.price_cents * i.quantity) "
+                + "FROM tb_order_item i WHERE i.order_id = o.id) WHERE moment = ?", moment);
+
+        Map<Long, Integer> itemCounts = new HashMap<>();
+        Map<Long, Long> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT o.id, COUNT(i.product_id), COALESCE(SUM(i.price_cents * i.quantity), 0) "
+                + "FROM tb_order o LEFT JOIN tb_order_item i ON i.order_id = o.id GROUP BY o.id", rs -> {
+            itemCounts.put(rs.getLong(1), rs.getInt(2));
+            totals.put(rs.getLong(1), rs.getLong(3));
+        });
+        assertTrue(itemCounts.size() > 2 * 500);
+
+        String body = mockMvc.perform(get("/orders/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(itemCounts.size(), lines.length);
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode order = mapper.readTree(line);
+            long id = order.get("id").asLong();
+            assertTrue(id > previousId, "orders out of id order at " + id);
+            previousId = id;
+
+            assertEquals(itemCounts.get(id), order.get("items").size(), "items of order " + id);
+            BigDecimal sum = BigDecimal.ZERO;
+            for (JsonNode item : order.get("items")) {
+                sum = sum.add(item.get("subTotal").decimalValue());
+            }
+            assertEquals(0, BigDecimal.valueOf(totals.get(id), 2).compareTo(sum), "item subtotals of order " + id);
+            assertEquals(0, BigDecimal.valueOf(totals.get(id), 2).compareTo(order.get("total").decimalValue()),
+                    "total of order " + id);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * API reativa de leitura (R2DBC): os fluxos NDJSON trazem os mesmos documentos que os endpoints
+ * bloqueantes (GET /orders/export e GET /products), e "after" retoma a leitura.
+ * Páginas de 2 linhas, para que o fluxo encadeie várias consultas.
+ */
+@SpringBootTest(properties = "app.reactive.page-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveResourceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void ordersStreamMatchesBlockingExport() throws Exception {
+        List<JsonNode> blocking = lines(mockMvc.perform(get("/orders/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        List<JsonNode> reactive = stream("/reactive/orders");
+
+        assertTrue(reactive.size() > 2);
+        assertEquals(blocking, reactive);
+
+        long after = reactive.get(1).get("id").asLong();
+        assertEquals(reactive.subList(2, reactive.size()), stream("/reactive/orders?after=" + after));
+    }
+
+    @Test
+    void productsStreamMatchesBlockingListing() throws Exception {
+        JsonNode page = mapper.readTree(mockMvc.perform(get("/products").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        List<JsonNode> blocking = new ArrayList<>();
+        page.get("content").forEach(blocking::add);
+        List<JsonNode> reactive = stream("/reactive/products");
+
+        assertTrue(reactive.size() > 2);
+        assertEquals(blocking, reactive);
+    }
+
+    private List<JsonNode> stream(String uri) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        return lines(body);
+    }
+
+    private List<JsonNode> lines(String body) throws Exception {
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                nodes.add(mapper.readTree(line));
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,137 @@
+package com.alvaropaiva.SistemaDePedidos.resources;
+
+import com.alvaropaiva.SistemaDePedidos.config.BinaryFormatConfig;
+import com.alvaropaiva.SistemaDePedidos.config.CacheConfig;
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.repositories.CategoryRepository;
+import com.alvaropaiva.SistemaDePedidos.services.CatalogCacheInvalidator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache de respostas serializadas: respostas (200 e 304) sem acesso ao banco, purga por escrita no
+ * catálogo e recarga em segundo plano após o TTL "soft" (reduzido aqui para 1s).
+ * Os nomes alterados no banco de teste compartilhado são restaurados ao final de cada teste.
+ */
+@SpringBootTest(properties = "app.response-cache.refresh-after=1s")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResponseCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CatalogCacheInvalidator invalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Restaura os nomes no banco e limpa os caches deste contexto (segundo nível, Spring e respostas).
+     */
+    @AfterEach
+    void restoreCatalog() {
+        jdbcTemplate.update("UPDATE tb_category SET name = 'Computers' WHERE id = 3");
+        jdbcTemplate.update("UPDATE tb_products SET name = 'PC Gamer' WHERE id = 4");
+        entityManagerFactory.getCache().evictAll();
+        invalidator.clearAll();
+    }
+
+    @Test
+    void cachedResponsesAreServedWithoutTheDatabase() throws Exception {
+        MvcResult first = mockMvc.perform(get("/categories")).andExpect(status().isOk()).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult smile = mockMvc.perform(get("/categories").accept(BinaryFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag.replaceFirst("\"$", "-smile\"")))
+                .andReturn();
+        assertTrue(smile.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MvcResult second = mockMvc.perform(get("/categories")).andExpect(status().isOk()).andReturn();
+        assertArrayEquals(first.getResponse().getContentAsByteArray(), second.getResponse().getContentAsByteArray());
+        // A query string não cria outra entrada
+        MvcResult withQuery = mockMvc.perform(get("/categories").param("nocache", "1")).andExpect(status().isOk()).andReturn();
+        assertArrayEquals(first.getResponse().getContentAsByteArray(), withQuery.getResponse().getContentAsByteArray());
+        mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/categories").accept("text/csv")).andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/products/999")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void catalogWritesPurgeTheResponsesShowingTheRow() throws Exception {
+        String product = body("/products/2");
+        String categories = body("/categories");
+
+        Category category = categoryRepository.findById(3L).orElseThrow();
+        category.setName("Computers (cached)");
+        categoryRepository.save(category);
+
+        // Produto 2 incorpora a categoria 3
+        assertNotEquals(product, body("/products/2"));
+        assertTrue(body("/products/2").contains("Computers (cached)"));
+        assertTrue(body("/categories").contains("Computers (cached)"));
+        assertNotEquals(categories, body("/categories"));
+    }
+
+    @Test
+    void storedResponseIsServedUntilRefreshedInTheBackground() throws Exception {
+        String original = body("/products/4");
+        jdbcTemplate.update("UPDATE tb_products SET name = 'PC Gamer (refreshed)' WHERE id = 4");
+        // Alteração fora da aplicação: só a recarga por tempo a percebe
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals(original, body("/products/4"));
+
+        // Após o TTL "soft" o acesso dispara a recarga, feita no executor de tarefas
+        Thread.sleep(1100);
+        long deadline = System.currentTimeMillis() + 5000;
+        String refreshed = original;
+        while (refreshed.equals(original) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            refreshed = body("/products/4");
+        }
+        assertTrue(refreshed.contains("PC Gamer (refreshed)"));
+        assertTrue(refreshed.contains("\"categories\":[{"));
+    }
+
+    private String body(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,103 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de contenção da reserva de estoque: várias threads disputam o mesmo produto,
+ * cada reserva em sua própria transação. Verifica que não há venda acima do estoque
+ * e registra a vazão obtida no log. O produto criado é removido ao final (banco de teste compartilhado).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryServiceContentionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryServiceContentionTest.class);
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 250;
+    private static final int INITIAL_STOCK = 3000;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long productId;
+
+    @AfterEach
+    void removeProduct() {
+        if (productId != null) {
+            jdbcTemplate.update("DELETE FROM tb_products WHERE id = ?", productId);
+        }
+    }
+
+    @Test
+    void concurrentReservationsOnHotProductNeverOversell() throws Exception {
+        jdbcTemplate.update("INSERT INTO tb_products (name, description, price_cents, img_url, stock) VALUES (?, ?, ?, ?, ?)",
+                "Hot SKU", "Produto em promoção", 999, "", INITIAL_STOCK);
+        productId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_products", Long.class);
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        transactionTemplate.executeWithoutResult(
+                                status -> inventoryService.reserve(Map.of(productId, 1)));
+                        reserved.incrementAndGet();
+                    } catch (ConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("Inventory contention: {} threads, {} reservations on one product in {} ms ({} ops/s)",
+                THREADS, attempts, TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(attempts / (elapsed / 1e9)));
+
+        assertEquals(INITIAL_STOCK, reserved.get());
+        assertEquals(attempts - INITIAL_STOCK, rejected.get());
+        assertEquals(0, inventoryService.getStock(productId));
+    }
+}
@@ -0,0 +1,157 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.NewOrderDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderEventDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderEventType;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Outbox de eventos de pedido: gravação na transação do pedido, entrega em ordem por pedido,
+ * reentrega após falha do assinante (com espera, sem bloquear outros pedidos), descarte de eventos
+ * que esgotam as tentativas e remoção dos eventos entregues.
+ * Usa um banco em memória próprio, para que os drenadores de outros contextos de teste não consumam os eventos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxtest",
+        "app.outbox.retry.initial-backoff=50ms",
+        "app.outbox.retry.max-attempts=3"})
+@ActiveProfiles("test")
+class OrderEventOutboxTest {
+
+    @Autowired
+    private OrderBatchService batchService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @Test
+    void lifecycleEventsAreDeliveredInOrderAndRetriedAfterFailures() throws Exception {
+        long unpaid = create(false);
+        long paid = create(true);
+        subscriber.failOnce.add(paid);
+
+        orderService.updateStatus(unpaid, OrderStatus.PAID);
+        orderService.updateStatus(paid, OrderStatus.SHIPPED);
+        orderService.updateStatus(List.of(paid, unpaid), OrderStatus.SHIPPED);
+        // Transação desfeita: nenhum evento
+        assertThrows(ConflictException.class, () -> orderService.updateStatus(paid, OrderStatus.PAID));
+
+        awaitDelivery(unpaid, 3);
+        awaitDelivery(paid, 3);
+        assertEquals(List.of("CREATED:WAITING_PAYMENT", "PAID:PAID", "STATUS_CHANGED:SHIPPED"), subscriber.received(unpaid));
+        // O PAID falhou na primeira entrega e foi reentregue antes do STATUS_CHANGED
+        assertEquals(List.of("CREATED:PAID", "PAID:PAID", "STATUS_CHANGED:SHIPPED"), subscriber.received(paid));
+        assertEquals(2, subscriber.attempts(paid, OrderEventType.PAID));
+
+        Integer pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_order_outbox WHERE order_id IN (?, ?)", Integer.class, unpaid, paid);
+        assertEquals(0, pending);
+    }
+
+    @Test
+    void poisonEventIsParkedWithoutBlockingOtherOrdersAndDeadLettered() throws Exception {
+        long poisoned = create(false);
+        subscriber.alwaysFail.add(poisoned);
+        orderService.updateStatus(poisoned, OrderStatus.PAID);
+        long healthy = create(false);
+        orderService.updateStatus(healthy, OrderStatus.PAID);
+
+        // O pedido saudável, gravado depois, é entregue enquanto o PAID do outro pedido aguarda nova tentativa
+        awaitDelivery(healthy, 2);
+        assertEquals(List.of("CREATED:WAITING_PAYMENT", "PAID:PAID"), subscriber.received(healthy));
+
+        // Após 3 tentativas o PAID vai para os eventos mortos e o pedido volta a receber eventos
+        orderService.updateStatus(poisoned, OrderStatus.SHIPPED);
+        awaitDelivery(poisoned, 2);
+        assertEquals(List.of("CREATED:WAITING_PAYMENT", "STATUS_CHANGED:SHIPPED"), subscriber.received(poisoned));
+        assertEquals(3, subscriber.attempts(poisoned, OrderEventType.PAID));
+        Map<String, Object> dead = jdbcTemplate.queryForMap(
+                "SELECT event_type, attempts, last_error FROM tb_order_outbox_dead WHERE order_id = ?", poisoned);
+        assertEquals(OrderEventType.PAID.getCode(), dead.get("EVENT_TYPE"));
+        assertEquals(3, dead.get("ATTEMPTS"));
+        assertEquals("java.lang.IllegalStateException: Subscriber unavailable", dead.get("LAST_ERROR"));
+        Integer pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_order_outbox WHERE order_id = ?", Integer.class, poisoned);
+        assertEquals(0, pending);
+    }
+
+    private long create(boolean withPayment) {
+        NewOrderDTO order = new NewOrderDTO();
+        order.setClientId(1L);
+        order.setItems(List.of(new NewOrderDTO.Item(1L, 1)));
+        if (withPayment) {
+            order.setPayment(new NewOrderDTO.PaymentInfo());
+        }
+        return batchService.insertBatch(List.of(order)).getIds().get(0);
+    }
+
+    private void awaitDelivery(long orderId, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (subscriber.received(orderId).size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(300);
+    }
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    /**
+     * Registra os eventos entregues; falha uma vez no primeiro PAID dos pedidos marcados em failOnce
+     * e em todas as entregas do PAID dos pedidos marcados em alwaysFail.
+     */
+    static class RecordingSubscriber implements OrderEventSubscriber {
+        private final List<OrderEventDTO> attempts = new CopyOnWriteArrayList<>();
+        private final Map<Long, List<String>> delivered = new ConcurrentHashMap<>();
+        private final Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+        private final Set<Long> alwaysFail = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onEvent(OrderEventDTO event) {
+            attempts.add(event);
+            if (event.getType() == OrderEventType.PAID
+                    && (failOnce.remove(event.getOrderId()) || alwaysFail.contains(event.getOrderId()))) {
+                throw new IllegalStateException("Subscriber unavailable");
+            }
+            delivered.computeIfAbsent(event.getOrderId(), id -> new CopyOnWriteArrayList<>())
+                    .add(event.getType() + ":" + event.getOrderStatus());
+        }
+
+        List<String> received(long orderId) {
+            return new ArrayList<>(delivered.getOrDefault(orderId, List.of()));
+        }
+
+        long attempts(long orderId, OrderEventType type) {
+            return attempts.stream().filter(e -> e.getOrderId() == orderId && e.getType() == type).count();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.ItemAnalyticsDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.NewOrderDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Agregações ad hoc dos itens de pedido: atualização incremental da cópia colunar pelos eventos de
+ * pedido, reconstrução paginada com mais de uma página e validação de GET /reports/items.
+ * Usa um banco em memória próprio, para que os drenadores de outros contextos de teste não consumam
+ * os eventos; a atualização agendada é desligada e chamada pelo teste.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:analyticstest",
+        "app.analytics.refresh-interval=1h"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderItemAnalyticsTest {
+
+    private static final String REVENUE_BY_STATUS =
+            "SELECT o.order_status, SUM(i.price_cents * i.quantity) FROM tb_order o "
+                    + "JOIN tb_order_item i ON i.order_id = o.id GROUP BY o.order_status";
+
+    @Autowired
+    private OrderItemAnalyticsService analyticsService;
+
+    @Autowired
+    private OrderEventDispatcher dispatcher;
+
+    @Autowired
+    private OrderBatchService batchService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void orderEventsRefreshTheSnapshot() {
+        analyticsService.rebuild();
+        assertMatchesDatabase();
+
+        NewOrderDTO order = new NewOrderDTO();
+        order.setClientId(1L);
+        order.setItems(List.of(new NewOrderDTO.Item(1L, 2), new NewOrderDTO.Item(3L, 1)));
+        long created = batchService.insertBatch(List.of(order)).getIds().get(0);
+        long lines = analyticsService.query(null, null, null, null, null, null).getLines();
+        awaitRefresh();
+        assertEquals(lines + 2, analyticsService.query(null, null, null, null, null, null).getLines());
+        assertMatchesDatabase();
+
+        orderService.cancel(created);
+        awaitRefresh();
+        ItemAnalyticsDTO canceled = analyticsService.query("product", null, null, List.of("canceled"), null, null);
+        assertEquals(2, canceled.getRows().size());
+        assertMatchesDatabase();
+    }
+
+    @Test
+    void itemsReportValidatesParametersAndLimitsGroups() throws Exception {
+        // Mais grupos que o limite (quantidades distintas), em pedidos de 2001 que o filtro de período exclui
+        jdbcTemplate.update("INSERT INTO tb_order (moment, order_status, client_id, total_cents) "
+                + "SELECT ?, ?, 1, 0 FROM SYSTEM_RANGE(1, ?)",
+                Timestamp.from(Instant.parse("2001-01-01T12:00:00Z")), OrderStatus.DELIVERED.getCode(),
+                OrderItemAnalyticsService.MAX_GROUPS + 1);
+        jdbcTemplate.update("INSERT INTO tb_order_item (order_id, product_id, quantity, price_cents) "
+                + "SELECT id, 1, ROW_NUMBER() OVER (ORDER BY id), 100 FROM tb_order WHERE moment < ?",
+                Timestamp.from(Instant.parse("2002-01-01T00:00:00Z")));
+        // Mais itens que uma página da leitura keyset
+        analyticsService.rebuild();
+        assertMatchesDatabase();
+
+        mockMvc.perform(get("/reports/items").param("groupBy", "quantity"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/items").param("groupBy", "category,status").param("from", "2019-01-01")
+                        .param("status", "PAID", "shipped"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupBy[0]").value("category"))
+                .andExpect(jsonPath("$.rows[0].keys.categoryName").exists())
+                .andExpect(jsonPath("$.rows[0].keys.status").exists());
+        mockMvc.perform(get("/reports/items").param("groupBy", "client"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/items").param("groupBy", "day,day"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/items").param("groupBy", "product,day,hour"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/items").param("status", "LOST"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/items").param("from", "2024-02-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Compara a receita por status da cópia colunar com a dos itens no banco.
+     */
+    private void assertMatchesDatabase() {
+        Map<String, Long> expected = new HashMap<>();
+        jdbcTemplate.query(REVENUE_BY_STATUS, rs -> {
+            expected.put(OrderStatus.valueOf(rs.getInt(1)).name(), rs.getLong(2));
+        });
+        Map<String, Long> actual = new HashMap<>();
+        for (ItemAnalyticsDTO.Row row : analyticsService.query("status", null, null, null, null, null).getRows()) {
+            actual.put(row.getKeys().get("status").toString(), row.getRevenueCents());
+        }
+        assertEquals(expected, actual);
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order_item", Long.class),
+                analyticsService.query(null, null, null, null, null, null).getScannedRows());
+    }
+
+    /**
+     * Entrega os eventos pendentes (o drenador agendado pode já tê-los entregue) e aplica a atualização incremental.
+     */
+    private void awaitRefresh() {
+        dispatcher.drain();
+        analyticsService.refresh();
+    }
+}
@@ -0,0 +1,99 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.services.OrderItemColumns.Dimension;
+import com.alvaropaiva.SistemaDePedidos.services.OrderItemColumns.Group;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testes da cópia colunar dos itens de pedido: filtros, agrupamentos (inclusive por categoria, com
+ * um produto em várias categorias), varredura em vários segmentos e substituição de pedidos.
+ */
+class OrderItemColumnsTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    private static final Instant DAY_1 = Instant.parse("2026-10-01T10:15:00Z");
+    private static final Instant DAY_2 = Instant.parse("2026-10-02T18:40:00Z");
+
+    private OrderItemColumns columns;
+
+    @BeforeEach
+    void setup() {
+        // Segmentos de 2 linhas: as consultas combinam resultados parciais de várias tarefas
+        columns = OrderItemColumns.builder(2)
+                .category(1L, "Books")
+                .category(2L, "Electronics")
+                .productCategories(10L, new long[] {1L})
+                .productCategories(20L, new long[] {2L})
+                .productCategories(30L, new long[] {1L, 2L})
+                .add(1L, 10L, 2, 1000, DAY_1, 2)
+                .add(1L, 20L, 1, 5000, DAY_1, 2)
+                .add(2L, 30L, 3, 200, DAY_2, 1)
+                .add(3L, 10L, 1, 1000, DAY_2, 4)
+                .add(3L, 40L, 5, 100, DAY_2, 4)
+                .build();
+    }
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    void totalsCountEachItemOnceAndCategoriesFanOut() {
+        OrderItemColumns.Result result = query(List.of(Dimension.CATEGORY), null, null, null);
+        assertEquals(3, columns.segmentCount());
+        assertEquals(2000 + 5000 + 600 + 1000 + 500, result.getRevenueCents());
+        assertEquals(12, result.getQuantity());
+        assertEquals(5, result.getLines());
+        // Produto 30 conta nas duas categorias; o produto 40 não tem categoria
+        assertEquals(List.of(
+                new Group(1L, 0, 2000 + 600 + 1000, 6, 3),
+                new Group(2L, 0, 5000 + 600, 4, 2)), result.getGroups());
+        assertEquals("Electronics", columns.categoryName(2L));
+    }
+
+    @Test
+    void filtersByPeriodStatusAndCategory() {
+        OrderItemColumns.Result byDay = query(List.of(Dimension.DAY, Dimension.STATUS),
+                Instant.parse("2026-10-02T00:00:00Z"), new int[] {4}, null);
+        assertEquals(List.of(new Group(DAY_2.getEpochSecond() / 86400, 4, 1500, 6, 2)), byDay.getGroups());
+
+        OrderItemColumns.Result electronics = query(List.of(Dimension.CATEGORY), null, null, new long[] {2L});
+        assertEquals(5600, electronics.getRevenueCents());
+        assertEquals(List.of(new Group(2L, 0, 5600, 4, 2)), electronics.getGroups());
+
+        OrderItemColumns.Result quantities = query(List.of(Dimension.QUANTITY), null, null, null);
+        assertEquals(List.of(1L, 2L, 3L, 5L), quantities.getGroups().stream().map(Group::first).toList());
+    }
+
+    @Test
+    void replacedOrdersAreReloadedWithoutTouchingOtherRows() {
+        OrderItemColumns updated = columns.toBuilder(new long[] {2L})
+                .productCategories(50L, new long[] {3L})
+                .category(3L, "Toys")
+                .add(2L, 30L, 3, 200, DAY_2, 5)
+                .add(4L, 50L, 1, 700, DAY_2, 2)
+                .build();
+
+        assertEquals(6, updated.size());
+        assertEquals(5, columns.size());
+        OrderItemColumns.Result byStatus = updated.query(new OrderItemColumns.Query(
+                List.of(Dimension.STATUS), null, null, null, null, null), POOL);
+        assertEquals(List.of(2L, 4L, 5L), byStatus.getGroups().stream().map(Group::first).toList());
+        OrderItemColumns.Result toys = updated.query(new OrderItemColumns.Query(
+                List.of(Dimension.CATEGORY), null, null, null, null, new long[] {3L}), POOL);
+        assertEquals(List.of(new Group(3L, 0, 700, 1, 1)), toys.getGroups());
+    }
+
+    private OrderItemColumns.Result query(List<Dimension> groupBy, Instant from, int[] statuses, long[] categories) {
+        return columns.query(new OrderItemColumns.Query(groupBy, from, null, statuses, null, categories), POOL);
+    }
+}
@@ -0,0 +1,96 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.entities.OrderItem;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.repositories.OrderItemRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.OrderRepository;
+import com.alvaropaiva.SistemaDePedidos.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Total persistido do pedido mantido pelo {@link OrderItemService}: inclusão, alteração da instância
+ * gerenciada antes de salvar, entradas repetidas em saveAll e remoção. Usa um banco em memória
+ * próprio, já que altera os itens dos pedidos de exemplo.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:orderitemtest")
+@ActiveProfiles("test")
+class OrderItemServiceTest {
+
+    @Autowired
+    private OrderItemService service;
+
+    @Autowired
+    private OrderItemRepository repository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void orderTotalFollowsItemWrites() {
+        Order order1 = orderRepository.findById(1L).orElseThrow();
+        Order order2 = orderRepository.findById(2L).orElseThrow();
+        Product product2 = productRepository.findById(2L).orElseThrow();
+        Product product3 = productRepository.findById(3L).orElseThrow();
+        assertTotalsMatchItems();
+        long initial = total(1L);
+
+        service.save(new OrderItem(order1, product2, 3, product2.getPriceCents()));
+        assertEquals(initial + 3 * product2.getPriceCents(), total(1L));
+        assertTotalsMatchItems();
+
+        // Instância gerenciada alterada antes do save: a diferença vem do subtotal carregado
+        long before = total(1L);
+        transactionTemplate.executeWithoutResult(status -> {
+            OrderItem item = repository.findByOrderIdAndProductId(1L, 2L).orElseThrow();
+            item.setQuantity(item.getQuantity() + 2);
+            service.save(item);
+        });
+        assertEquals(before + 2 * product2.getPriceCents(), total(1L));
+        assertTotalsMatchItems();
+
+        // Mesma chave duas vezes: prevalece a última entrada, com uma única diferença
+        service.saveAll(List.of(
+                new OrderItem(order2, product3, 1, product3.getPriceCents()),
+                new OrderItem(order2, product3, 5, product3.getPriceCents())));
+        assertEquals(5 * product3.getPriceCents(), total(2L));
+        assertTotalsMatchItems();
+
+        service.delete(1L, 2L);
+        assertEquals(initial, total(1L));
+        assertTotalsMatchItems();
+    }
+
+    private long total(long orderId) {
+        return jdbcTemplate.queryForObject("SELECT total_cents FROM tb_order WHERE id = ?", Long.class, orderId);
+    }
+
+    private long sumOfItems(long orderId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(price_cents * quantity), 0) FROM tb_order_item "
+                + "WHERE order_id = ?", Long.class, orderId);
+    }
+
+    private void assertTotalsMatchItems() {
+        for (Long orderId : jdbcTemplate.queryForList("SELECT id FROM tb_order", Long.class)) {
+            assertEquals(sumOfItems(orderId), total(orderId), "order " + orderId);
+        }
+    }
+}
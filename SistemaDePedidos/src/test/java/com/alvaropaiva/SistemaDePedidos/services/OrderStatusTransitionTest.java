@@ -0,0 +1,169 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.NewOrderDTO;
+import com.alvaropaiva.SistemaDePedidos.dto.OrderStatusBulkResultDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import com.alvaropaiva.SistemaDePedidos.repositories.OrderRepository;
+import com.alvaropaiva.SistemaDePedidos.services.exceptions.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Transições de status de pedido: transição inválida e alteração concorrente (409, sem evento),
+ * alteração em massa com ids mistos, pagamento criado uma única vez e estoque devolvido uma única
+ * vez por pedido cancelado. Usa um banco em memória próprio, com o drenador do outbox parado
+ * (intervalo de 1h), para contar os eventos gravados.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderstatustest",
+        "app.outbox.poll-interval=1h"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderStatusTransitionTest {
+
+    private static final long STOCKED_PRODUCT = 2L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderBatchService batchService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @MockitoSpyBean
+    private OrderRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void invalidTransitionIsRejectedWithConflict() throws Exception {
+        long id = create(false);
+        mockMvc.perform(patch("/orders/{id}/status", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"DELIVERED\"}"))
+                .andExpect(status().isConflict());
+        assertEquals(OrderStatus.WAITING_PAYMENT, statusOf(id));
+        assertEquals(1, events(id));
+    }
+
+    @Test
+    void concurrentStatusChangeIsRejectedWithoutEvent() {
+        long id = create(false);
+        // Outra transação pagou o pedido depois da leitura do status
+        jdbcTemplate.update("UPDATE tb_order SET order_status = ? WHERE id = ?", OrderStatus.PAID.getCode(), id);
+        doReturn(Optional.of(OrderStatus.WAITING_PAYMENT.getCode())).when(repository).findStatusById(id);
+        try {
+            assertThrows(ConflictException.class, () -> orderService.updateStatus(id, OrderStatus.CANCELED));
+        } finally {
+            reset(repository);
+        }
+        assertEquals(OrderStatus.PAID, statusOf(id));
+        assertEquals(1, events(id));
+    }
+
+    @Test
+    void bulkUpdateReportsMissingAndInvalidIdsAndWritesEventsOnlyForChangedOrders() {
+        long waiting = create(false);
+        long paid = create(true);
+        long shipped = create(true);
+        orderService.updateStatus(shipped, OrderStatus.SHIPPED);
+        long missing = 999_999L;
+        int paidEvents = events(paid);
+        int shippedEvents = events(shipped);
+
+        OrderStatusBulkResultDTO result = orderService.updateStatus(
+                List.of(waiting, paid, shipped, missing, waiting), OrderStatus.PAID);
+
+        assertEquals(1, result.getUpdated());
+        // Já no status de destino: não é alterado nem rejeitado
+        assertEquals(List.of(shipped, missing), result.getRejected());
+        assertEquals(OrderStatus.PAID, statusOf(waiting));
+        assertEquals(OrderStatus.SHIPPED, statusOf(shipped));
+        assertEquals(2, events(waiting));
+        assertEquals(paidEvents, events(paid));
+        assertEquals(shippedEvents, events(shipped));
+    }
+
+    @Test
+    void paidCreatesThePaymentOnce() {
+        long single = create(false);
+        long bulk = create(false);
+        long prepaid = create(true);
+
+        orderService.updateStatus(single, OrderStatus.PAID);
+        orderService.updateStatus(List.of(bulk, prepaid, single), OrderStatus.PAID);
+        assertThrows(ConflictException.class, () -> orderService.updateStatus(single, OrderStatus.PAID));
+
+        assertEquals(1, payments(single));
+        assertEquals(1, payments(bulk));
+        assertEquals(1, payments(prepaid));
+    }
+
+    @Test
+    void canceledOrdersReleaseStockOnce() {
+        inventoryService.restock(STOCKED_PRODUCT, 100);
+        int initial = inventoryService.getStock(STOCKED_PRODUCT);
+        long single = create(false);
+        long first = create(true);
+        long second = create(false);
+        assertEquals(initial - 6, inventoryService.getStock(STOCKED_PRODUCT));
+
+        orderService.cancel(single);
+        assertThrows(ConflictException.class, () -> orderService.cancel(single));
+        assertEquals(initial - 4, inventoryService.getStock(STOCKED_PRODUCT));
+
+        OrderStatusBulkResultDTO result = orderService.updateStatus(
+                List.of(first, second, first, single), OrderStatus.CANCELED);
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of(single), result.getRejected());
+        assertEquals(initial, inventoryService.getStock(STOCKED_PRODUCT));
+    }
+
+    /**
+     * Cria um pedido com 2 unidades do produto com estoque (pago, se {@code paid}).
+     */
+    private long create(boolean paid) {
+        NewOrderDTO order = new NewOrderDTO();
+        order.setClientId(1L);
+        order.setItems(List.of(new NewOrderDTO.Item(STOCKED_PRODUCT, 2)));
+        if (paid) {
+            order.setPayment(new NewOrderDTO.PaymentInfo());
+        }
+        return batchService.insertBatch(List.of(order)).getIds().get(0);
+    }
+
+    private OrderStatus statusOf(long id) {
+        return OrderStatus.valueOf(jdbcTemplate.queryForObject(
+                "SELECT order_status FROM tb_order WHERE id = ?", Integer.class, id));
+    }
+
+    private int events(long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order_outbox WHERE order_id = ?", Integer.class, id);
+    }
+
+    private int payments(long id) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_payment WHERE order_id = ?", Integer.class, id);
+    }
+}
@@ -0,0 +1,71 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes do índice invertido de busca de produtos: normalização, prefixos, ranking e atualizações.
+ */
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new ProductSearchIndex();
+        index.put(product(1L, "Pão de Açúcar", "Pão doce artesanal"));
+        index.put(product(2L, "Café Torrado", "Acompanha pão de queijo"));
+        index.put(product(3L, "Notebook Gamer", "Ideal para café e trabalho"));
+        index.put(product(4L, "Caneca", "Para café"));
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        assertEquals(List.of(1L), ids(index.search("ACUCAR", 10)));
+        assertEquals(List.of(1L), ids(index.search("açúcar", 10)));
+        assertEquals(List.of(2L, 3L, 4L), ids(index.search("cafe", 10)));
+    }
+
+    @Test
+    void matchesPrefixesAndRequiresAllTerms() {
+        assertEquals(List.of(3L), ids(index.search("note", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("pa", 10)).subList(0, 2));
+        assertEquals(List.of(3L), ids(index.search("caf gam", 10)));
+        assertTrue(index.search("caf inexistente", 10).isEmpty());
+        assertTrue(index.search(" -- ", 10).isEmpty());
+    }
+
+    @Test
+    void ranksNameAboveDescriptionAndExactAbovePrefix() {
+        // "pão" no nome (1) vem antes de "pão" na descrição (2)
+        assertEquals(List.of(1L, 2L), ids(index.search("pão", 10)));
+        index.put(product(5L, "Cafeteira", ""));
+        // "café" exato no nome (2) vem antes do prefixo "cafeteira" no nome (5)
+        assertEquals(List.of(2L, 5L), ids(index.search("cafe", 10)).subList(0, 2));
+        assertEquals(1, index.search("cafe", 1).size());
+    }
+
+    @Test
+    void reflectsUpdatesAndRemovals() {
+        index.put(product(4L, "Caneca Térmica", "Inox"));
+        assertEquals(List.of(2L, 3L), ids(index.search("cafe", 10)));
+        assertEquals(List.of(4L), ids(index.search("termica", 10)));
+        index.remove(4L);
+        assertTrue(index.search("caneca", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    private static ProductSummaryDTO product(Long id, String name, String description) {
+        return new ProductSummaryDTO(id, name, description, 1000L, "");
+    }
+
+    private static List<Long> ids(List<ProductSummaryDTO> products) {
+        return products.stream().map(ProductSummaryDTO::getId).toList();
+    }
+}
@@ -0,0 +1,115 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.dto.NewOrderDTO;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vendas agregadas por dia: reconstrução inicial, atualização incremental pelos eventos de pedido
+ * (cada pedido somado uma única vez e retirado ao ser cancelado) e reconstrução com o mesmo resultado.
+ * Usa um banco em memória próprio, para que os drenadores de outros contextos de teste não consumam os eventos.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:salestest")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SalesRollupTest {
+
+    private static final String EXPECTED_PRODUCTS =
+            "SELECT COALESCE(SUM(i.price_cents * i.quantity), 0) FROM tb_order o JOIN tb_order_item i ON i.order_id = o.id "
+                    + "WHERE o.order_status IN (2, 3, 4)";
+    private static final String EXPECTED_CATEGORIES =
+            "SELECT COALESCE(SUM(i.price_cents * i.quantity), 0) FROM tb_order o JOIN tb_order_item i ON i.order_id = o.id "
+                    + "JOIN tb_product_category pc ON pc.product_id = i.product_id WHERE o.order_status IN (2, 3, 4)";
+
+    @Autowired
+    private OrderBatchService batchService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private SalesRollupService rollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rollupsFollowOrderLifecycleAndMatchRebuild() throws Exception {
+        assertMatchesOrders();
+
+        long paidAtCreation = create(true);
+        long paidLater = create(false);
+        long canceled = create(true);
+        orderService.updateStatus(paidLater, OrderStatus.PAID);
+        orderService.updateStatus(paidAtCreation, OrderStatus.SHIPPED);
+        orderService.cancel(canceled);
+        awaitOutbox();
+
+        // CREATED(PAID) + PAID + STATUS_CHANGED(SHIPPED): somado uma única vez
+        Long applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tb_sales_rollup_order WHERE order_id IN (?, ?, ?)", Long.class,
+                paidAtCreation, paidLater, canceled);
+        assertEquals(2, applied);
+        assertMatchesOrders();
+
+        rollupService.rebuild(null, null);
+        assertMatchesOrders();
+    }
+
+    @Test
+    void reportIsGroupedByProductOrCategory() throws Exception {
+        mockMvc.perform(get("/reports/sales").param("from", "2019-01-01").param("groupBy", "product"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.groupBy").value("product"))
+                .andExpect(jsonPath("$.rows[0].id").exists())
+                .andExpect(jsonPath("$.rows[0].day").doesNotExist());
+        mockMvc.perform(get("/reports/sales").param("from", "2019-01-01").param("groupBy", "category"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows[0].name").exists());
+        mockMvc.perform(get("/reports/sales").param("groupBy", "client"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/sales").param("from", "2024-02-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertMatchesOrders() {
+        assertEquals(jdbcTemplate.queryForObject(EXPECTED_PRODUCTS, Long.class),
+                jdbcTemplate.queryForObject("SELECT COALESCE(SUM(revenue_cents), 0) FROM tb_sales_product_daily", Long.class));
+        assertEquals(jdbcTemplate.queryForObject(EXPECTED_CATEGORIES, Long.class),
+                jdbcTemplate.queryForObject("SELECT COALESCE(SUM(revenue_cents), 0) FROM tb_sales_category_daily", Long.class));
+    }
+
+    private long create(boolean withPayment) {
+        NewOrderDTO order = new NewOrderDTO();
+        order.setClientId(1L);
+        order.setItems(List.of(new NewOrderDTO.Item(1L, 2), new NewOrderDTO.Item(3L, 1)));
+        if (withPayment) {
+            order.setPayment(new NewOrderDTO.PaymentInfo());
+        }
+        return batchService.insertBatch(List.of(order)).getIds().get(0);
+    }
+
+    private void awaitOutbox() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_order_outbox", Long.class) > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
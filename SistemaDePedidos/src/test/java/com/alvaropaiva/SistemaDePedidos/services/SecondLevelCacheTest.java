@@ -0,0 +1,125 @@
+package com.alvaropaiva.SistemaDePedidos.services;
+
+import com.alvaropaiva.SistemaDePedidos.entities.Category;
+import com.alvaropaiva.SistemaDePedidos.entities.Order;
+import com.alvaropaiva.SistemaDePedidos.entities.Product;
+import com.alvaropaiva.SistemaDePedidos.entities.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que, com o cache de segundo nível aquecido, montar e serializar uma página de pedidos
+ * não executa SQL para produtos nem categorias: apenas a consulta dos pedidos e a dos itens.
+ * Verifica também que as escritas de pedidos não invalidam as regiões do catálogo.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final int PRODUCTS = 20;
+    private static final int ORDERS = 100;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void renderingOrdersAfterWarmUpIssuesNoCatalogSql() throws Exception {
+        // Dados inseridos via JDBC, fora do cache: o primeiro carregamento vem do banco
+        jdbcTemplate.update("INSERT INTO tb_category (name) VALUES (?)", "Cache L2");
+        Long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_category", Long.class);
+        long[] productIds = new long[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            jdbcTemplate.update("INSERT INTO tb_products (name, description, price_cents, img_url, stock) VALUES (?, ?, ?, ?, ?)",
+                    "Produto " + i, "", 1000 + i, "", 100);
+            productIds[i] = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_products", Long.class);
+            jdbcTemplate.update("INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)",
+                    productIds[i], categoryId);
+        }
+        Long firstOrderId = null;
+        for (int o = 0; o < ORDERS; o++) {
+            jdbcTemplate.update("INSERT INTO tb_order (moment, order_status, client_id, total_cents) VALUES (?, ?, ?, ?)",
+                    Timestamp.from(Instant.now()), 1, 1L, 0L);
+            Long orderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_order", Long.class);
+            if (firstOrderId == null) {
+                firstOrderId = orderId;
+            }
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                jdbcTemplate.update("INSERT INTO tb_order_item (order_id, product_id, quantity, price_cents) VALUES (?, ?, ?, ?)",
+                        orderId, productIds[(o + i * 7) % PRODUCTS], 1, 1000L);
+            }
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        render(); // aquecimento: produtos e categorias são lidos do banco e armazenados no cache
+        statistics.clear();
+
+        List<Order> orders = render();
+
+        assertEquals(ORDERS, orders.size());
+        assertTrue(orders.get(ORDERS - 1).getId() >= firstOrderId);
+        assertEquals(0, statistics.getEntityStatistics(Product.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Category.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getCollectionStatistics(Product.class.getName() + ".categories").getLoadCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= PRODUCTS);
+        // Pedidos (com cliente e pagamento) e itens: nenhuma outra consulta
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void payingAnOrderKeepsCatalogCached() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            Product product = em.find(Product.class, 1L);
+            product.getCategories().size();
+        } finally {
+            em.close();
+        }
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Product.class, 1L));
+
+        jdbcTemplate.update("INSERT INTO tb_order (moment, order_status, client_id, total_cents) VALUES (?, ?, ?, ?)",
+                Timestamp.from(Instant.now()), OrderStatus.WAITING_PAYMENT.getCode(), 1L, 0L);
+        Long orderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM tb_order", Long.class);
+        // Transição para PAID: registra o pagamento com um INSERT nativo
+        orderService.updateStatus(orderId, OrderStatus.PAID);
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_payment WHERE order_id = ?",
+                Integer.class, orderId));
+        assertTrue(cache.contains(Product.class, 1L));
+    }
+
+    /**
+     * Monta a lista dos pedidos mais recentes (transação do serviço) e a serializa fora da sessão,
+     * como na resposta HTTP.
+     */
+    private List<Order> render() throws Exception {
+        List<Order> orders = orderService.findRecent(ORDERS);
+        objectMapper.writeValueAsBytes(orders);
+        return orders;
+    }
+}